@@ -0,0 +1,204 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.parser.SqlParser;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+public class QueryRegistry {
+    private final Map<String, Query> queries = new ConcurrentHashMap<>();
+    private final SqlBuilder builder = SqlBuilder.newInstance();
+    private final SqlBuildOptions options;
+
+    private QueryRegistry(SqlBuildOptions options) {
+        this.options = Objects.requireNonNull(options, "The build options must not be null.");
+    }
+
+    public static QueryRegistry newInstance() {
+        return new QueryRegistry(SqlBuildOptions.defaults());
+    }
+
+    public static QueryRegistry newInstance(SqlBuildOptions options) {
+        return new QueryRegistry(options);
+    }
+
+    public SqlBuildOptions getBuildOptions() {
+        return options;
+    }
+
+    public QueryRegistry register(String name, Supplier<? extends SqlObject> factory, String... parameters) {
+        Objects.requireNonNull(name, "The query name must not be null.");
+        Objects.requireNonNull(factory, "The query factory must not be null.");
+        if (queries.putIfAbsent(name, new Query(name, factory, parameters)) != null) {
+            throw new IllegalArgumentException("A query named '" + name + "' is already registered.");
+        }
+
+        return this;
+    }
+
+    public QueryRegistry register(String name, SqlObject object, String... parameters) {
+        Objects.requireNonNull(object, "The query object must not be null.");
+        return register(name, () -> object, parameters);
+    }
+
+    public QueryRegistry register(String name, String sql, String... parameters) {
+        Objects.requireNonNull(sql, "The query text must not be null.");
+        return register(name, () -> SqlParser.newInstance().parse(sql), parameters);
+    }
+
+    public QueryRegistry precompile() {
+        List<String> errors = new ArrayList<>();
+        for (Query query : queries.values()) {
+            try {
+                query.compile();
+            } catch (RuntimeException e) {
+                errors.add(query.name + ": " + e.getMessage());
+            }
+        }
+
+        return check(errors);
+    }
+
+    public QueryRegistry precompile(Executor executor) {
+        Objects.requireNonNull(executor, "The executor must not be null.");
+        Map<String, CompletableFuture<SqlStatement>> futures = new LinkedHashMap<>();
+        for (Query query : queries.values()) {
+            futures.put(query.name, CompletableFuture.supplyAsync(query::compile, executor));
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<SqlStatement>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                errors.add(entry.getKey() + ": " + cause.getMessage());
+            }
+        }
+
+        return check(errors);
+    }
+
+    public SqlStatement get(String name) {
+        Query query = queries.get(name);
+        if (query == null) {
+            throw new IllegalArgumentException("No query named '" + name + "' is registered.");
+        }
+
+        return query.compile();
+    }
+
+    public Optional<SqlStatement> find(String name) {
+        Query query = queries.get(name);
+        return query != null ? Optional.of(query.compile()) : Optional.empty();
+    }
+
+    public boolean contains(String name) {
+        return queries.containsKey(name);
+    }
+
+    public boolean isCompiled(String name) {
+        Query query = queries.get(name);
+        return query != null && query.statement != null;
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(queries.keySet());
+    }
+
+    public int size() {
+        return queries.size();
+    }
+
+    private QueryRegistry check(List<String> errors) {
+        if (!errors.isEmpty()) {
+            errors.sort(null);
+            throw new IllegalStateException("Failed to precompile " + errors.size() + " " +
+                    (errors.size() == 1 ? "query" : "queries") + ": " + String.join("; ", errors));
+        }
+
+        return this;
+    }
+
+    private class Query {
+        private final String name;
+        private final Supplier<? extends SqlObject> factory;
+        private final Set<String> parameters;
+        private volatile SqlStatement statement;
+
+        Query(String name, Supplier<? extends SqlObject> factory, String... parameters) {
+            this.name = name;
+            this.factory = factory;
+            this.parameters = parameters != null && parameters.length > 0 ?
+                    new TreeSet<>(Arrays.asList(parameters)) :
+                    null;
+        }
+
+        SqlStatement compile() {
+            SqlStatement statement = this.statement;
+            if (statement == null) {
+                synchronized (this) {
+                    statement = this.statement;
+                    if (statement == null) {
+                        SqlObject object = Objects.requireNonNull(factory.get(),
+                                "The factory of query '" + name + "' returned null.");
+                        statement = validate(builder.buildStatement(object, options));
+                        this.statement = statement;
+                    }
+                }
+            }
+
+            return statement;
+        }
+
+        private SqlStatement validate(SqlStatement statement) {
+            if (parameters != null) {
+                for (int i = 1; i <= statement.getPlaceholderCount(); i++) {
+                    Placeholder placeholder = statement.getPlaceholder(i);
+                    if (placeholder.getName().isEmpty()) {
+                        throw new IllegalArgumentException("The placeholder at position " + i + " has no name.");
+                    }
+                }
+
+                Set<String> missing = new TreeSet<>(parameters);
+                missing.removeAll(statement.getNames());
+                Set<String> undeclared = new TreeSet<>(statement.getNames());
+                undeclared.removeAll(parameters);
+                if (!missing.isEmpty() || !undeclared.isEmpty()) {
+                    throw new IllegalArgumentException("The placeholders do not match the declared parameters " +
+                            "(missing: " + missing + ", undeclared: " + undeclared + ").");
+                }
+            }
+
+            return statement;
+        }
+    }
+}
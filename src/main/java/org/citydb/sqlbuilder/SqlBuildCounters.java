@@ -0,0 +1,112 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.sqlbuilder;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SqlBuildCounters implements SqlBuildListener {
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder length = new LongAdder();
+    private final LongAdder placeholders = new LongAdder();
+    private final LongAdder aliases = new LongAdder();
+    private final LongAdder renderTime = new LongAdder();
+    private final LongAccumulator maxNodes = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxLength = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxPlaceholders = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxRenderTime = new LongAccumulator(Math::max, 0);
+
+    private SqlBuildCounters() {
+    }
+
+    public static SqlBuildCounters newInstance() {
+        return new SqlBuildCounters();
+    }
+
+    @Override
+    public void onBuild(SqlBuildStatistics statistics) {
+        builds.increment();
+        nodes.add(statistics.getNodeCount());
+        length.add(statistics.getLength());
+        placeholders.add(statistics.getPlaceholderCount());
+        aliases.add(statistics.getAliasCount());
+        renderTime.add(statistics.getRenderTimeNanos());
+        maxNodes.accumulate(statistics.getNodeCount());
+        maxLength.accumulate(statistics.getLength());
+        maxPlaceholders.accumulate(statistics.getPlaceholderCount());
+        maxRenderTime.accumulate(statistics.getRenderTimeNanos());
+    }
+
+    public long getBuilds() {
+        return builds.sum();
+    }
+
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    public long getLength() {
+        return length.sum();
+    }
+
+    public long getPlaceholders() {
+        return placeholders.sum();
+    }
+
+    public long getAliases() {
+        return aliases.sum();
+    }
+
+    public long getRenderTimeNanos() {
+        return renderTime.sum();
+    }
+
+    public long getMaxNodes() {
+        return maxNodes.get();
+    }
+
+    public long getMaxLength() {
+        return maxLength.get();
+    }
+
+    public long getMaxPlaceholders() {
+        return maxPlaceholders.get();
+    }
+
+    public long getMaxRenderTimeNanos() {
+        return maxRenderTime.get();
+    }
+
+    public void reset() {
+        builds.reset();
+        nodes.reset();
+        length.reset();
+        placeholders.reset();
+        aliases.reset();
+        renderTime.reset();
+        maxNodes.reset();
+        maxLength.reset();
+        maxPlaceholders.reset();
+        maxRenderTime.reset();
+    }
+}
@@ -34,8 +34,14 @@ public class SqlBuildOptions {
     private KeywordCase keywordCase = KeywordCase.LOWERCASE;
     private boolean useJdbcEscapeNotation = false;
     private boolean stripParentheses = true;
+    private boolean stableAliases = false;
+    private boolean canonical = false;
+    private HintDialect hintDialect = HintDialect.ORACLE;
+    private int maxLength;
+    private int maxListSize;
     private AliasGenerator aliasGenerator;
     private PlaceholderBuilder placeholderBuilder;
+    private SqlBuildListener buildListener;
 
     public enum IdentifierCase {
         UPPERCASE,
@@ -48,6 +54,11 @@ public class SqlBuildOptions {
         LOWERCASE
     }
 
+    public enum HintDialect {
+        ORACLE,
+        PG_HINT_PLAN
+    }
+
     private SqlBuildOptions() {
     }
 
@@ -55,6 +66,12 @@ public class SqlBuildOptions {
         return new SqlBuildOptions();
     }
 
+    public static SqlBuildOptions summary() {
+        return new SqlBuildOptions()
+                .setMaxLength(4096)
+                .setMaxListSize(10);
+    }
+
     public String getNewline() {
         return newline;
     }
@@ -132,6 +149,66 @@ public class SqlBuildOptions {
         return this;
     }
 
+    public boolean isStableAliases() {
+        return stableAliases;
+    }
+
+    public SqlBuildOptions setStableAliases(boolean stableAliases) {
+        this.stableAliases = stableAliases;
+        return this;
+    }
+
+    public boolean isCanonical() {
+        return canonical;
+    }
+
+    public SqlBuildOptions setCanonical(boolean canonical) {
+        this.canonical = canonical;
+        return this;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public SqlBuildOptions setMaxLength(int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("The maximum length must not be negative.");
+        }
+
+        this.maxLength = maxLength;
+        return this;
+    }
+
+    public int getMaxListSize() {
+        return maxListSize;
+    }
+
+    public SqlBuildOptions setMaxListSize(int maxListSize) {
+        if (maxListSize < 0) {
+            throw new IllegalArgumentException("The maximum list size must not be negative.");
+        }
+
+        this.maxListSize = maxListSize;
+        return this;
+    }
+
+    boolean isTruncating() {
+        return maxLength > 0 || maxListSize > 0;
+    }
+
+    public HintDialect getHintDialect() {
+        return hintDialect;
+    }
+
+    public SqlBuildOptions setHintDialect(HintDialect hintDialect) {
+        if (hintDialect != null) {
+            this.hintDialect = hintDialect;
+        }
+
+        return this;
+    }
+
     public Optional<AliasGenerator> getAliasGenerator() {
         return Optional.ofNullable(aliasGenerator);
     }
@@ -149,4 +226,13 @@ public class SqlBuildOptions {
         this.placeholderBuilder = placeholderBuilder;
         return this;
     }
+
+    public Optional<SqlBuildListener> getBuildListener() {
+        return Optional.ofNullable(buildListener);
+    }
+
+    public SqlBuildOptions setBuildListener(SqlBuildListener buildListener) {
+        this.buildListener = buildListener;
+        return this;
+    }
 }
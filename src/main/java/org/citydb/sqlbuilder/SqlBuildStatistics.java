@@ -0,0 +1,75 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.sqlbuilder;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+
+public class SqlBuildStatistics {
+    private final SqlObject object;
+    private final int nodeCount;
+    private final int length;
+    private final int placeholderCount;
+    private final int aliasCount;
+    private final long renderTime;
+
+    SqlBuildStatistics(SqlObject object, int nodeCount, int length, int placeholderCount, int aliasCount, long renderTime) {
+        this.object = object;
+        this.nodeCount = nodeCount;
+        this.length = length;
+        this.placeholderCount = placeholderCount;
+        this.aliasCount = aliasCount;
+        this.renderTime = renderTime;
+    }
+
+    public SqlObject getObject() {
+        return object;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getPlaceholderCount() {
+        return placeholderCount;
+    }
+
+    public int getAliasCount() {
+        return aliasCount;
+    }
+
+    public long getRenderTimeNanos() {
+        return renderTime;
+    }
+
+    @Override
+    public String toString() {
+        return "nodes=" + nodeCount +
+                ", length=" + length +
+                ", placeholders=" + placeholderCount +
+                ", aliases=" + aliasCount +
+                ", renderTimeNanos=" + renderTime;
+    }
+}
@@ -21,6 +21,7 @@
 
 package org.citydb.sqlbuilder;
 
+import org.citydb.sqlbuilder.common.Expression;
 import org.citydb.sqlbuilder.common.SqlObject;
 import org.citydb.sqlbuilder.common.SqlVisitor;
 import org.citydb.sqlbuilder.function.Cast;
@@ -40,16 +41,53 @@ import org.citydb.sqlbuilder.util.DefaultAliasGenerator;
 import org.citydb.sqlbuilder.util.PlaceholderBuilder;
 import org.citydb.sqlbuilder.util.PlainSql;
 
+import java.io.Serial;
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class SqlBuilder {
+    private static final int DEFAULT_MAX_BUFFER_SIZE = 1024 * 1024;
+    private final BufferPool bufferPool;
+    private final ClauseCache clauseCache;
 
-    private SqlBuilder() {
+    private SqlBuilder(BufferPool bufferPool, ClauseCache clauseCache) {
+        this.bufferPool = bufferPool;
+        this.clauseCache = clauseCache;
     }
 
     public static SqlBuilder newInstance() {
-        return new SqlBuilder();
+        return new SqlBuilder(null, null);
+    }
+
+    public static SqlBuilder newReusableInstance() {
+        return newReusableInstance(DEFAULT_MAX_BUFFER_SIZE);
+    }
+
+    public static SqlBuilder newReusableInstance(int maxBufferSize) {
+        return new SqlBuilder(new BufferPool(maxBufferSize), null);
+    }
+
+    public static SqlBuilder newCachingInstance() {
+        return newCachingInstance(DEFAULT_MAX_BUFFER_SIZE);
+    }
+
+    public static SqlBuilder newCachingInstance(int maxBufferSize) {
+        return new SqlBuilder(new BufferPool(maxBufferSize), new ClauseCache());
+    }
+
+    public boolean isReusable() {
+        return bufferPool != null;
+    }
+
+    public boolean isCaching() {
+        return clauseCache != null;
+    }
+
+    public void clearCache() {
+        if (clauseCache != null) {
+            clauseCache.clear();
+        }
     }
 
     public String build(SqlObject object) {
@@ -57,208 +95,417 @@ public class SqlBuilder {
     }
 
     public String build(SqlObject object, SqlBuildOptions options) {
-        Processor processor = new Processor(options);
-        if (object instanceof Select select) {
-            processor.build(select);
-        } else if (object instanceof SetOperator operator) {
-            processor.build(operator);
-        } else {
-            object.accept(processor);
+        return render(object, options, null);
+    }
+
+    public SqlStatement buildStatement(SqlObject object) {
+        return buildStatement(object, SqlBuildOptions.defaults());
+    }
+
+    public SqlStatement buildStatement(SqlObject object, SqlBuildOptions options) {
+        if (options != null && options.isTruncating()) {
+            throw new IllegalArgumentException("Statements cannot be built with a maximum length or list size.");
         }
 
-        return processor.builder.toString();
+        List<Placeholder> placeholders = new ArrayList<>();
+        return SqlStatement.of(render(object, options, placeholders), placeholders);
+    }
+
+    private String render(SqlObject object, SqlBuildOptions options, List<Placeholder> placeholders) {
+        if (bufferPool == null) {
+            return build(object, options, new StringBuilder(), placeholders);
+        }
+
+        Buffer buffer = bufferPool.acquire(object);
+        try {
+            String sql = build(object, options, buffer.builder, placeholders);
+            bufferPool.updateSizeHint(object, sql.length());
+            return sql;
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private String build(SqlObject object, SqlBuildOptions options, StringBuilder builder, List<Placeholder> placeholders) {
+        Processor processor = new Processor(builder, options, placeholders, clauseCache);
+        SqlBuildListener listener = processor.options.getBuildListener().orElse(null);
+        long start = listener != null ? System.nanoTime() : 0;
+
+        try {
+            if (object instanceof Select select) {
+                processor.build(select);
+            } else if (object instanceof SetOperator operator) {
+                processor.build(operator);
+            } else {
+                object.accept(processor);
+            }
+        } catch (Truncation e) {
+            // the budget is exhausted, so the output is cut off below
+        }
+
+        if (processor.maxLength > 0 && builder.length() > processor.maxLength) {
+            builder.setLength(processor.maxLength);
+            builder.append(" ...");
+        }
+
+        if (!processor.leadingHints.isEmpty()) {
+            // pg_hint_plan only reads the hint block at the head of the statement
+            builder.insert(0, "/*+ " + String.join(" ", processor.leadingHints) + " */ ");
+        }
+
+        String sql = processor.canonical ? normalize(builder) : builder.toString();
+        if (listener != null) {
+            listener.onBuild(new SqlBuildStatistics(object,
+                    processor.nodes,
+                    sql.length(),
+                    processor.placeholderCount,
+                    processor.tableAliases.size(),
+                    System.nanoTime() - start));
+        }
+
+        return sql;
+    }
+
+    private static String normalize(CharSequence sql) {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        char quote = 0;
+        boolean space = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+
+            if (quote == 0 && !normalized.isEmpty()) {
+                char last = normalized.charAt(normalized.length() - 1);
+                if (space ? c != ')' && c != ',' && last != '(' : last == ')' && Character.isLetterOrDigit(c)) {
+                    normalized.append(' ');
+                }
+            }
+
+            space = false;
+            if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+
+            normalized.append(c);
+        }
+
+        return normalized.toString();
+    }
+
+    private static class BufferPool {
+        private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+        private final Map<SqlObject, Integer> sizeHints = Collections.synchronizedMap(new WeakHashMap<>());
+        private final int maxBufferSize;
+
+        BufferPool(int maxBufferSize) {
+            if (maxBufferSize <= 0) {
+                throw new IllegalArgumentException("The maximum buffer size must be positive.");
+            }
+
+            this.maxBufferSize = maxBufferSize;
+        }
+
+        Buffer acquire(SqlObject object) {
+            Buffer buffer = buffers.get();
+            if (buffer.inUse) {
+                buffer = new Buffer();
+            }
+
+            Integer sizeHint = sizeHints.get(object);
+            if (sizeHint != null) {
+                buffer.builder.ensureCapacity(Math.min(sizeHint, maxBufferSize));
+            }
+
+            buffer.inUse = true;
+            return buffer;
+        }
+
+        void release(Buffer buffer) {
+            buffer.inUse = false;
+            if (buffer.builder.capacity() > maxBufferSize) {
+                buffer.builder = new StringBuilder();
+            } else {
+                buffer.builder.setLength(0);
+            }
+        }
+
+        void updateSizeHint(SqlObject object, int size) {
+            Integer sizeHint = sizeHints.get(object);
+            if (sizeHint == null || sizeHint < size) {
+                sizeHints.put(object, size);
+            }
+        }
+    }
+
+    private static class Buffer {
+        private StringBuilder builder = new StringBuilder();
+        private boolean inUse;
     }
 
     private static class Processor implements SqlVisitor {
-        private final StringBuilder builder = new StringBuilder();
+        private StringBuilder builder;
         private final SqlBuildOptions options;
-        private final AliasGenerator aliasGenerator;
+        private AliasGenerator aliasGenerator;
         private final PlaceholderBuilder placeholderBuilder;
         private final Map<Table, String> tableAliases;
+        private List<Placeholder> placeholders;
+        private final boolean upperCaseKeywords;
+        private final SqlBuildOptions.IdentifierCase identifierCase;
+        private final String identifierDelimiter;
+        private final String newline;
+        private final String indent;
+        private final boolean stableAliases;
+        private final boolean canonical;
+        private final boolean liftLiterals;
+        private final SqlBuildOptions.HintDialect hintDialect;
+        private final List<String> leadingHints = new ArrayList<>();
+        private final int maxLength;
+        private final int maxListSize;
+        private ClauseCache clauseCache;
+        private final Settings settings;
+        private final List<Recording> recordings = new ArrayList<>();
         private int level;
-
-        Processor(SqlBuildOptions options) {
+        private int nodes;
+        private int placeholderCount;
+        private int generatedAliases;
+
+        Processor(StringBuilder builder, SqlBuildOptions options, List<Placeholder> placeholders,
+                  ClauseCache clauseCache) {
+            this.builder = builder;
+            this.placeholders = placeholders;
             this.options = options != null ? options : SqlBuildOptions.defaults();
             this.aliasGenerator = this.options.getAliasGenerator().orElse(DefaultAliasGenerator.newInstance());
             this.placeholderBuilder = this.options.getPlaceholderBuilder().orElse(null);
             tableAliases = new IdentityHashMap<>();
-        }
-
-        Processor(Processor other) {
-            options = other.options;
-            aliasGenerator = other.aliasGenerator;
-            placeholderBuilder = other.placeholderBuilder;
-            tableAliases = other.tableAliases;
-            level = other.level;
+            upperCaseKeywords = this.options.getKeywordCase() == SqlBuildOptions.KeywordCase.UPPERCASE;
+            identifierCase = this.options.getIdentifierCase();
+            identifierDelimiter = this.options.isSetIdentifierDelimiter() ? this.options.getIdentifierDelimiter() : null;
+            newline = this.options.getNewline();
+            canonical = this.options.isCanonical();
+            // lifted literals are only bound through statements, so plain SQL keeps them inline
+            liftLiterals = canonical && placeholders != null;
+            indent = this.options.isSetIndent() && !canonical ? this.options.getIndent() : null;
+            stableAliases = this.options.isStableAliases() || canonical;
+            hintDialect = this.options.getHintDialect();
+            maxLength = this.options.getMaxLength();
+            maxListSize = this.options.getMaxListSize();
+
+            // cached clauses replay generated aliases, which requires a fresh default alias generator
+            this.clauseCache = this.options.getAliasGenerator().isEmpty() ? clauseCache : null;
+            settings = this.clauseCache != null ?
+                    new Settings(upperCaseKeywords, identifierCase, identifierDelimiter, newline, indent,
+                            stableAliases, canonical, liftLiterals, hintDialect, maxListSize,
+                            this.options.isUseJdbcEscapeNotation(), placeholderBuilder) :
+                    null;
         }
 
         @Override
         public void visit(ArithmeticOperation operation) {
+            node(operation);
             builder.append("(");
             operation.getLeftOperand().accept(this);
-            builder.append(" ")
-                    .append(keyword(operation.getOperator()))
-                    .append(" ");
+            builder.append(" ");
+            keyword(operation.getOperator()).append(" ");
             operation.getRightOperand().accept(this);
             builder.append(")");
         }
 
         @Override
         public void visit(Between between) {
-            between.getOperand().accept(this);
-            builder.append(" ")
-                    .append(keyword(between.getOperator()))
-                    .append(" ");
-            between.getLowerBound().accept(this);
-            builder.append(keyword(" and "));
-            between.getUpperBound().accept(this);
+            node(between);
+            operand(between.getOperand());
+            builder.append(" ");
+            keyword(between.getOperator()).append(" ");
+            operand(between.getLowerBound());
+            keyword(" and ");
+            operand(between.getUpperBound());
         }
 
         @Override
         public void visit(BinaryComparisonOperation operation) {
-            operation.getLeftOperand().accept(this);
-            builder.append(" ")
-                    .append(keyword(operation.getOperator()))
-                    .append(" ");
-            operation.getRightOperand().accept(this);
+            node(operation);
+            operand(operation.getLeftOperand());
+            builder.append(" ");
+            keyword(operation.getOperator()).append(" ");
+            operand(operation.getRightOperand());
         }
 
         @Override
         public void visit(BinaryLogicalOperation operation) {
-            if (operation.getOperands().size() > 1) {
-                builder.append("(");
-                newlineAndIndent(() -> build(operation.getOperands(), " ", keyword(operation.getOperator()) + " "));
-                newlineAndAppend(")");
-            } else {
-                operation.getOperands().get(0).accept(this);
-            }
+            node(operation);
+            build(operation.getOperator(), operation.getOperands());
         }
 
         @Override
         public void visit(BooleanLiteral literal) {
-            literal.getValue().ifPresentOrElse(value ->
-                            builder.append(keyword(value ? "true" : "false")),
-                    () -> build(literal));
+            node(literal);
+            Boolean value = literal.getValueOrNull();
+            if (value != null) {
+                keyword(value ? "true" : "false");
+            } else {
+                build(literal);
+            }
         }
 
         @Override
         public void visit(Case expression) {
-            builder.append(keyword("case "));
-            expression.getConditions().forEach((when, then) ->
-                    newlineAndIndent(() -> {
-                        builder.append(keyword("when "));
-                        when.accept(this);
-                        builder.append(keyword(" then "));
-                        then.accept(this);
-                        builder.append(" ");
-                    }));
+            node(expression);
+            keyword("case ");
+            for (Map.Entry<BooleanExpression, Expression> condition : expression.getConditions().entrySet()) {
+                indent();
+                keyword("when ");
+                condition.getKey().accept(this);
+                keyword(" then ");
+                condition.getValue().accept(this);
+                builder.append(" ");
+                level--;
+            }
 
-            newlineAndIndent(() -> expression.getElse().ifPresent(otherwise -> {
-                builder.append(keyword("else "));
+            indent();
+            Expression otherwise = expression.getElse().orElse(null);
+            if (otherwise != null) {
+                keyword("else ");
                 otherwise.accept(this);
                 builder.append(" ");
-            }));
+            }
 
-            newlineAndAppend(keyword("end"));
+            level--;
+            newline();
+            keyword("end");
         }
 
         @Override
         public void visit(Cast cast) {
-            builder.append(keyword("cast"))
-                    .append(" (");
+            node(cast);
+            keyword("cast").append(" (");
             cast.getExpression().accept(this);
-            builder.append(keyword(" as "))
-                    .append(cast.getTargetType())
+            keyword(" as ").append(cast.getTargetType())
                     .append(")");
         }
 
         @Override
         public void visit(Collate collate) {
+            node(collate);
             collate.getExpression().accept(this);
-            builder.append(" ")
-                    .append(keyword(collate.getOperator()))
-                    .append(" ")
+            builder.append(" ");
+            keyword(collate.getOperator()).append(" ")
                     .append(collate.getCollation());
         }
 
         @Override
         public void visit(Column column) {
-            builder.append(getOrCreateAlias(column.getTable()))
-                    .append(".")
-                    .append(identifier(column.getName()));
+            node(column);
+            alias(column.getTable()).append(".");
+            identifier(column.getName());
         }
 
         @Override
         public void visit(CommonTableExpression expression) {
+            node(expression);
             builder.append(expression.getName());
-            if (!expression.getColumns().isEmpty()) {
-                builder.append(" (")
-                        .append(expression.getColumns().stream()
-                                .map(this::identifier)
-                                .collect(Collectors.joining(", ")))
-                        .append(") ");
+            List<String> columns = expression.getColumns();
+            if (!columns.isEmpty()) {
+                builder.append(" (");
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        builder.append(", ");
+                    }
+
+                    identifier(columns.get(i));
+                }
+
+                builder.append(") ");
+            }
+
+            keyword(" as ");
+            Boolean materialized = expression.getMaterialized().orElse(null);
+            if (materialized != null) {
+                keyword(materialized ? "materialized " : "not materialized ");
             }
 
-            builder.append(keyword(" as "));
             expression.getQueryExpression().accept(this);
         }
 
         @Override
         public void visit(DateLiteral literal) {
-            literal.getValue().ifPresentOrElse(value ->
-                            builder.append(options.isUseJdbcEscapeNotation() ?
-                                    "{d '" + value + "'}" :
-                                    "'" + value + "'"),
-                    () -> build(literal));
+            node(literal);
+            Date value = literal.getValueOrNull();
+            if (value != null) {
+                builder.append(options.isUseJdbcEscapeNotation() ? "{d '" : "'")
+                        .append(value)
+                        .append(options.isUseJdbcEscapeNotation() ? "'}" : "'");
+            } else {
+                build(literal);
+            }
         }
 
         @Override
         public void visit(DoubleLiteral literal) {
+            node(literal);
             build(literal);
         }
 
         @Override
         public void visit(Exists exists) {
-            builder.append(keyword(exists.getOperator()))
-                    .append(" ");
+            node(exists);
+            keyword(exists.getOperator()).append(" ");
             exists.getOperand().accept(this);
         }
 
         @Override
         public void visit(Frame frame) {
-            builder.append(keyword(frame.getUnits()))
-                    .append(" ");
-            frame.getEnd().ifPresent(end -> builder.append(keyword("between ")));
-            frame.getStartExpression().ifPresent(expression -> {
-                expression.accept(this);
+            node(frame);
+            keyword(frame.getUnits()).append(" ");
+            String end = frame.getEnd().orElse(null);
+            if (end != null) {
+                keyword("between ");
+            }
+
+            Literal<?> startExpression = frame.getStartExpression().orElse(null);
+            if (startExpression != null) {
+                startExpression.accept(this);
                 builder.append(" ");
-            });
-
-            builder.append(keyword(frame.getStart()));
-            frame.getEnd().ifPresent(end -> {
-                builder.append(keyword(" and "));
-                frame.getEndExpression().ifPresent(expression -> {
-                    expression.accept(this);
-                    builder.append(expression);
+            }
+
+            keyword(frame.getStart());
+            if (end != null) {
+                keyword(" and ");
+                Literal<?> endExpression = frame.getEndExpression().orElse(null);
+                if (endExpression != null) {
+                    endExpression.accept(this);
                     builder.append(" ");
-                });
-                builder.append(keyword(end));
-            });
+                }
+
+                keyword(end);
+            }
         }
 
         @Override
         public void visit(Function function) {
-            function.getSchema().ifPresent(schema ->
-                    builder.append(schema)
-                            .append("."));
-            builder.append(keyword(function.getName()))
-                    .append("(");
+            node(function);
+            String schema = function.getSchema().orElse(null);
+            if (schema != null) {
+                builder.append(schema)
+                        .append(".");
+            }
+
+            keyword(function.getName()).append("(");
+            List<String> qualifiers = function.getQualifiers();
+            if (!qualifiers.isEmpty()) {
+                for (int i = 0; i < qualifiers.size(); i++) {
+                    if (i > 0) {
+                        builder.append(" ");
+                    }
 
-            if (!function.getQualifiers().isEmpty()) {
-                builder.append(function.getQualifiers().stream()
-                                .map(this::keyword)
-                                .collect(Collectors.joining(" ")))
-                        .append(" ");
+                    keyword(qualifiers.get(i));
+                }
+
+                builder.append(" ");
             }
 
             build(function.getArguments(), ", ", false);
@@ -267,10 +514,10 @@ public class SqlBuilder {
 
         @Override
         public void visit(In in) {
-            in.getLeftOperand().accept(this);
-            builder.append(" ")
-                    .append(keyword(in.getOperator()))
-                    .append(" ");
+            node(in);
+            operand(in.getLeftOperand());
+            builder.append(" ");
+            keyword(in.getOperator()).append(" ");
 
             if (in.getRightOperand() instanceof QueryStatement<?> statement) {
                 statement.accept(this);
@@ -283,78 +530,111 @@ public class SqlBuilder {
 
         @Override
         public void visit(IntegerLiteral literal) {
+            node(literal);
             build(literal);
         }
 
         @Override
         public void visit(IsNull isNull) {
+            node(isNull);
             isNull.getOperand().accept(this);
-            builder.append(" ")
-                    .append(keyword(isNull.getOperator()));
+            builder.append(" ");
+            keyword(isNull.getOperator());
         }
 
         @Override
         public void visit(Join join) {
-            builder.append(keyword(join.getType()))
-                    .append(" ");
+            node(join);
+            keyword(join.getType()).append(" ");
             join.getTable().accept(this);
             if (!join.getConditions().isEmpty()) {
-                builder.append(keyword(" on "));
-                Operators.and(join.getConditions()).reduce().accept(this);
+                keyword(" on ");
+                List<? extends BooleanExpression> conditions = join.getConditions();
+                String operator = Operators.AND;
+                while (conditions.size() == 1 && conditions.get(0) instanceof BinaryLogicalOperation operation) {
+                    conditions = operation.getOperands();
+                    operator = operation.getOperator();
+                }
+
+                build(operator, conditions);
             }
         }
 
         @Override
         public void visit(Like like) {
-            like.getOperand().accept(this);
-            builder.append(" ")
-                    .append(keyword(like.getOperator()))
-                    .append(" ");
-            like.getPattern().accept(this);
-            like.getEscapeCharacter().ifPresent(escapeCharacter -> {
+            node(like);
+            operand(like.getOperand());
+            builder.append(" ");
+            keyword(like.getOperator()).append(" ");
+            operand(like.getPattern());
+            StringLiteral escapeCharacter = like.getEscapeCharacter().orElse(null);
+            if (escapeCharacter != null) {
                 if (options.isUseJdbcEscapeNotation()) {
-                    builder.append(" {escape ")
-                            .append(escapeCharacter)
-                            .append("}");
+                    builder.append(" {escape ");
+                    escapeCharacter.accept(this);
+                    builder.append("}");
                 } else {
-                    builder.append(keyword(" escape "))
-                            .append(escapeCharacter);
+                    keyword(" escape ");
+                    escapeCharacter.accept(this);
                 }
-            });
+            }
         }
 
         @Override
         public void visit(LiteralList literalList) {
-            build(literalList.getLiterals(), ", ", false);
+            node(literalList);
+            if (canonical) {
+                List<Literal<?>> literals = new ArrayList<>(literalList.getLiterals());
+                literals.sort(Comparator.comparing(literal -> String.valueOf(literal.getValueOrNull())));
+                for (int i = 0; i < literals.size(); i++) {
+                    if (i > 0) {
+                        builder.append(", ");
+                    }
+
+                    operand(literals.get(i));
+                }
+            } else {
+                build(literalList.getLiterals(), ", ", false);
+            }
         }
 
         @Override
         public void visit(Not not) {
-            builder.append(keyword(not.getOperator()))
-                    .append(" ");
+            node(not);
+            keyword(not.getOperator()).append(" ");
             not.getOperand().accept(this);
         }
 
         @Override
         public void visit(NullLiteral literal) {
+            node(literal);
             build(literal);
         }
 
         @Override
         public void visit(OrderBy orderBy) {
+            node(orderBy);
             orderBy.getSortExpression().accept(this);
             if (!OrderBy.ASCENDING.equalsIgnoreCase(orderBy.getSortOrder())) {
-                builder.append(" ")
-                        .append(keyword(orderBy.getSortOrder()));
+                builder.append(" ");
+                keyword(orderBy.getSortOrder());
             }
 
-            orderBy.getNullOrder().ifPresent(nullOrder ->
-                    builder.append(" ")
-                            .append(keyword(nullOrder)));
+            String nullOrder = orderBy.getNullOrder().orElse(null);
+            if (nullOrder != null) {
+                builder.append(" ");
+                keyword(nullOrder);
+            }
         }
 
         @Override
         public void visit(Placeholder placeholder) {
+            node(placeholder);
+            placeholderCount++;
+            if (placeholders != null) {
+                placeholders.add(placeholder);
+            }
+
             builder.append(placeholderBuilder != null ?
                     placeholderBuilder.build(placeholder, options) :
                     "?");
@@ -362,36 +642,54 @@ public class SqlBuilder {
 
         @Override
         public void visit(PlainSql plainSql) {
+            node(plainSql);
             String sql = plainSql.getSql();
-            for (Object token : plainSql.getTokens()) {
-                String replacement = token instanceof SqlObject sqlObject ?
-                        toSql(sqlObject) :
-                        String.valueOf(token);
+            List<Object> tokens = plainSql.getTokens();
+            int start = 0;
+            for (int i = 0; i < tokens.size(); i++) {
+                int index = sql.indexOf("{}", start);
+                if (index == -1) {
+                    break;
+                }
 
-                sql = sql.replaceFirst("\\{}", replacement);
+                builder.append(sql, start, index);
+                Object token = tokens.get(i);
+                if (token instanceof SqlObject sqlObject) {
+                    sqlObject.accept(this);
+                } else {
+                    builder.append(token);
+                }
+
+                start = index + 2;
             }
 
-            builder.append(sql);
+            builder.append(sql, start, sql.length());
         }
 
         @Override
         public void visit(Select select) {
             builder.append("(");
-            newlineAndIndent(() -> build(select));
-            newlineAndAppend(")");
+            indent();
+            build(select);
+            level--;
+            newline();
+            builder.append(")");
         }
 
         @Override
         public void visit(SetOperator operator) {
             builder.append("(");
-            newlineAndIndent(() -> build(operator));
-            newlineAndAppend(")");
+            indent();
+            build(operator);
+            level--;
+            newline();
+            builder.append(")");
         }
 
         @Override
         public void visit(SubQueryOperator operator) {
-            builder.append(keyword(operator.getOperator()))
-                    .append(" ");
+            node(operator);
+            keyword(operator.getOperator()).append(" ");
 
             if (operator.getOperand() instanceof QueryStatement<?> statement) {
                 statement.accept(this);
@@ -404,109 +702,145 @@ public class SqlBuilder {
 
         @Override
         public void visit(StringLiteral literal) {
-            literal.getValue().ifPresentOrElse(value ->
-                            builder.append("'")
-                                    .append(value.replace("'", "''"))
-                                    .append("'"),
-                    () -> build(literal));
+            node(literal);
+            String value = literal.getValueOrNull();
+            if (value != null) {
+                builder.append("'");
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    builder.append(c);
+                    if (c == '\'') {
+                        builder.append(c);
+                    }
+                }
+
+                builder.append("'");
+            } else {
+                build(literal);
+            }
         }
 
         @Override
         public void visit(Table table) {
+            node(table);
             if (table.isLateral()) {
-                builder.append(keyword("lateral "));
+                keyword("lateral ");
+            }
+
+            QueryExpression expression = table.getQueryExpressionOrNull();
+            if (expression != null) {
+                expression.accept(this);
+            } else {
+                String schema = table.getSchemaOrNull();
+                if (schema != null) {
+                    builder.append(schema)
+                            .append(".");
+                }
+
+                identifier(table.getName());
             }
 
-            table.getQueryExpression().ifPresentOrElse(expression -> expression.accept(this),
-                    () -> {
-                        table.getSchema().ifPresent(schema ->
-                                builder.append(schema)
-                                        .append("."));
-                        builder.append(identifier(table.getName()));
-                    });
-            builder.append(" ")
-                    .append(getOrCreateAlias(table));
+            builder.append(" ");
+            alias(table);
         }
 
         @Override
         public void visit(TimestampLiteral literal) {
-            literal.getValue().ifPresentOrElse(value ->
-                            builder.append(options.isUseJdbcEscapeNotation() ?
-                                    "{ts '" + value + "'}" :
-                                    "'" + value + "'"),
-                    () -> build(literal));
+            node(literal);
+            Timestamp value = literal.getValueOrNull();
+            if (value != null) {
+                builder.append(options.isUseJdbcEscapeNotation() ? "{ts '" : "'")
+                        .append(value)
+                        .append(options.isUseJdbcEscapeNotation() ? "'}" : "'");
+            } else {
+                build(literal);
+            }
         }
 
         @Override
         public void visit(Update update) {
+            node(update);
             if (!update.getWith().isEmpty()) {
-                builder.append(keyword("with "));
+                keyword("with ");
                 if (update.isWithRecursive()) {
-                    builder.append(keyword("recursive "));
+                    keyword("recursive ");
                 }
 
                 build(update.getWith(), ", ");
                 newline();
             }
 
-            builder.append(keyword("update "));
-            newlineAndIndent(() -> builder.append(update.getTable().orElse(Table.of("null")))
-                    .append(" "));
+            keyword("update ");
+            hints(update.getHints(), update.getOptimizerHints());
+            indent();
+            Table table = update.getTable().orElse(null);
+            (table != null ? table : Table.of("null")).accept(this);
+            builder.append(" ");
+            level--;
 
             if (!update.getSet().isEmpty()) {
-                newlineAndAppend(keyword("set "));
-                newlineAndIndent(() -> build(update.getSet(), ", "));
+                newline();
+                keyword("set ");
+                indent();
+                build(update.getSet(), ", ");
+                level--;
             }
 
-            if (!update.getWhere().isEmpty()) {
-                BinaryLogicalOperation where = Operators.and(update.getWhere()).reduce();
-                newlineAndAppend(keyword("where "));
-                newlineAndIndent(() -> build(where.getOperands(), " ", keyword(where.getOperator()) + " "));
-            }
+            build(update.getWhere());
         }
 
         @Override
         public void visit(UpdateValue value) {
-            builder.append(identifier(value.getColumn().getName()))
-                    .append(" = ");
+            node(value);
+            identifier(value.getColumn().getName()).append(" = ");
             value.getValue().accept(this);
         }
 
         @Override
         public void visit(WildcardColumn column) {
-            builder.append(column.getTable()
-                    .map(table -> getOrCreateAlias(table) + ".*")
-                    .orElse("*"));
+            node(column);
+            Table table = column.getTable().orElse(null);
+            if (table != null) {
+                alias(table).append(".*");
+            } else {
+                builder.append("*");
+            }
         }
 
         @Override
         public void visit(Window window) {
+            node(window);
             builder.append("(");
+            String reference = window.getReference().orElse(null);
             if (window.isReferenceOnly()) {
-                window.getReference().ifPresent(builder::append);
+                builder.append(reference);
             } else if (!window.isEmpty()) {
-                window.getReference().ifPresent(reference -> builder.append(reference)
-                        .append(" "));
+                if (reference != null) {
+                    builder.append(reference)
+                            .append(" ");
+                }
 
                 if (!window.getPartitionBy().isEmpty()) {
-                    newlineAndIndent(() -> {
-                        builder.append(keyword("partition by "));
-                        build(window.getPartitionBy(), ", ");
-                    });
+                    indent();
+                    keyword("partition by ");
+                    build(window.getPartitionBy(), ", ");
+                    level--;
                 }
 
                 if (!window.getOrderBy().isEmpty()) {
-                    newlineAndIndent(() -> {
-                        builder.append(keyword("order by "));
-                        build(window.getOrderBy(), ", ");
-                    });
+                    indent();
+                    keyword("order by ");
+                    build(window.getOrderBy(), ", ");
+                    level--;
                 }
 
-                window.getFrame().ifPresent(frame ->
-                        newlineAndIndent(() -> {
-                            frame.accept(this);
-                            builder.append(" ");
-                        }));
+                Frame frame = window.getFrame().orElse(null);
+                if (frame != null) {
+                    indent();
+                    frame.accept(this);
+                    builder.append(" ");
+                    level--;
+                }
 
                 newline();
             }
@@ -516,130 +850,207 @@ public class SqlBuilder {
 
         @Override
         public void visit(WindowFunction function) {
+            node(function);
             function.getFunction().accept(this);
-            builder.append(keyword(" over "));
+            keyword(" over ");
 
             if (function.getWindow().isReferenceOnly()) {
-                function.getWindow().getReference().ifPresent(builder::append);
+                builder.append(function.getWindow().getReference().orElse(null));
             } else {
                 function.getWindow().accept(this);
             }
         }
 
         private void build(Literal<?> literal) {
-            builder.append(literal.getValue()
-                    .map(Object::toString)
-                    .orElse("null"));
+            Object value = literal.getValueOrNull();
+            if (value instanceof Long number) {
+                builder.append(number.longValue());
+            } else if (value instanceof Double number) {
+                builder.append(number.doubleValue());
+            } else {
+                builder.append(value != null ? value.toString() : "null");
+            }
         }
 
         private void build(Select select) {
+            node(select);
             if (!select.getWith().isEmpty()) {
-                builder.append(keyword("with "));
-                if (select.isWithRecursive()) {
-                    builder.append(keyword("recursive "));
-                }
+                if (!replayClause(select, QueryStatement.Clause.WITH)) {
+                    Recording recording = recordClause(select, QueryStatement.Clause.WITH);
+                    keyword("with ");
+                    if (select.isWithRecursive()) {
+                        keyword("recursive ");
+                    }
 
-                build(select.getWith(), ", ");
-                newline();
+                    build(select.getWith(), ", ");
+                    newline();
+
+                    cacheClause(recording);
+                }
             }
 
-            builder.append(keyword("select "));
-            if (!select.getHints().isEmpty()) {
-                builder.append("/*+ ")
-                        .append(String.join(" ", select.getHints()))
-                        .append(" */ ");
+            if (stableAliases || !select.getOptimizerHints().isEmpty()) {
+                assignAliases(select);
             }
 
-            newlineAndIndent(() -> {
+            if (!replayClause(select, QueryStatement.Clause.SELECT)) {
+                Recording recording = recordClause(select, QueryStatement.Clause.SELECT);
+                keyword("select ");
+                hints(select.getHints(), select.getOptimizerHints());
+
+                indent();
                 if (select.isDistinct()) {
-                    builder.append(keyword("distinct "));
+                    keyword("distinct ");
                 }
 
-                if (!select.getSelect().isEmpty()) {
-                    build(select.getSelect().stream()
-                            .map(selection -> (ObjectBuilder) () -> build(selection))
-                            .toList(), ", ");
+                List<Selection<?>> selections = select.getSelect();
+                if (!selections.isEmpty()) {
+                    for (int i = 0; i < selections.size(); i++) {
+                        Selection<?> selection = selections.get(i);
+                        selection.accept(this);
+                        String alias = selection.getAliasOrNull();
+                        if (alias != null) {
+                            keyword(" as ").append(alias);
+                        }
+
+                        if (i < selections.size() - 1) {
+                            builder.append(", ");
+                            newline();
+                        }
+                    }
+
+                    builder.append(" ");
                 } else {
-                    builder.append(Column.WILDCARD)
-                            .append(" ");
+                    builder.append("* ");
                 }
-            });
+
+                level--;
+
+                cacheClause(recording);
+            }
 
             if (!select.getFrom().isEmpty()) {
-                newlineAndAppend(keyword("from "));
-                newlineAndIndent(() -> {
+                if (!replayClause(select, QueryStatement.Clause.FROM)) {
+                    Recording recording = recordClause(select, QueryStatement.Clause.FROM);
+                    newline();
+                    keyword("from ");
+                    indent();
                     build(select.getFrom(), ", ");
                     if (!select.getJoins().isEmpty()) {
                         newline();
                         build(select.getJoins(), " ");
                     }
-                });
-            }
 
-            if (!select.getWhere().isEmpty()) {
-                BinaryLogicalOperation where = Operators.and(select.getWhere()).reduce();
-                newlineAndAppend(keyword("where "));
-                newlineAndIndent(() -> build(where.getOperands(), " ", keyword(where.getOperator()) + " "));
+                    level--;
+
+                    cacheClause(recording);
+                }
             }
 
+            build(select.getWhere());
             build((QueryStatement<?>) select);
         }
 
         private void build(QueryStatement<?> statement) {
             if (!statement.getGroupBy().isEmpty()) {
-                newlineAndAppend(keyword("group by "));
-                newlineAndIndent(() -> build(statement.getGroupBy(), ", "));
+                if (!replayClause(statement, QueryStatement.Clause.GROUP_BY)) {
+                    Recording recording = recordClause(statement, QueryStatement.Clause.GROUP_BY);
+                    newline();
+                    keyword("group by ");
+                    indent();
+                    build(statement.getGroupBy(), ", ");
+                    level--;
+
+                    cacheClause(recording);
+                }
             }
 
             if (!statement.getHaving().isEmpty()) {
-                newlineAndAppend(keyword("having "));
-                newlineAndIndent(() -> build(statement.getHaving(), ", "));
+                if (!replayClause(statement, QueryStatement.Clause.HAVING)) {
+                    Recording recording = recordClause(statement, QueryStatement.Clause.HAVING);
+                    newline();
+                    keyword("having ");
+                    indent();
+                    build(statement.getHaving(), ", ");
+                    level--;
+
+                    cacheClause(recording);
+                }
             }
 
-            if (!statement.getWindow().isEmpty()) {
-                newlineAndAppend(keyword("window "));
-                newlineAndIndent(() ->
-                        build(statement.getWindow(), ", ", (window, i) ->
-                                window.getOrCreateName(aliasGenerator) + keyword(" as ")));
+            List<Window> windows = statement.getWindow();
+            if (!windows.isEmpty()) {
+                if (!replayClause(statement, QueryStatement.Clause.WINDOW)) {
+                    Recording recording = recordClause(statement, QueryStatement.Clause.WINDOW);
+                    newline();
+                    keyword("window ");
+                    indent();
+                    for (int i = 0; i < windows.size(); i++) {
+                        Window window = windows.get(i);
+                        String name = window.getName().orElse(null);
+                        if (name == null) {
+                            name = nextAlias();
+                        }
+
+                        builder.append(name);
+                        keyword(" as ");
+                        window.accept(this);
+                        if (i < windows.size() - 1) {
+                            builder.append(", ");
+                            newline();
+                        }
+                    }
+
+                    builder.append(" ");
+                    level--;
+
+                    cacheClause(recording);
+                }
             }
 
             if (!statement.getOrderBy().isEmpty()) {
-                newlineAndAppend(keyword("order by "));
-                newlineAndIndent(() -> build(statement.getOrderBy(), ", "));
+                if (!replayClause(statement, QueryStatement.Clause.ORDER_BY)) {
+                    Recording recording = recordClause(statement, QueryStatement.Clause.ORDER_BY);
+                    newline();
+                    keyword("order by ");
+                    indent();
+                    build(statement.getOrderBy(), ", ");
+                    level--;
+
+                    cacheClause(recording);
+                }
             }
 
-            statement.getOffset().ifPresent(offset -> {
-                newlineAndAppend(keyword("offset "));
+            Literal<?> offset = statement.getOffset().orElse(null);
+            if (offset != null) {
+                newline();
+                keyword("offset ");
                 offset.accept(this);
-                builder.append(keyword(" rows "));
-            });
+                keyword(" rows ");
+            }
 
-            statement.getFetch().ifPresent(fetch -> {
-                if (statement.getOffset().isEmpty()) {
+            Literal<?> fetch = statement.getFetch().orElse(null);
+            if (fetch != null) {
+                if (offset == null) {
                     newline();
                 }
 
-                builder.append(keyword("fetch "))
-                        .append(keyword(statement.getOffset().map(offset -> "next ").orElse("first ")));
+                keyword("fetch ");
+                keyword(offset != null ? "next " : "first ");
                 fetch.accept(this);
-                builder.append(keyword(" rows only "));
-            });
-        }
-
-        private void build(Selection<?> selection) {
-            selection.accept(this);
-            selection.getAlias().ifPresent(alias ->
-                    builder.append(keyword(" as "))
-                            .append(alias));
+                keyword(" rows only ");
+            }
         }
 
         private void build(SetOperator operator) {
-            for (Iterator<Select> iterator = operator.getOperands().iterator(); iterator.hasNext(); ) {
-                iterator.next().accept(this);
-                if (iterator.hasNext()) {
+            node(operator);
+            List<Select> operands = operator.getOperands();
+            for (int i = 0; i < operands.size(); i++) {
+                operands.get(i).accept(this);
+                if (i < operands.size() - 1) {
                     builder.append(" ");
-                    newlineAndAppend(keyword(operator.getType()))
-                            .append(" ");
+                    newline();
+                    keyword(operator.getType()).append(" ");
                     newline();
                 }
             }
@@ -647,40 +1058,61 @@ public class SqlBuilder {
             build((QueryStatement<?>) operator);
         }
 
-        private void build(Collection<?> builders, String delimiter) {
-            build(builders, delimiter, true);
+        private void build(List<? extends BooleanExpression> where) {
+            if (!where.isEmpty()) {
+                String operator = Operators.AND;
+                while (where.size() == 1 && where.get(0) instanceof BinaryLogicalOperation operation) {
+                    where = operation.getOperands();
+                    operator = operation.getOperator();
+                }
+
+                newline();
+                keyword("where ");
+                indent();
+                build(where, " ", operator);
+                level--;
+            }
         }
 
-        private void build(Collection<?> builders, String delimiter, boolean newline) {
-            build(builders, delimiter, (object, i) -> null, newline);
+        private void build(String operator, List<? extends BooleanExpression> operands) {
+            if (operands.size() > 1) {
+                builder.append("(");
+                indent();
+                build(operands, " ", operator);
+                level--;
+                newline();
+                builder.append(")");
+            } else {
+                operands.get(0).accept(this);
+            }
         }
 
-        private void build(Collection<?> builders, String delimiter, String prefix) {
-            build(builders, delimiter, (object, i) -> i > 0 ? prefix : null);
+        private void build(List<? extends SqlObject> objects, String delimiter) {
+            build(objects, delimiter, null, true);
         }
 
-        private <T> void build(Collection<T> builders, String delimiter, PrefixBuilder<T, Integer, String> prefixBuilder) {
-            build(builders, delimiter, prefixBuilder, true);
+        private void build(List<? extends SqlObject> objects, String delimiter, boolean newline) {
+            build(objects, delimiter, null, newline);
         }
 
-        private <T> void build(Collection<T> builders, String delimiter, PrefixBuilder<T, Integer, String> prefixBuilder, boolean newline) {
-            Iterator<T> iterator = builders.iterator();
-            int counter = 0;
+        private void build(List<? extends SqlObject> objects, String delimiter, String operator) {
+            build(objects, delimiter, operator, true);
+        }
 
-            while (iterator.hasNext()) {
-                T object = iterator.next();
-                String prefix = prefixBuilder.build(object, counter++);
-                if (prefix != null) {
-                    builder.append(prefix);
-                }
+        private void build(List<? extends SqlObject> objects, String delimiter, String operator, boolean newline) {
+            if (canonical && operator != null && objects.size() > 1) {
+                buildSorted(objects, delimiter, operator);
+                return;
+            }
 
-                if (object instanceof SqlObject sqlObject) {
-                    sqlObject.accept(this);
-                } else if (object instanceof ObjectBuilder objectBuilder) {
-                    objectBuilder.build();
+            int size = maxListSize > 0 ? Math.min(objects.size(), maxListSize) : objects.size();
+            for (int i = 0; i < size; i++) {
+                if (operator != null && i > 0) {
+                    keyword(operator).append(" ");
                 }
 
-                if (iterator.hasNext()) {
+                objects.get(i).accept(this);
+                if (i < objects.size() - 1) {
                     builder.append(delimiter);
                     if (newline) {
                         newline();
@@ -688,74 +1120,479 @@ public class SqlBuilder {
                 }
             }
 
+            if (size < objects.size()) {
+                if (operator != null) {
+                    keyword(operator).append(" ");
+                }
+
+                builder.append("... ")
+                        .append(String.format(Locale.ROOT, "%,d", objects.size() - size))
+                        .append(" more");
+            }
+
             if (newline) {
                 builder.append(" ");
             }
         }
 
-        private String keyword(String keyword) {
-            if (keyword != null) {
-                return options.getKeywordCase() == SqlBuildOptions.KeywordCase.UPPERCASE ?
-                        keyword.toUpperCase(Locale.ROOT) :
-                        keyword.toLowerCase(Locale.ROOT);
+        private void buildSorted(List<? extends SqlObject> objects, String delimiter, String operator) {
+            List<Fragment> fragments = new ArrayList<>(objects.size());
+            boolean aliased = false;
+            for (SqlObject object : objects) {
+                Fragment fragment = fragment(object);
+                fragments.add(fragment);
+                aliased |= fragment.aliased;
+            }
+
+            fragments.sort(Comparator.comparing(Fragment::sql));
+            for (int i = 0; i < fragments.size(); i++) {
+                if (i > 0) {
+                    builder.append(delimiter);
+                    keyword(operator).append(" ");
+                }
+
+                Fragment fragment = fragments.get(i);
+                if (aliased) {
+                    // nested queries take their aliases in rendering order, so the sorted operands are rendered again
+                    fragment.object.accept(this);
+                } else {
+                    builder.append(fragment.sql);
+                    if (placeholders != null) {
+                        placeholders.addAll(fragment.placeholders);
+                    }
+                }
+            }
+
+            builder.append(" ");
+        }
+
+        private Fragment fragment(SqlObject object) {
+            StringBuilder builder = this.builder;
+            List<Placeholder> placeholders = this.placeholders;
+            AliasGenerator aliasGenerator = this.aliasGenerator;
+            ClauseCache clauseCache = this.clauseCache;
+            Map<Table, String> tableAliases = new IdentityHashMap<>(this.tableAliases);
+            List<Map<Table, AliasLookup>> recordedAliases = new ArrayList<>(recordings.size());
+            recordings.forEach(recording -> recordedAliases.add(new IdentityHashMap<>(recording.aliases)));
+            int nodes = this.nodes;
+            int placeholderCount = this.placeholderCount;
+            int generatedAliases = this.generatedAliases;
+            int leadingHints = this.leadingHints.size();
+
+            this.builder = new StringBuilder();
+            this.placeholders = placeholders != null ? new ArrayList<>() : null;
+            this.aliasGenerator = new SortKeyAliasGenerator();
+            this.clauseCache = null;
+            boolean truncated = false;
+            try {
+                object.accept(this);
+            } catch (Truncation e) {
+                // the operand is rendered again so that the truncation is raised in place
+                truncated = true;
+            } finally {
+                this.aliasGenerator = aliasGenerator;
+                this.clauseCache = clauseCache;
+            }
+
+            Fragment fragment = new Fragment(object, this.builder.toString(), this.placeholders,
+                    truncated || this.generatedAliases != generatedAliases);
+            this.builder = builder;
+            this.placeholders = placeholders;
+            if (fragment.aliased) {
+                // every operand is keyed as if it was rendered first, so the generated aliases are discarded
+                this.tableAliases.clear();
+                this.tableAliases.putAll(tableAliases);
+                for (int i = 0; i < recordings.size(); i++) {
+                    recordings.get(i).aliases.clear();
+                    recordings.get(i).aliases.putAll(recordedAliases.get(i));
+                }
+
+                this.nodes = nodes;
+                this.placeholderCount = placeholderCount;
+                this.generatedAliases = generatedAliases;
+                this.leadingHints.subList(leadingHints, this.leadingHints.size()).clear();
+            }
+
+            return fragment;
+        }
+
+        private void operand(Expression operand) {
+            if (liftLiterals
+                    && operand instanceof Literal<?> literal
+                    && !(operand instanceof Placeholder)
+                    && !(operand instanceof NullLiteral)) {
+                visit(Placeholder.of(literal));
             } else {
-                return "";
+                operand.accept(this);
             }
         }
 
-        private String identifier(String identifier) {
+        private StringBuilder keyword(String keyword) {
+            return keyword != null ? append(keyword, upperCaseKeywords, !upperCaseKeywords) : builder;
+        }
+
+        private StringBuilder identifier(String identifier) {
             if (identifier != null) {
-                identifier = switch (options.getIdentifierCase()) {
-                    case UPPERCASE -> identifier.toUpperCase(Locale.ROOT);
-                    case LOWERCASE -> identifier.toLowerCase(Locale.ROOT);
-                    case UNCHANGED -> identifier;
-                };
-
-                return options.isSetIdentifierDelimiter() ?
-                        options.isSetIdentifierDelimiter() + identifier + options.isSetIdentifierDelimiter() :
-                        identifier;
-            } else {
-                return "";
+                if (identifier.length() > 1 && identifier.charAt(0) == '"') {
+                    return builder.append(identifier);
+                }
+
+                if (identifierDelimiter != null) {
+                    builder.append(identifierDelimiter);
+                }
+
+                append(identifier,
+                        identifierCase == SqlBuildOptions.IdentifierCase.UPPERCASE,
+                        identifierCase == SqlBuildOptions.IdentifierCase.LOWERCASE);
+
+                if (identifierDelimiter != null) {
+                    builder.append(identifierDelimiter);
+                }
             }
+
+            return builder;
+        }
+
+        private StringBuilder append(String text, boolean upperCase, boolean lowerCase) {
+            if (!upperCase && !lowerCase) {
+                return builder.append(text);
+            }
+
+            int length = builder.length();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c > 127) {
+                    builder.setLength(length);
+                    return builder.append(upperCase ?
+                            text.toUpperCase(Locale.ROOT) :
+                            text.toLowerCase(Locale.ROOT));
+                } else if (upperCase && c >= 'a' && c <= 'z') {
+                    c -= 32;
+                } else if (lowerCase && c >= 'A' && c <= 'Z') {
+                    c += 32;
+                }
+
+                builder.append(c);
+            }
+
+            return builder;
         }
 
         private void newline() {
-            if (options.isSetIndent()) {
-                builder.append(options.getNewline());
-                builder.append(options.getIndent().repeat(level));
+            if (indent != null) {
+                builder.append(newline);
+                for (int i = 0; i < level; i++) {
+                    builder.append(indent);
+                }
             }
         }
 
-        private StringBuilder newlineAndAppend(String text) {
-            newline();
-            return builder.append(text);
+        private void node(SqlObject object) {
+            nodes++;
+            for (Recording recording : recordings) {
+                recording.dependencies.putIfAbsent(object, object.getModificationCount());
+            }
+
+            if (maxLength > 0 && builder.length() > maxLength) {
+                throw Truncation.INSTANCE;
+            }
         }
 
-        private void newlineAndIndent(Runnable action) {
+        private void indent() {
             level++;
             newline();
-            action.run();
-            level--;
+        }
+
+        private StringBuilder alias(Table table) {
+            String alias = getOrCreateAlias(table);
+            return builder.append(table.getAliasOrNull() != null ? table.getAliasOrNull() : alias);
         }
 
         private String getOrCreateAlias(Table table) {
-            return table.getAlias().orElse(tableAliases.computeIfAbsent(table, k -> aliasGenerator.next()));
+            String alias = tableAliases.get(table);
+            boolean created = alias == null;
+            if (created) {
+                alias = nextAlias();
+                tableAliases.put(table, alias);
+            }
+
+            for (Recording recording : recordings) {
+                recording.aliases.putIfAbsent(table, new AliasLookup(table, alias, table.getAliasOrNull(), created));
+            }
+
+            return alias;
         }
 
-        private String toSql(SqlObject sqlObject) {
-            Processor processor = new Processor(this);
-            sqlObject.accept(processor);
-            return processor.builder.toString();
+        private String nextAlias() {
+            generatedAliases++;
+            return aliasGenerator.next();
         }
+
+        private boolean replayClause(QueryStatement<?> statement, QueryStatement.Clause clause) {
+            if (clauseCache == null) {
+                return false;
+            }
+
+            ClauseEntry entry = clauseCache.get(statement, clause);
+            if (entry != null && isValid(entry, statement, clause)) {
+                replay(entry);
+                return true;
+            }
+
+            return false;
+        }
+
+        private Recording recordClause(QueryStatement<?> statement, QueryStatement.Clause clause) {
+            if (clauseCache == null) {
+                return null;
+            }
+
+            Recording recording = new Recording(statement, clause);
+            recordings.add(recording);
+            return recording;
+        }
+
+        private void cacheClause(Recording recording) {
+            if (recording == null) {
+                return;
+            }
+
+            recordings.remove(recordings.size() - 1);
+            clauseCache.put(recording.statement, recording.clause, new ClauseEntry(settings,
+                    recording.modificationCount,
+                    recording.level,
+                    recording.generatedAliases,
+                    recording.placeholderCount,
+                    builder.substring(recording.length),
+                    placeholders != null ?
+                            new ArrayList<>(placeholders.subList(recording.placeholderSize, placeholders.size())) :
+                            null,
+                    nodes - recording.nodes,
+                    placeholderCount - recording.placeholderCount,
+                    generatedAliases - recording.generatedAliases,
+                    new ArrayList<>(leadingHints.subList(recording.leadingHints, leadingHints.size())),
+                    new ArrayList<>(recording.aliases.values()),
+                    recording.dependencies));
+        }
+
+        private boolean isValid(ClauseEntry entry, QueryStatement<?> statement, QueryStatement.Clause clause) {
+            if (!entry.settings.equals(settings)
+                    || entry.modificationCount != statement.getModificationCount(clause)
+                    || entry.level != level
+                    || entry.generatedAliasesBefore != generatedAliases
+                    || (placeholders != null && entry.placeholders == null)
+                    || (placeholderBuilder != null && entry.placeholderCountBefore != placeholderCount)) {
+                return false;
+            }
+
+            for (Map.Entry<SqlObject, Long> dependency : entry.dependencies.entrySet()) {
+                if (dependency.getKey().getModificationCount() != dependency.getValue()) {
+                    return false;
+                }
+            }
+
+            for (AliasLookup lookup : entry.aliases) {
+                String alias = tableAliases.get(lookup.table);
+                if (!Objects.equals(lookup.table.getAliasOrNull(), lookup.explicitAlias)
+                        || (lookup.created ? alias != null : !lookup.alias.equals(alias))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void replay(ClauseEntry entry) {
+            builder.append(entry.sql);
+            nodes += entry.nodes;
+            placeholderCount += entry.placeholderCount;
+            if (placeholders != null) {
+                placeholders.addAll(entry.placeholders);
+            }
+
+            for (AliasLookup lookup : entry.aliases) {
+                if (lookup.created) {
+                    tableAliases.put(lookup.table, lookup.alias);
+                }
+            }
+
+            for (int i = 0; i < entry.generatedAliases; i++) {
+                nextAlias();
+            }
+
+            leadingHints.addAll(entry.hints);
+            for (Recording recording : recordings) {
+                entry.aliases.forEach(lookup -> recording.aliases.putIfAbsent(lookup.table, lookup));
+                entry.dependencies.forEach(recording.dependencies::putIfAbsent);
+            }
+
+            if (maxLength > 0 && builder.length() > maxLength) {
+                throw Truncation.INSTANCE;
+            }
+        }
+
+        private void hints(List<String> hints, List<OptimizerHint> optimizerHints) {
+            if (hints.isEmpty() && optimizerHints.isEmpty()) {
+                return;
+            }
+
+            List<String> texts = new ArrayList<>(hints);
+            for (OptimizerHint hint : optimizerHints) {
+                String text = hint(hint);
+                if (text != null) {
+                    texts.add(text);
+                }
+            }
+
+            if (hintDialect == SqlBuildOptions.HintDialect.PG_HINT_PLAN) {
+                leadingHints.addAll(texts);
+            } else if (!texts.isEmpty()) {
+                builder.append("/*+ ")
+                        .append(String.join(" ", texts))
+                        .append(" */ ");
+            }
+        }
+
+        private String hint(OptimizerHint hint) {
+            boolean oracle = hintDialect == SqlBuildOptions.HintDialect.ORACLE;
+            List<String> aliases = new ArrayList<>();
+            for (Table table : hint.getTables()) {
+                String alias = getOrCreateAlias(table);
+                aliases.add(table.getAliasOrNull() != null ? table.getAliasOrNull() : alias);
+            }
+
+            String tables = String.join(" ", aliases);
+            switch (hint.getType()) {
+                case INDEX:
+                    List<String> arguments = new ArrayList<>(aliases);
+                    arguments.addAll(hint.getIndexes());
+                    return (oracle ? "INDEX(" : "IndexScan(") + String.join(" ", arguments) + ")";
+                case PARALLEL:
+                    if (aliases.isEmpty()) {
+                        return oracle ?
+                                "PARALLEL(" + hint.getDegree() + ")" :
+                                "Set(max_parallel_workers_per_gather " + hint.getDegree() + ")";
+                    }
+
+                    return oracle ?
+                            "PARALLEL(" + tables + " " + hint.getDegree() + ")" :
+                            "Parallel(" + tables + " " + hint.getDegree() + " hard)";
+                case LEADING:
+                    return (oracle ? "LEADING(" : "Leading(") + tables + ")";
+                case JOIN_ORDER:
+                    if (aliases.isEmpty()) {
+                        return oracle ? "ORDERED" : "Set(join_collapse_limit 1)";
+                    } else if (oracle) {
+                        return "LEADING(" + tables + ")";
+                    }
+
+                    String order = aliases.get(0);
+                    for (int i = 1; i < aliases.size(); i++) {
+                        order = "(" + order + " " + aliases.get(i) + ")";
+                    }
+
+                    return "Leading(" + order + ")";
+                case NO_MERGE:
+                    // pg_hint_plan has no equivalent, subqueries are kept apart by materialized CTEs instead
+                    if (!oracle) {
+                        return null;
+                    }
+
+                    return aliases.isEmpty() ? "NO_MERGE" : "NO_MERGE(" + tables + ")";
+                default:
+                    return null;
+            }
+        }
+
+        private void assignAliases(Select select) {
+            select.getFrom().forEach(this::getOrCreateAlias);
+            select.getJoins().forEach(join -> getOrCreateAlias(join.getTable()));
+        }
+
+        private record Fragment(SqlObject object, String sql, List<Placeholder> placeholders, boolean aliased) {
+        }
+
+        private static class SortKeyAliasGenerator implements AliasGenerator {
+            private int counter;
+
+            @Override
+            public String current() {
+                return "$" + counter;
+            }
+
+            @Override
+            public String next() {
+                return "$" + ++counter;
+            }
+
+            @Override
+            public void reset() {
+                counter = 0;
+            }
+        }
+
+        private class Recording {
+            private final QueryStatement<?> statement;
+            private final QueryStatement.Clause clause;
+            private final long modificationCount;
+            private final int level = Processor.this.level;
+            private final int length = builder.length();
+            private final int nodes = Processor.this.nodes;
+            private final int placeholderCount = Processor.this.placeholderCount;
+            private final int placeholderSize = placeholders != null ? placeholders.size() : 0;
+            private final int generatedAliases = Processor.this.generatedAliases;
+            private final int leadingHints = Processor.this.leadingHints.size();
+            private final Map<Table, AliasLookup> aliases = new IdentityHashMap<>();
+            private final Map<SqlObject, Long> dependencies = new IdentityHashMap<>();
+
+            Recording(QueryStatement<?> statement, QueryStatement.Clause clause) {
+                this.statement = statement;
+                this.clause = clause;
+                modificationCount = statement.getModificationCount(clause);
+            }
+        }
+    }
+
+    private record Settings(boolean upperCaseKeywords, SqlBuildOptions.IdentifierCase identifierCase,
+                            String identifierDelimiter, String newline, String indent, boolean stableAliases,
+                            boolean canonical, boolean liftLiterals, SqlBuildOptions.HintDialect hintDialect,
+                            int maxListSize, boolean useJdbcEscapeNotation, PlaceholderBuilder placeholderBuilder) {
+    }
+
+    private record AliasLookup(Table table, String alias, String explicitAlias, boolean created) {
     }
 
-    @FunctionalInterface
-    private interface ObjectBuilder {
-        void build();
+    private record ClauseEntry(Settings settings, long modificationCount, int level, int generatedAliasesBefore,
+                               int placeholderCountBefore, String sql, List<Placeholder> placeholders, int nodes,
+                               int placeholderCount, int generatedAliases, List<String> hints,
+                               List<AliasLookup> aliases, Map<SqlObject, Long> dependencies) {
     }
 
-    @FunctionalInterface
-    private interface PrefixBuilder<T, Integer, String> {
-        String build(T object, Integer index);
+    private static class ClauseCache {
+        private final Map<QueryStatement<?>, ClauseEntry[]> entries = new WeakHashMap<>();
+
+        synchronized ClauseEntry get(QueryStatement<?> statement, QueryStatement.Clause clause) {
+            ClauseEntry[] clauses = entries.get(statement);
+            return clauses != null ? clauses[clause.ordinal()] : null;
+        }
+
+        synchronized void put(QueryStatement<?> statement, QueryStatement.Clause clause, ClauseEntry entry) {
+            entries.computeIfAbsent(statement, k -> new ClauseEntry[QueryStatement.Clause.values().length])
+                    [clause.ordinal()] = entry;
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    private static class Truncation extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private static final Truncation INSTANCE = new Truncation();
+
+        private Truncation() {
+            super(null, null, false, false);
+        }
     }
 }
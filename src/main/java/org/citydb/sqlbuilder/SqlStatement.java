@@ -0,0 +1,100 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.sqlbuilder;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+
+import java.util.*;
+
+public class SqlStatement {
+    private static final int[] NO_POSITIONS = new int[0];
+    private final String sql;
+    private final List<Placeholder> placeholders;
+    private final Map<String, int[]> positions;
+
+    private SqlStatement(String sql, List<Placeholder> placeholders) {
+        this.sql = Objects.requireNonNull(sql, "The SQL string must not be null.");
+        this.placeholders = Collections.unmodifiableList(placeholders);
+        positions = buildPositions(placeholders);
+    }
+
+    static SqlStatement of(String sql, List<Placeholder> placeholders) {
+        return new SqlStatement(sql, placeholders);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Placeholder> getPlaceholders() {
+        return placeholders;
+    }
+
+    public int getPlaceholderCount() {
+        return placeholders.size();
+    }
+
+    public Placeholder getPlaceholder(int position) {
+        return placeholders.get(position - 1);
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(positions.keySet());
+    }
+
+    public boolean hasName(String name) {
+        return positions.containsKey(name);
+    }
+
+    public int[] getPositions(String name) {
+        return positions.getOrDefault(name, NO_POSITIONS).clone();
+    }
+
+    public int getPosition(String name) {
+        int[] positions = this.positions.getOrDefault(name, NO_POSITIONS);
+        return positions.length > 0 ? positions[0] : -1;
+    }
+
+    private Map<String, int[]> buildPositions(List<Placeholder> placeholders) {
+        Map<String, int[]> positions = new HashMap<>();
+        for (int i = 0; i < placeholders.size(); i++) {
+            String name = placeholders.get(i).getName().orElse(null);
+            if (name != null) {
+                int[] current = positions.get(name);
+                if (current == null) {
+                    positions.put(name, new int[]{i + 1});
+                } else {
+                    int[] extended = Arrays.copyOf(current, current.length + 1);
+                    extended[current.length] = i + 1;
+                    positions.put(name, extended);
+                }
+            }
+        }
+
+        return positions;
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
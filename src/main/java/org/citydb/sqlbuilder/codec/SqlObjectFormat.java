@@ -0,0 +1,116 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.codec;
+
+final class SqlObjectFormat {
+    static final int MAGIC = 0x53514c42;
+    static final int VERSION = 1;
+
+    static final int TYPE_MASK = 0x3f;
+    static final int FLAG = 0x40;
+    static final int ALIASED = 0x80;
+
+    static final int NULL = 0;
+    static final int REFERENCE = 1;
+    static final int ARITHMETIC_OPERATION = 2;
+    static final int BETWEEN = 3;
+    static final int BINARY_COMPARISON_OPERATION = 4;
+    static final int BINARY_LOGICAL_OPERATION = 5;
+    static final int BOOLEAN_LITERAL = 6;
+    static final int CASE = 7;
+    static final int CAST = 8;
+    static final int COLLATE = 9;
+    static final int COLUMN = 10;
+    static final int COMMON_TABLE_EXPRESSION = 11;
+    static final int DATE_LITERAL = 12;
+    static final int DOUBLE_LITERAL = 13;
+    static final int EXISTS = 14;
+    static final int FRAME = 15;
+    static final int FUNCTION = 16;
+    static final int IN = 17;
+    static final int INTEGER_LITERAL = 18;
+    static final int IS_NULL = 19;
+    static final int JOIN = 20;
+    static final int LIKE = 21;
+    static final int LITERAL_LIST = 22;
+    static final int NOT = 23;
+    static final int NULL_LITERAL = 24;
+    static final int ORDER_BY = 25;
+    static final int PLACEHOLDER = 26;
+    static final int PLAIN_SQL = 27;
+    static final int SELECT = 28;
+    static final int SET_OPERATOR = 29;
+    static final int SUB_QUERY_OPERATOR = 30;
+    static final int STRING_LITERAL = 31;
+    static final int TABLE = 32;
+    static final int TIMESTAMP_LITERAL = 33;
+    static final int UPDATE = 34;
+    static final int UPDATE_VALUE = 35;
+    static final int WILDCARD_COLUMN = 36;
+    static final int WINDOW = 37;
+    static final int WINDOW_FUNCTION = 38;
+
+    static final int PART_SELECT = 1;
+    static final int PART_FROM = 1 << 1;
+    static final int PART_JOINS = 1 << 2;
+    static final int PART_WHERE = 1 << 3;
+    static final int PART_ORDER_BY = 1 << 4;
+    static final int PART_GROUP_BY = 1 << 5;
+    static final int PART_WITH = 1 << 6;
+    static final int PART_HAVING = 1 << 7;
+    static final int PART_WINDOW = 1 << 8;
+    static final int PART_OFFSET = 1 << 9;
+    static final int PART_FETCH = 1 << 10;
+    static final int PART_HINTS = 1 << 11;
+    static final int PART_OPTIMIZER_HINTS = 1 << 12;
+    static final int PART_WITH_RECURSIVE = 1 << 13;
+
+    static final int VALUE_NULL = 0;
+    static final int VALUE_OBJECT = 1;
+    static final int VALUE_STRING = 2;
+    static final int VALUE_BOOLEAN = 3;
+    static final int VALUE_BYTE = 4;
+    static final int VALUE_SHORT = 5;
+    static final int VALUE_INTEGER = 6;
+    static final int VALUE_LONG = 7;
+    static final int VALUE_FLOAT = 8;
+    static final int VALUE_DOUBLE = 9;
+    static final int VALUE_BIG_INTEGER = 10;
+    static final int VALUE_BIG_DECIMAL = 11;
+    static final int VALUE_DATE = 12;
+    static final int VALUE_SQL_DATE = 13;
+    static final int VALUE_SQL_TIME = 14;
+    static final int VALUE_TIMESTAMP = 15;
+    static final int VALUE_LOCAL_DATE = 16;
+    static final int VALUE_LOCAL_TIME = 17;
+    static final int VALUE_LOCAL_DATE_TIME = 18;
+    static final int VALUE_OFFSET_DATE_TIME = 19;
+    static final int VALUE_INSTANT = 20;
+    static final int VALUE_UUID = 21;
+    static final int VALUE_BYTES = 22;
+    static final int VALUE_ARRAY = 23;
+    static final int VALUE_LIST = 24;
+
+    private SqlObjectFormat() {
+    }
+}
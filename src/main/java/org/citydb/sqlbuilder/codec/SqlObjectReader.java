@@ -0,0 +1,628 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.codec;
+
+import org.citydb.sqlbuilder.common.Expression;
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.function.Cast;
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.function.WindowFunction;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.literal.*;
+import org.citydb.sqlbuilder.operation.*;
+import org.citydb.sqlbuilder.query.*;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.schema.WildcardColumn;
+import org.citydb.sqlbuilder.update.Update;
+import org.citydb.sqlbuilder.update.UpdateValue;
+import org.citydb.sqlbuilder.util.ArrayValue;
+import org.citydb.sqlbuilder.util.PlainSql;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.citydb.sqlbuilder.codec.SqlObjectFormat.*;
+
+public class SqlObjectReader {
+
+    private SqlObjectReader() {
+    }
+
+    public static SqlObjectReader newInstance() {
+        return new SqlObjectReader();
+    }
+
+    public SqlObject read(byte[] bytes) {
+        Objects.requireNonNull(bytes, "The byte array must not be null.");
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    public <T extends SqlObject> T read(byte[] bytes, Class<T> type) {
+        return cast(read(bytes), type);
+    }
+
+    public SqlObject read(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "The byte buffer must not be null.");
+        try {
+            Decoder decoder = new Decoder(buffer);
+            if (decoder.readFixedInt() != MAGIC) {
+                throw new IllegalArgumentException("The input does not contain a serialized SQL object.");
+            }
+
+            int version = decoder.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported serialization format version " + version + ".");
+            }
+
+            return decoder.readNode(SqlObject.class);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Unexpected end of input.", e);
+        }
+    }
+
+    public <T extends SqlObject> T read(ByteBuffer buffer, Class<T> type) {
+        return cast(read(buffer), type);
+    }
+
+    public SqlObject read(DataInput input) throws IOException {
+        Objects.requireNonNull(input, "The data input must not be null.");
+        int size = input.readInt();
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid serialized object size " + size + ".");
+        }
+
+        byte[] bytes = new byte[size];
+        input.readFully(bytes);
+        return read(bytes);
+    }
+
+    public <T extends SqlObject> T read(DataInput input, Class<T> type) throws IOException {
+        return cast(read(input), type);
+    }
+
+    private static <T> T cast(Object object, Class<T> type) {
+        if (object != null && !type.isInstance(object)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + " but found " +
+                    object.getClass().getSimpleName() + ".");
+        }
+
+        return type.cast(object);
+    }
+
+    private static class Decoder {
+        private final ByteBuffer buffer;
+        private final List<Object> objects = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        <T> T readNode(Class<T> type) {
+            int tag = readByte();
+            if (tag == NULL) {
+                return null;
+            } else if (tag == REFERENCE) {
+                int id = readVarInt();
+                Object object = id < objects.size() ? objects.get(id) : null;
+                if (object == null) {
+                    throw new IllegalArgumentException("Invalid object reference " + id + ".");
+                }
+
+                return cast(object, type);
+            } else {
+                int id = objects.size();
+                objects.add(null);
+                Object object = readNode(tag & TYPE_MASK, tag);
+                objects.set(id, object);
+                return cast(object, type);
+            }
+        }
+
+        <T> List<T> readNodes(Class<T> type) {
+            int size = readSize();
+            List<T> nodes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                nodes.add(readNode(type));
+            }
+
+            return nodes;
+        }
+
+        <T> List<T> readNodes(Class<T> type, int parts, int part) {
+            return (parts & part) != 0 ? readNodes(type) : new ArrayList<>();
+        }
+
+        void readQueryStatement(QueryStatement<?> statement, int parts) {
+            statement.getGroupBy().addAll(readNodes(Column.class, parts, PART_GROUP_BY));
+            statement.getHaving().addAll(readNodes(Expression.class, parts, PART_HAVING));
+            statement.getWindow().addAll(readNodes(Window.class, parts, PART_WINDOW));
+            statement.getOrderBy().addAll(readNodes(OrderBy.class, parts, PART_ORDER_BY));
+            Literal<?> offset = (parts & PART_OFFSET) != 0 ? readNode(Literal.class) : null;
+            Literal<?> fetch = (parts & PART_FETCH) != 0 ? readNode(Literal.class) : null;
+            statement.offset(offset, fetch);
+        }
+
+        private Object readNode(int type, int flags) {
+            switch (type) {
+                case ARITHMETIC_OPERATION:
+                    return ArithmeticOperation.of(readNode(ScalarExpression.class), readString(),
+                            readNode(ScalarExpression.class)).as(readAlias(flags));
+                case BETWEEN:
+                    return Between.of(readNode(ScalarExpression.class), readNode(ScalarExpression.class),
+                            readNode(ScalarExpression.class), readFlag(flags)).as(readAlias(flags));
+                case BINARY_COMPARISON_OPERATION:
+                    return BinaryComparisonOperation.of(readNode(ScalarExpression.class), readString(),
+                            readNode(ScalarExpression.class)).as(readAlias(flags));
+                case BINARY_LOGICAL_OPERATION:
+                    return BinaryLogicalOperation.of(readString(), readNodes(BooleanExpression.class))
+                            .as(readAlias(flags));
+                case BOOLEAN_LITERAL:
+                    return BooleanLiteral.of(readLiteralValue(flags, this::readBoolean))
+                            .as(readAlias(flags));
+                case CASE:
+                    return readCase(flags);
+                case CAST:
+                    return Cast.of(readNode(Expression.class), readString()).as(readAlias(flags));
+                case COLLATE:
+                    return Collate.of(readNode(Expression.class), readString());
+                case COLUMN:
+                    return Column.of(readNode(Table.class), readString(), readAlias(flags));
+                case COMMON_TABLE_EXPRESSION:
+                    return readCommonTableExpression();
+                case DATE_LITERAL:
+                    return DateLiteral.of(readLiteralValue(flags, () -> new java.sql.Date(readVarLong())))
+                            .as(readAlias(flags));
+                case DOUBLE_LITERAL:
+                    return DoubleLiteral.of(readLiteralValue(flags, () -> Double.longBitsToDouble(readFixedLong())))
+                            .as(readAlias(flags));
+                case EXISTS:
+                    return Exists.of(readNode(QueryExpression.class), readFlag(flags)).as(readAlias(flags));
+                case FRAME:
+                    return Frame.of(readString(), readString(), readNode(Literal.class), readString(),
+                            readNode(Literal.class));
+                case FUNCTION:
+                    return readFunction(flags);
+                case IN:
+                    return In.of(readNode(Expression.class), readNode(QueryExpression.class), readFlag(flags))
+                            .as(readAlias(flags));
+                case INTEGER_LITERAL:
+                    return IntegerLiteral.of(readLiteralValue(flags, this::readVarLong))
+                            .as(readAlias(flags));
+                case IS_NULL:
+                    return IsNull.of(readNode(Expression.class), readFlag(flags)).as(readAlias(flags));
+                case JOIN:
+                    return readJoin(flags);
+                case LIKE:
+                    return Like.of(readNode(Expression.class), readNode(ScalarExpression.class),
+                            readNode(StringLiteral.class), readFlag(flags)).as(readAlias(flags));
+                case LITERAL_LIST:
+                    return readLiteralList();
+                case NOT:
+                    return Not.of(readNode(BooleanExpression.class)).as(readAlias(flags));
+                case NULL_LITERAL:
+                    return NullLiteral.getInstance().as(readAlias(flags));
+                case ORDER_BY:
+                    return OrderBy.of(readNode(Selection.class), readString(), readString());
+                case PLACEHOLDER:
+                    return readPlaceholder(flags);
+                case PLAIN_SQL:
+                    return PlainSql.of(readString(), readValues().toArray()).as(readAlias(flags));
+                case SELECT:
+                    return readSelect(flags);
+                case SET_OPERATOR:
+                    return readSetOperator();
+                case SUB_QUERY_OPERATOR:
+                    return SubQueryOperator.of(readString(), readNode(QueryExpression.class));
+                case STRING_LITERAL:
+                    return StringLiteral.of(readString()).as(readAlias(flags));
+                case TABLE:
+                    return readTable(flags);
+                case TIMESTAMP_LITERAL:
+                    return TimestampLiteral.of(readLiteralValue(flags, this::readTimestamp))
+                            .as(readAlias(flags));
+                case UPDATE:
+                    return readUpdate(flags);
+                case UPDATE_VALUE:
+                    return UpdateValue.of(readNode(Column.class), readNode(Expression.class));
+                case WILDCARD_COLUMN:
+                    Table table = readNode(Table.class);
+                    return table != null ? WildcardColumn.of(table) : Column.WILDCARD;
+                case WINDOW:
+                    return Window.of(readString(), readNodes(Expression.class), readNodes(OrderBy.class),
+                            readNode(Frame.class), readString());
+                case WINDOW_FUNCTION:
+                    return WindowFunction.of(readNode(Function.class), readNode(Window.class), readAlias(flags));
+                default:
+                    throw new IllegalArgumentException("Unknown object type " + type + ".");
+            }
+        }
+
+        private boolean readFlag(int flags) {
+            return (flags & FLAG) != 0;
+        }
+
+        private String readAlias(int flags) {
+            return (flags & ALIASED) != 0 ? readString() : null;
+        }
+
+        private <T> T readLiteralValue(int flags, Supplier<T> reader) {
+            return (flags & FLAG) != 0 ? reader.get() : null;
+        }
+
+        private Case readCase(int flags) {
+            int size = readSize();
+            Map<BooleanExpression, Expression> conditions = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                conditions.put(readNode(BooleanExpression.class), readNode(Expression.class));
+            }
+
+            return Case.of(conditions, readNode(Expression.class), readAlias(flags));
+        }
+
+        private CommonTableExpression readCommonTableExpression() {
+            CommonTableExpression expression = CommonTableExpression.of(readString(),
+                    readNode(QueryExpression.class), readStrings());
+            int materialized = readByte();
+            if (materialized != 0) {
+                expression.materialized(materialized == 1);
+            }
+
+            objects.add(expression.asTable());
+            return expression;
+        }
+
+        private Function readFunction(int flags) {
+            String name = readString();
+            String schema = readString();
+            List<String> qualifiers = readStrings();
+            Function function = Function.of(name, readNodes(Expression.class))
+                    .setSchema(schema)
+                    .as(readAlias(flags));
+            function.getQualifiers().addAll(qualifiers);
+            return function;
+        }
+
+        private Join readJoin(int flags) {
+            String type = readString();
+            Table table = readNode(Table.class);
+            Join join;
+            if (readFlag(flags)) {
+                join = Join.of(type, readNode(Column.class), readString(), readNode(Column.class));
+            } else {
+                join = Join.of(type, table);
+            }
+
+            join.getConditions().addAll(readNodes(BooleanExpression.class));
+            return join;
+        }
+
+        private LiteralList readLiteralList() {
+            LiteralList literalList = LiteralList.empty();
+            for (int i = 0, size = readSize(); i < size; i++) {
+                literalList.add(readNode(Literal.class));
+            }
+
+            return literalList;
+        }
+
+        private Placeholder readPlaceholder(int flags) {
+            Placeholder placeholder = Placeholder.of(readValue())
+                    .setName(readString())
+                    .as(readAlias(flags));
+            if ((flags & FLAG) != 0) {
+                for (int i = 0, size = readSize(); i < size; i++) {
+                    placeholder.getUserProperties().set(readString(), readValue());
+                }
+            }
+
+            return placeholder;
+        }
+
+        private Select readSelect(int flags) {
+            Select select = Select.newInstance().distinct(readFlag(flags));
+            int parts = readVarInt();
+
+            if ((parts & PART_HINTS) != 0) {
+                select.getHints().addAll(readStrings());
+            }
+
+            CommonTableExpression[] with = readNodes(CommonTableExpression.class, parts, PART_WITH)
+                    .toArray(new CommonTableExpression[0]);
+            if ((parts & PART_WITH_RECURSIVE) != 0) {
+                select.withRecursive(with);
+            } else {
+                select.with(with);
+            }
+
+            for (Selection<?> selection : readNodes(Selection.class, parts, PART_SELECT)) {
+                select.getSelect().add(selection);
+            }
+
+            select.getFrom().addAll(readNodes(Table.class, parts, PART_FROM));
+            select.getJoins().addAll(readNodes(Join.class, parts, PART_JOINS));
+            select.getWhere().addAll(readNodes(BooleanExpression.class, parts, PART_WHERE));
+            readQueryStatement(select, parts);
+            select.as(readAlias(flags));
+            if ((parts & PART_OPTIMIZER_HINTS) != 0) {
+                select.getOptimizerHints().addAll(readOptimizerHints());
+            }
+
+            return select;
+        }
+
+        private SetOperator readSetOperator() {
+            SetOperator operator = SetOperator.of(readString(), readNodes(Select.class));
+            readQueryStatement(operator, readVarInt());
+            return operator;
+        }
+
+        private Table readTable(int flags) {
+            String name = readString();
+            String schema = readString();
+            boolean isLateral = readFlag(flags);
+            QueryExpression expression = readNode(QueryExpression.class);
+            Table table;
+            if (expression == null) {
+                table = Table.of(name, schema);
+            } else if (expression instanceof Select select) {
+                table = isLateral ? Table.lateral(select) : Table.of(select);
+            } else if (expression instanceof SetOperator operator) {
+                table = Table.of(operator);
+            } else if (expression instanceof Function function) {
+                table = Table.of(function);
+            } else {
+                throw new IllegalArgumentException("Unsupported table expression " +
+                        expression.getClass().getSimpleName() + ".");
+            }
+
+            return table.alias(readAlias(flags));
+        }
+
+        private Update readUpdate(int flags) {
+            Update update = Update.newInstance();
+            boolean withRecursive = readFlag(flags);
+            CommonTableExpression[] with = readNodes(CommonTableExpression.class)
+                    .toArray(new CommonTableExpression[0]);
+            if (withRecursive) {
+                update.withRecursive(with);
+            } else {
+                update.with(with);
+            }
+
+            update.table(readNode(Table.class));
+            update.getSet().addAll(readNodes(UpdateValue.class));
+            update.getWhere().addAll(readNodes(BooleanExpression.class));
+            update.getHints().addAll(readStrings());
+            update.getOptimizerHints().addAll(readOptimizerHints());
+
+            return update;
+        }
+
+        private List<OptimizerHint> readOptimizerHints() {
+            List<OptimizerHint> hints = new ArrayList<>();
+            for (int i = 0, size = readSize(); i < size; i++) {
+                int type = readByte();
+                if (type >= OptimizerHint.Type.values().length) {
+                    throw new IllegalArgumentException("Unknown optimizer hint type " + type + ".");
+                }
+
+                hints.add(OptimizerHint.of(OptimizerHint.Type.values()[type], readNodes(Table.class),
+                        readStrings(), readVarInt()));
+            }
+
+            return hints;
+        }
+
+        private Object readValue() {
+            int tag = readByte();
+            switch (tag) {
+                case VALUE_NULL:
+                    return null;
+                case VALUE_OBJECT:
+                    return readNode(SqlObject.class);
+                case VALUE_STRING:
+                    return readString();
+                case VALUE_BOOLEAN:
+                    return readBoolean();
+                case VALUE_BYTE:
+                    return (byte) readByte();
+                case VALUE_SHORT:
+                    return (short) readVarLong();
+                case VALUE_INTEGER:
+                    return (int) readVarLong();
+                case VALUE_LONG:
+                    return readVarLong();
+                case VALUE_FLOAT:
+                    return Float.intBitsToFloat(readFixedInt());
+                case VALUE_DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case VALUE_BIG_INTEGER:
+                    return new BigInteger(readBytes());
+                case VALUE_BIG_DECIMAL:
+                    int scale = (int) readVarLong();
+                    return new BigDecimal(new BigInteger(readBytes()), scale);
+                case VALUE_DATE:
+                    return new Date(readVarLong());
+                case VALUE_SQL_DATE:
+                    return new java.sql.Date(readVarLong());
+                case VALUE_SQL_TIME:
+                    return new Time(readVarLong());
+                case VALUE_TIMESTAMP:
+                    return readTimestamp();
+                case VALUE_LOCAL_DATE:
+                    return LocalDate.ofEpochDay(readVarLong());
+                case VALUE_LOCAL_TIME:
+                    return LocalTime.ofNanoOfDay(readVarLong());
+                case VALUE_LOCAL_DATE_TIME:
+                    return LocalDateTime.of(LocalDate.ofEpochDay(readVarLong()),
+                            LocalTime.ofNanoOfDay(readVarLong()));
+                case VALUE_OFFSET_DATE_TIME:
+                    Instant instant = Instant.ofEpochSecond(readVarLong(), readVarInt());
+                    return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds((int) readVarLong()));
+                case VALUE_INSTANT:
+                    return Instant.ofEpochSecond(readVarLong(), readVarInt());
+                case VALUE_UUID:
+                    return new UUID(readFixedLong(), readFixedLong());
+                case VALUE_BYTES:
+                    return readBytes();
+                case VALUE_ARRAY:
+                    return readArrayValue();
+                case VALUE_LIST:
+                    return readValues();
+                default:
+                    throw new IllegalArgumentException("Unknown value type " + tag + ".");
+            }
+        }
+
+        private Timestamp readTimestamp() {
+            Timestamp timestamp = new Timestamp(readVarLong());
+            timestamp.setNanos(readVarInt());
+            return timestamp;
+        }
+
+        private List<Object> readValues() {
+            int size = readSize();
+            List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readValue());
+            }
+
+            return values;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private ArrayValue readArrayValue() {
+            String elementType = readString();
+            try {
+                Class type = Class.forName(elementType, false, SqlObjectReader.class.getClassLoader());
+                return ArrayValue.of((Collection) readValues(), type);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unknown array element type " + elementType + ".", e);
+            }
+        }
+
+        private String readString() {
+            int index = readVarInt();
+            if (index == 0) {
+                return null;
+            } else if (index == 1) {
+                String value = new String(readBytes(), StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            } else if (index - 2 < strings.size()) {
+                return strings.get(index - 2);
+            } else {
+                throw new IllegalArgumentException("Invalid string reference " + index + ".");
+            }
+        }
+
+        private List<String> readStrings() {
+            int size = readSize();
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+
+            return values;
+        }
+
+        private boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        private int readByte() {
+            return buffer.get() & 0xff;
+        }
+
+        private byte[] readBytes() {
+            byte[] bytes = new byte[readSize()];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        private int readSize() {
+            int size = readVarInt();
+            if (size < 0 || size > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid element count " + size + ".");
+            }
+
+            return size;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+
+            throw new IllegalArgumentException("Malformed variable-length integer.");
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                long b = readByte();
+                value |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return (value >>> 1) ^ -(value & 1);
+                }
+            }
+
+            throw new IllegalArgumentException("Malformed variable-length integer.");
+        }
+
+        private int readFixedInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | readByte();
+            }
+
+            return value;
+        }
+
+        private long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+
+            return value;
+        }
+    }
+}
@@ -0,0 +1,746 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.codec;
+
+import org.citydb.sqlbuilder.common.Expression;
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlVisitor;
+import org.citydb.sqlbuilder.function.Cast;
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.function.WindowFunction;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.literal.*;
+import org.citydb.sqlbuilder.operation.*;
+import org.citydb.sqlbuilder.query.*;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.schema.WildcardColumn;
+import org.citydb.sqlbuilder.update.Update;
+import org.citydb.sqlbuilder.update.UpdateValue;
+import org.citydb.sqlbuilder.util.ArrayValue;
+import org.citydb.sqlbuilder.util.PlainSql;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.*;
+
+import static org.citydb.sqlbuilder.codec.SqlObjectFormat.*;
+
+public class SqlObjectWriter {
+
+    private SqlObjectWriter() {
+    }
+
+    public static SqlObjectWriter newInstance() {
+        return new SqlObjectWriter();
+    }
+
+    public byte[] write(SqlObject object) {
+        Encoder encoder = encode(object);
+        return Arrays.copyOf(encoder.buffer, encoder.size);
+    }
+
+    public void write(SqlObject object, ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "The byte buffer must not be null.");
+        Encoder encoder = encode(object);
+        buffer.put(encoder.buffer, 0, encoder.size);
+    }
+
+    public void write(SqlObject object, DataOutput output) throws IOException {
+        Objects.requireNonNull(output, "The data output must not be null.");
+        Encoder encoder = encode(object);
+        output.writeInt(encoder.size);
+        output.write(encoder.buffer, 0, encoder.size);
+    }
+
+    private Encoder encode(SqlObject object) {
+        Objects.requireNonNull(object, "The SQL object must not be null.");
+        Encoder encoder = new Encoder();
+        encoder.writeFixedInt(MAGIC);
+        encoder.writeByte(VERSION);
+        encoder.writeNode(object);
+        return encoder;
+    }
+
+    private static class Encoder implements SqlVisitor {
+        private final Map<Object, Integer> objects = new IdentityHashMap<>();
+        private final Map<String, Integer> strings = new HashMap<>();
+        private byte[] buffer = new byte[256];
+        private int size;
+        private int nextId;
+
+        void writeNode(SqlObject object) {
+            if (object == null) {
+                writeByte(NULL);
+            } else {
+                Integer id = objects.putIfAbsent(object, nextId);
+                if (id != null) {
+                    writeByte(REFERENCE);
+                    writeVarInt(id);
+                } else {
+                    nextId++;
+                    object.accept(this);
+                }
+            }
+        }
+
+        void writeNodes(List<? extends SqlObject> objects) {
+            writeVarInt(objects.size());
+            for (SqlObject object : objects) {
+                writeNode(object);
+            }
+        }
+
+        void writeNodes(List<? extends SqlObject> objects, int parts, int part) {
+            if ((parts & part) != 0) {
+                writeNodes(objects);
+            }
+        }
+
+        void writeTag(int type, boolean flag, String alias) {
+            writeByte(type | (flag ? FLAG : 0) | (alias != null ? ALIASED : 0));
+        }
+
+        void writeAlias(String alias) {
+            if (alias != null) {
+                writeString(alias);
+            }
+        }
+
+        int part(List<?> values, int part) {
+            return values.isEmpty() ? 0 : part;
+        }
+
+        int getParts(QueryStatement<?> statement) {
+            return part(statement.getGroupBy(), PART_GROUP_BY)
+                    | part(statement.getHaving(), PART_HAVING)
+                    | part(statement.getWindow(), PART_WINDOW)
+                    | part(statement.getOrderBy(), PART_ORDER_BY)
+                    | (statement.getOffset().isPresent() ? PART_OFFSET : 0)
+                    | (statement.getFetch().isPresent() ? PART_FETCH : 0);
+        }
+
+        void writeQueryStatement(QueryStatement<?> statement, int parts) {
+            writeNodes(statement.getGroupBy(), parts, PART_GROUP_BY);
+            writeNodes(statement.getHaving(), parts, PART_HAVING);
+            writeNodes(statement.getWindow(), parts, PART_WINDOW);
+            writeNodes(statement.getOrderBy(), parts, PART_ORDER_BY);
+            if ((parts & PART_OFFSET) != 0) {
+                writeNode(statement.getOffset().orElse(null));
+            }
+
+            if ((parts & PART_FETCH) != 0) {
+                writeNode(statement.getFetch().orElse(null));
+            }
+        }
+
+        void writeOptimizerHints(List<OptimizerHint> hints) {
+            writeVarInt(hints.size());
+            for (OptimizerHint hint : hints) {
+                writeByte(hint.getType().ordinal());
+                writeNodes(hint.getTables());
+                writeStrings(hint.getIndexes());
+                writeVarInt(hint.getDegree());
+            }
+        }
+
+        void writeValue(Object value, boolean lenient) {
+            if (value == null) {
+                writeByte(VALUE_NULL);
+            } else if (value instanceof SqlObject object) {
+                writeByte(VALUE_OBJECT);
+                writeNode(object);
+            } else if (value instanceof String string) {
+                writeByte(VALUE_STRING);
+                writeString(string);
+            } else if (value instanceof Boolean bool) {
+                writeByte(VALUE_BOOLEAN);
+                writeBoolean(bool);
+            } else if (value instanceof Byte number) {
+                writeByte(VALUE_BYTE);
+                writeByte(number);
+            } else if (value instanceof Short number) {
+                writeByte(VALUE_SHORT);
+                writeVarLong(number);
+            } else if (value instanceof Integer number) {
+                writeByte(VALUE_INTEGER);
+                writeVarLong(number);
+            } else if (value instanceof Long number) {
+                writeByte(VALUE_LONG);
+                writeVarLong(number);
+            } else if (value instanceof Float number) {
+                writeByte(VALUE_FLOAT);
+                writeFixedInt(Float.floatToRawIntBits(number));
+            } else if (value instanceof Double number) {
+                writeByte(VALUE_DOUBLE);
+                writeFixedLong(Double.doubleToRawLongBits(number));
+            } else if (value instanceof BigInteger number) {
+                writeByte(VALUE_BIG_INTEGER);
+                writeBytes(number.toByteArray());
+            } else if (value instanceof BigDecimal number) {
+                writeByte(VALUE_BIG_DECIMAL);
+                writeVarLong(number.scale());
+                writeBytes(number.unscaledValue().toByteArray());
+            } else if (value instanceof Timestamp timestamp) {
+                writeByte(VALUE_TIMESTAMP);
+                writeVarLong(timestamp.getTime());
+                writeVarInt(timestamp.getNanos());
+            } else if (value instanceof java.sql.Date date) {
+                writeByte(VALUE_SQL_DATE);
+                writeVarLong(date.getTime());
+            } else if (value instanceof Time time) {
+                writeByte(VALUE_SQL_TIME);
+                writeVarLong(time.getTime());
+            } else if (value instanceof Date date) {
+                writeByte(VALUE_DATE);
+                writeVarLong(date.getTime());
+            } else if (value instanceof LocalDate date) {
+                writeByte(VALUE_LOCAL_DATE);
+                writeVarLong(date.toEpochDay());
+            } else if (value instanceof LocalTime time) {
+                writeByte(VALUE_LOCAL_TIME);
+                writeVarLong(time.toNanoOfDay());
+            } else if (value instanceof LocalDateTime dateTime) {
+                writeByte(VALUE_LOCAL_DATE_TIME);
+                writeVarLong(dateTime.toLocalDate().toEpochDay());
+                writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+            } else if (value instanceof OffsetDateTime dateTime) {
+                writeByte(VALUE_OFFSET_DATE_TIME);
+                writeVarLong(dateTime.toEpochSecond());
+                writeVarInt(dateTime.getNano());
+                writeVarLong(dateTime.getOffset().getTotalSeconds());
+            } else if (value instanceof Instant instant) {
+                writeByte(VALUE_INSTANT);
+                writeVarLong(instant.getEpochSecond());
+                writeVarInt(instant.getNano());
+            } else if (value instanceof UUID uuid) {
+                writeByte(VALUE_UUID);
+                writeFixedLong(uuid.getMostSignificantBits());
+                writeFixedLong(uuid.getLeastSignificantBits());
+            } else if (value instanceof byte[] bytes) {
+                writeByte(VALUE_BYTES);
+                writeBytes(bytes);
+            } else if (value instanceof ArrayValue array) {
+                writeByte(VALUE_ARRAY);
+                writeString(array.getElementType().getName());
+                writeValues(array.getValues(), lenient);
+            } else if (value instanceof Collection<?> collection) {
+                writeByte(VALUE_LIST);
+                writeValues(collection, lenient);
+            } else if (lenient) {
+                writeByte(VALUE_STRING);
+                writeString(value.toString());
+            } else {
+                throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName() + ".");
+            }
+        }
+
+        void writeValues(Collection<?> values, boolean lenient) {
+            writeVarInt(values.size());
+            for (Object value : values) {
+                writeValue(value, lenient);
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+            } else {
+                Integer index = strings.putIfAbsent(value, strings.size());
+                if (index != null) {
+                    writeVarInt(index + 2);
+                } else {
+                    writeVarInt(1);
+                    writeBytes(value.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        void writeStrings(List<String> values) {
+            writeVarInt(values.size());
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7f) != 0) {
+                buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            value = (value << 1) ^ (value >> 63);
+            while ((value & ~0x7fL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+
+            buffer[size++] = (byte) value;
+        }
+
+        void writeFixedInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + length));
+            }
+        }
+
+        @Override
+        public void visit(ArithmeticOperation operation) {
+            String alias = operation.getAlias().orElse(null);
+            writeTag(ARITHMETIC_OPERATION, false, alias);
+            writeNode(operation.getLeftOperand());
+            writeString(operation.getOperator());
+            writeNode(operation.getRightOperand());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Between between) {
+            String alias = between.getAlias().orElse(null);
+            writeTag(BETWEEN, between.isNegate(), alias);
+            writeNode(between.getOperand());
+            writeNode(between.getLowerBound());
+            writeNode(between.getUpperBound());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(BinaryComparisonOperation operation) {
+            String alias = operation.getAlias().orElse(null);
+            writeTag(BINARY_COMPARISON_OPERATION, false, alias);
+            writeNode(operation.getLeftOperand());
+            writeString(operation.getOperator());
+            writeNode(operation.getRightOperand());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(BinaryLogicalOperation operation) {
+            String alias = operation.getAlias().orElse(null);
+            writeTag(BINARY_LOGICAL_OPERATION, false, alias);
+            writeString(operation.getOperator());
+            writeNodes(operation.getOperands());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(BooleanLiteral literal) {
+            String alias = literal.getAlias().orElse(null);
+            Boolean value = literal.getValueOrNull();
+            writeTag(BOOLEAN_LITERAL, value != null, alias);
+            if (value != null) {
+                writeBoolean(value);
+            }
+
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Case expression) {
+            String alias = expression.getAlias().orElse(null);
+            writeTag(CASE, false, alias);
+            writeVarInt(expression.getConditions().size());
+            for (Map.Entry<BooleanExpression, Expression> entry : expression.getConditions().entrySet()) {
+                writeNode(entry.getKey());
+                writeNode(entry.getValue());
+            }
+
+            writeNode(expression.getElse().orElse(null));
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Cast cast) {
+            String alias = cast.getAlias().orElse(null);
+            writeTag(CAST, false, alias);
+            writeNode(cast.getExpression());
+            writeString(cast.getTargetType());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Collate collate) {
+            writeByte(COLLATE);
+            writeNode(collate.getExpression());
+            writeString(collate.getCollation());
+        }
+
+        @Override
+        public void visit(Column column) {
+            String alias = column.getAlias().orElse(null);
+            writeTag(COLUMN, false, alias);
+            writeNode(column.getTable());
+            writeString(column.getName());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(CommonTableExpression expression) {
+            writeByte(COMMON_TABLE_EXPRESSION);
+            writeString(expression.getName());
+            writeNode(expression.getQueryExpression());
+            writeStrings(expression.getColumns());
+            writeByte(expression.getMaterialized().map(materialized -> materialized ? 1 : 2).orElse(0));
+            if (objects.putIfAbsent(expression.asTable(), nextId) == null) {
+                nextId++;
+            }
+        }
+
+        @Override
+        public void visit(DateLiteral literal) {
+            String alias = literal.getAlias().orElse(null);
+            java.sql.Date value = literal.getValueOrNull();
+            writeTag(DATE_LITERAL, value != null, alias);
+            if (value != null) {
+                writeVarLong(value.getTime());
+            }
+
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(DoubleLiteral literal) {
+            String alias = literal.getAlias().orElse(null);
+            Double value = literal.getValueOrNull();
+            writeTag(DOUBLE_LITERAL, value != null, alias);
+            if (value != null) {
+                writeFixedLong(Double.doubleToRawLongBits(value));
+            }
+
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Exists exists) {
+            String alias = exists.getAlias().orElse(null);
+            writeTag(EXISTS, exists.isNegate(), alias);
+            writeNode(exists.getOperand());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Frame frame) {
+            writeByte(FRAME);
+            writeString(frame.getUnits());
+            writeString(frame.getStart());
+            writeNode(frame.getStartExpression().orElse(null));
+            writeString(frame.getEnd().orElse(null));
+            writeNode(frame.getEndExpression().orElse(null));
+        }
+
+        @Override
+        public void visit(Function function) {
+            String alias = function.getAlias().orElse(null);
+            writeTag(FUNCTION, false, alias);
+            writeString(function.getName());
+            writeString(function.getSchema().orElse(null));
+            writeStrings(function.getQualifiers());
+            writeNodes(function.getArguments());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(In in) {
+            String alias = in.getAlias().orElse(null);
+            writeTag(IN, in.isNegate(), alias);
+            writeNode(in.getLeftOperand());
+            writeNode(in.getRightOperand());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(IntegerLiteral literal) {
+            String alias = literal.getAlias().orElse(null);
+            Long value = literal.getValueOrNull();
+            writeTag(INTEGER_LITERAL, value != null, alias);
+            if (value != null) {
+                writeVarLong(value);
+            }
+
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(IsNull isNull) {
+            String alias = isNull.getAlias().orElse(null);
+            writeTag(IS_NULL, isNull.isNegate(), alias);
+            writeNode(isNull.getOperand());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Join join) {
+            List<BooleanExpression> conditions = join.getConditions();
+            Column toColumn = join.getToColumn().orElse(null);
+            Column fromColumn = join.getFromColumn().orElse(null);
+            if (toColumn != null
+                    && fromColumn != null
+                    && !conditions.isEmpty()
+                    && conditions.get(0) instanceof BinaryComparisonOperation operation
+                    && operation.getLeftOperand() == toColumn
+                    && operation.getRightOperand() == fromColumn) {
+                writeTag(JOIN, true, null);
+                writeString(join.getType());
+                writeNode(join.getTable());
+                writeNode(toColumn);
+                writeString(operation.getOperator());
+                writeNode(fromColumn);
+                writeNodes(conditions.subList(1, conditions.size()));
+            } else {
+                writeTag(JOIN, false, null);
+                writeString(join.getType());
+                writeNode(join.getTable());
+                writeNodes(conditions);
+            }
+        }
+
+        @Override
+        public void visit(Like like) {
+            String alias = like.getAlias().orElse(null);
+            writeTag(LIKE, like.isNegate(), alias);
+            writeNode(like.getOperand());
+            writeNode(like.getPattern());
+            writeNode(like.getEscapeCharacter().orElse(null));
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(LiteralList literalList) {
+            writeByte(LITERAL_LIST);
+            writeNodes(literalList.getLiterals());
+        }
+
+        @Override
+        public void visit(Not not) {
+            String alias = not.getAlias().orElse(null);
+            writeTag(NOT, false, alias);
+            writeNode(not.getOperand());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(NullLiteral literal) {
+            String alias = literal.getAlias().orElse(null);
+            writeTag(NULL_LITERAL, false, alias);
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(OrderBy orderBy) {
+            writeByte(ORDER_BY);
+            writeNode(orderBy.getSortExpression());
+            writeString(orderBy.getSortOrder());
+            writeString(orderBy.getNullOrder().orElse(null));
+        }
+
+        @Override
+        public void visit(Placeholder placeholder) {
+            String alias = placeholder.getAlias().orElse(null);
+            writeTag(PLACEHOLDER, placeholder.hasUserProperties(), alias);
+            writeValue(placeholder.getValueOrNull(), false);
+            writeString(placeholder.getName().orElse(null));
+            writeAlias(alias);
+            if (placeholder.hasUserProperties()) {
+                Set<String> names = placeholder.getUserProperties().getNames();
+                writeVarInt(names.size());
+                for (String name : names) {
+                    writeString(name);
+                    writeValue(placeholder.getUserProperties().get(name), false);
+                }
+            }
+        }
+
+        @Override
+        public void visit(PlainSql plainSql) {
+            String alias = plainSql.getAlias().orElse(null);
+            writeTag(PLAIN_SQL, false, alias);
+            writeString(plainSql.getSql());
+            writeValues(plainSql.getTokens(), true);
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Select select) {
+            String alias = select.getAlias().orElse(null);
+            writeTag(SELECT, select.isDistinct(), alias);
+            int parts = part(select.getHints(), PART_HINTS)
+                    | part(select.getWith(), PART_WITH)
+                    | part(select.getSelect(), PART_SELECT)
+                    | part(select.getFrom(), PART_FROM)
+                    | part(select.getJoins(), PART_JOINS)
+                    | part(select.getWhere(), PART_WHERE)
+                    | part(select.getOptimizerHints(), PART_OPTIMIZER_HINTS)
+                    | (select.isWithRecursive() ? PART_WITH_RECURSIVE : 0)
+                    | getParts(select);
+            writeVarInt(parts);
+            if ((parts & PART_HINTS) != 0) {
+                writeStrings(select.getHints());
+            }
+
+            writeNodes(select.getWith(), parts, PART_WITH);
+            writeNodes(select.getSelect(), parts, PART_SELECT);
+            writeNodes(select.getFrom(), parts, PART_FROM);
+            writeNodes(select.getJoins(), parts, PART_JOINS);
+            writeNodes(select.getWhere(), parts, PART_WHERE);
+            writeQueryStatement(select, parts);
+            writeAlias(alias);
+            if ((parts & PART_OPTIMIZER_HINTS) != 0) {
+                writeOptimizerHints(select.getOptimizerHints());
+            }
+        }
+
+        @Override
+        public void visit(SetOperator operator) {
+            writeByte(SET_OPERATOR);
+            writeString(operator.getType());
+            writeNodes(operator.getOperands());
+            int parts = getParts(operator);
+            writeVarInt(parts);
+            writeQueryStatement(operator, parts);
+        }
+
+        @Override
+        public void visit(SubQueryOperator operator) {
+            writeByte(SUB_QUERY_OPERATOR);
+            writeString(operator.getOperator());
+            writeNode(operator.getOperand());
+        }
+
+        @Override
+        public void visit(StringLiteral literal) {
+            String alias = literal.getAlias().orElse(null);
+            writeTag(STRING_LITERAL, false, alias);
+            writeString(literal.getValueOrNull());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Table table) {
+            String alias = table.getAliasOrNull();
+            writeTag(TABLE, table.isLateral(), alias);
+            writeString(table.getName());
+            writeString(table.getSchemaOrNull());
+            writeNode(table.getQueryExpressionOrNull());
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(TimestampLiteral literal) {
+            String alias = literal.getAlias().orElse(null);
+            Timestamp value = literal.getValueOrNull();
+            writeTag(TIMESTAMP_LITERAL, value != null, alias);
+            if (value != null) {
+                writeVarLong(value.getTime());
+                writeVarInt(value.getNanos());
+            }
+
+            writeAlias(alias);
+        }
+
+        @Override
+        public void visit(Update update) {
+            writeTag(UPDATE, update.isWithRecursive(), null);
+            writeNodes(update.getWith());
+            writeNode(update.getTable().orElse(null));
+            writeNodes(update.getSet());
+            writeNodes(update.getWhere());
+            writeStrings(update.getHints());
+            writeOptimizerHints(update.getOptimizerHints());
+        }
+
+        @Override
+        public void visit(UpdateValue value) {
+            writeByte(UPDATE_VALUE);
+            writeNode(value.getColumn());
+            writeNode(value.getValue());
+        }
+
+        @Override
+        public void visit(WildcardColumn column) {
+            writeByte(WILDCARD_COLUMN);
+            writeNode(column.getTable().orElse(null));
+        }
+
+        @Override
+        public void visit(Window window) {
+            writeByte(WINDOW);
+            writeString(window.getName().orElse(null));
+            writeNodes(window.getPartitionBy());
+            writeNodes(window.getOrderBy());
+            writeNode(window.getFrame().orElse(null));
+            writeString(window.getReference().orElse(null));
+        }
+
+        @Override
+        public void visit(WindowFunction function) {
+            String alias = function.getAlias().orElse(null);
+            writeTag(WINDOW_FUNCTION, false, alias);
+            writeNode(function.getFunction());
+            writeNode(function.getWindow());
+            writeAlias(alias);
+        }
+    }
+}
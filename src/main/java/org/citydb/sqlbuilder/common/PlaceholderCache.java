@@ -0,0 +1,90 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.common;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlaceholderCache {
+    private List<Placeholder> placeholders;
+    private List<SqlObject> nodes;
+    private long[] modificationCounts;
+
+    private PlaceholderCache() {
+    }
+
+    public static PlaceholderCache newInstance() {
+        return new PlaceholderCache();
+    }
+
+    public List<Placeholder> get(SqlObject object) {
+        if (placeholders == null || isModified()) {
+            collect(object);
+        }
+
+        return new ArrayList<>(placeholders);
+    }
+
+    public void clear() {
+        placeholders = null;
+        nodes = null;
+        modificationCounts = null;
+    }
+
+    private boolean isModified() {
+        for (int i = 0; i < modificationCounts.length; i++) {
+            if (nodes.get(i).getModificationCount() != modificationCounts[i]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void collect(SqlObject object) {
+        List<Placeholder> placeholders = new ArrayList<>();
+        List<SqlObject> nodes = new ArrayList<>();
+        object.accept(new SqlWalker() {
+            @Override
+            public void visit(SqlObject object) {
+                nodes.add(object);
+            }
+
+            @Override
+            public void visit(Placeholder placeholder) {
+                placeholders.add(placeholder);
+                super.visit(placeholder);
+            }
+        });
+
+        modificationCounts = new long[nodes.size()];
+        for (int i = 0; i < modificationCounts.length; i++) {
+            modificationCounts[i] = nodes.get(i).getModificationCount();
+        }
+
+        this.placeholders = placeholders;
+        this.nodes = nodes;
+    }
+}
@@ -23,6 +23,7 @@ package org.citydb.sqlbuilder.common;
 
 import org.citydb.sqlbuilder.SqlBuildOptions;
 import org.citydb.sqlbuilder.SqlBuilder;
+import org.citydb.sqlbuilder.SqlStatement;
 import org.citydb.sqlbuilder.literal.Placeholder;
 
 import java.util.ArrayList;
@@ -31,6 +32,10 @@ import java.util.List;
 public interface SqlObject {
     void accept(SqlVisitor visitor);
 
+    default long getModificationCount() {
+        return 0;
+    }
+
     default List<Placeholder> getPlaceholders() {
         List<Placeholder> placeholders = new ArrayList<>();
         accept(new SqlWalker() {
@@ -50,4 +55,16 @@ public interface SqlObject {
     default String toSql() {
         return toSql(SqlBuildOptions.defaults());
     }
+
+    default String toSummary() {
+        return toSql(SqlBuildOptions.summary());
+    }
+
+    default SqlStatement toStatement(SqlBuildOptions options) {
+        return SqlBuilder.newInstance().buildStatement(this, options);
+    }
+
+    default SqlStatement toStatement() {
+        return toStatement(SqlBuildOptions.defaults());
+    }
 }
@@ -33,6 +33,7 @@ public class Cast implements ColumnExpression, Selection<Cast> {
     private final Expression expression;
     private final String targetType;
     private String alias;
+    private long modificationCount;
 
     private Cast(Expression expression, String targetType) {
         this.expression = Objects.requireNonNull(expression, "The expression must not be null.");
@@ -56,12 +57,23 @@ public class Cast implements ColumnExpression, Selection<Cast> {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Cast as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -69,6 +81,6 @@ public class Cast implements ColumnExpression, Selection<Cast> {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
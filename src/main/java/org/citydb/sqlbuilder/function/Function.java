@@ -37,6 +37,7 @@ public class Function implements BooleanExpression, ColumnExpression, Selection<
     private final List<String> qualifiers = new ArrayList<>();
     private String schema;
     private String alias;
+    private long modificationCount;
 
     protected Function(String name, String alias, List<? extends Expression> arguments) {
         this.name = Objects.requireNonNull(name, "The name must not be null.");
@@ -70,6 +71,7 @@ public class Function implements BooleanExpression, ColumnExpression, Selection<
 
     public Function qualifier(String qualifier) {
         qualifiers.add(qualifier);
+        modificationCount++;
         return this;
     }
 
@@ -79,6 +81,7 @@ public class Function implements BooleanExpression, ColumnExpression, Selection<
 
     public Function setSchema(String schema) {
         this.schema = schema;
+        modificationCount++;
         return this;
     }
 
@@ -87,9 +90,15 @@ public class Function implements BooleanExpression, ColumnExpression, Selection<
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Function as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
@@ -102,6 +111,7 @@ public class Function implements BooleanExpression, ColumnExpression, Selection<
             arguments.stream()
                     .filter(Objects::nonNull)
                     .forEach(this.arguments::add);
+            modificationCount++;
         }
 
         return this;
@@ -123,6 +133,11 @@ public class Function implements BooleanExpression, ColumnExpression, Selection<
         return WindowFunction.of(this, builder.apply(Window.newInstance()));
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -130,6 +145,6 @@ public class Function implements BooleanExpression, ColumnExpression, Selection<
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -32,6 +32,7 @@ public class WindowFunction implements Selection<WindowFunction> {
     private final Function function;
     private final Window window;
     private String alias;
+    private long modificationCount;
 
     private WindowFunction(Function function, Window window, String alias) {
         this.function = Objects.requireNonNull(function, "The function must not be null.");
@@ -68,12 +69,23 @@ public class WindowFunction implements Selection<WindowFunction> {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public WindowFunction as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -81,6 +93,6 @@ public class WindowFunction implements Selection<WindowFunction> {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -0,0 +1,316 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.SqlBuildOptions;
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.common.SqlObject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+public class AsyncSqlExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final boolean ownedExecutor;
+    private final boolean virtualThreads;
+    private final Map<DataSource, Limiter> limiters = new WeakHashMap<>();
+    private SqlBuildOptions buildOptions = SqlBuildOptions.defaults();
+    private StatementBinder binder = StatementBinder.newInstance();
+    private int maxConcurrency = 16;
+
+    private AsyncSqlExecutor(ExecutorService executor, boolean ownedExecutor, boolean virtualThreads) {
+        this.executor = executor;
+        this.ownedExecutor = ownedExecutor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public static AsyncSqlExecutor newInstance() {
+        ExecutorService executor = newVirtualThreadExecutor();
+        return executor != null ?
+                new AsyncSqlExecutor(executor, true, true) :
+                new AsyncSqlExecutor(Executors.newCachedThreadPool(AsyncSqlExecutor::newThread), true, false);
+    }
+
+    public static AsyncSqlExecutor of(ExecutorService executor) {
+        return new AsyncSqlExecutor(Objects.requireNonNull(executor, "The executor must not be null."),
+                false, false);
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public SqlBuildOptions getBuildOptions() {
+        return buildOptions;
+    }
+
+    public AsyncSqlExecutor setBuildOptions(SqlBuildOptions buildOptions) {
+        this.buildOptions = Objects.requireNonNull(buildOptions, "The build options must not be null.");
+        return this;
+    }
+
+    public StatementBinder getStatementBinder() {
+        return binder;
+    }
+
+    public AsyncSqlExecutor setStatementBinder(StatementBinder binder) {
+        this.binder = Objects.requireNonNull(binder, "The statement binder must not be null.");
+        return this;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public AsyncSqlExecutor setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The maximum concurrency must be positive.");
+        }
+
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    public AsyncSqlExecutor setMaxConcurrency(DataSource dataSource, int maxConcurrency) {
+        Objects.requireNonNull(dataSource, "The data source must not be null.");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The maximum concurrency must be positive.");
+        }
+
+        List<Task> started;
+        synchronized (limiters) {
+            Limiter limiter = limiters.get(dataSource);
+            if (limiter == null) {
+                limiters.put(dataSource, new Limiter(maxConcurrency));
+                return this;
+            }
+
+            started = limiter.setMaxConcurrency(maxConcurrency);
+        }
+
+        started.forEach(this::start);
+        return this;
+    }
+
+    public int getAvailablePermits(DataSource dataSource) {
+        synchronized (limiters) {
+            Limiter limiter = limiters.get(dataSource);
+            return limiter != null ? limiter.getAvailablePermits() : maxConcurrency;
+        }
+    }
+
+    public <T> CompletableFuture<List<T>> query(DataSource dataSource, SqlObject query, RowMapper<? extends T> mapper) {
+        Objects.requireNonNull(query, "The query must not be null.");
+        return query(dataSource, query.toStatement(buildOptions), mapper);
+    }
+
+    public <T> CompletableFuture<List<T>> query(DataSource dataSource, SqlStatement statement, RowMapper<? extends T> mapper) {
+        Objects.requireNonNull(statement, "The SQL statement must not be null.");
+        Objects.requireNonNull(mapper, "The row mapper must not be null.");
+        StatementBinder binder = this.binder;
+        List<Object> values = binder.getValues(statement);
+        return execute(dataSource, connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(statement.getSql())) {
+                StatementBinder.Bindings bindings = binder.bind(preparedStatement, values);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    List<T> rows = new ArrayList<>();
+                    while (resultSet.next()) {
+                        rows.add(mapper.map(resultSet));
+                    }
+
+                    return rows;
+                } finally {
+                    bindings.close();
+                }
+            }
+        });
+    }
+
+    public <T> CompletableFuture<Optional<T>> queryFirst(DataSource dataSource, SqlObject query, RowMapper<? extends T> mapper) {
+        Objects.requireNonNull(query, "The query must not be null.");
+        Objects.requireNonNull(mapper, "The row mapper must not be null.");
+        SqlStatement statement = query.toStatement(buildOptions);
+        StatementBinder binder = this.binder;
+        List<Object> values = binder.getValues(statement);
+        return execute(dataSource, connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(statement.getSql())) {
+                preparedStatement.setMaxRows(1);
+                StatementBinder.Bindings bindings = binder.bind(preparedStatement, values);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    return resultSet.next() ? Optional.ofNullable(mapper.map(resultSet)) : Optional.empty();
+                } finally {
+                    bindings.close();
+                }
+            }
+        });
+    }
+
+    public CompletableFuture<Integer> update(DataSource dataSource, SqlObject statement) {
+        Objects.requireNonNull(statement, "The statement must not be null.");
+        return update(dataSource, statement.toStatement(buildOptions));
+    }
+
+    public CompletableFuture<Integer> update(DataSource dataSource, SqlStatement statement) {
+        Objects.requireNonNull(statement, "The SQL statement must not be null.");
+        StatementBinder binder = this.binder;
+        List<Object> values = binder.getValues(statement);
+        return execute(dataSource, connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(statement.getSql())) {
+                StatementBinder.Bindings bindings = binder.bind(preparedStatement, values);
+                try {
+                    return preparedStatement.executeUpdate();
+                } finally {
+                    bindings.close();
+                }
+            }
+        });
+    }
+
+    public <T> CompletableFuture<T> execute(DataSource dataSource, ConnectionCallback<? extends T> callback) {
+        Objects.requireNonNull(dataSource, "The data source must not be null.");
+        Objects.requireNonNull(callback, "The connection callback must not be null.");
+        Limiter limiter = getLimiter(dataSource);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Task task = new Task(limiter, future, () -> {
+            try (Connection connection = dataSource.getConnection()) {
+                T result = callback.apply(connection);
+                return () -> future.complete(result);
+            } catch (Exception e) {
+                return () -> future.completeExceptionally(e);
+            }
+        });
+
+        // a permit is taken before the task is handed to the executor, so waiting tasks never hold a thread
+        if (limiter.tryAcquire(task)) {
+            start(task);
+        }
+
+        return future;
+    }
+
+    @Override
+    public void close() {
+        if (ownedExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private Limiter getLimiter(DataSource dataSource) {
+        synchronized (limiters) {
+            return limiters.computeIfAbsent(dataSource, k -> new Limiter(maxConcurrency));
+        }
+    }
+
+    private void start(Task task) {
+        while (task != null) {
+            Task current = task;
+            try {
+                executor.execute(() -> run(current));
+                return;
+            } catch (RejectedExecutionException e) {
+                task.future.completeExceptionally(e);
+                task = task.limiter.next();
+            }
+        }
+    }
+
+    private void run(Task task) {
+        // queued tasks of the same data source run on this thread instead of occupying another one
+        while (task != null) {
+            Runnable completion = task.work.get();
+            // the permit is given up before the future completes, so dependent calls can take it right away
+            Task next = task.limiter.next();
+            completion.run();
+            task = next;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "async-sql");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Task(Limiter limiter, CompletableFuture<?> future, Supplier<Runnable> work) {
+    }
+
+    private static class Limiter {
+        private final Queue<Task> queue = new ArrayDeque<>();
+        private int maxConcurrency;
+        private int active;
+
+        Limiter(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        synchronized boolean tryAcquire(Task task) {
+            if (active < maxConcurrency) {
+                active++;
+                return true;
+            }
+
+            queue.add(task);
+            return false;
+        }
+
+        synchronized Task next() {
+            if (active <= maxConcurrency) {
+                Task task = queue.poll();
+                if (task != null) {
+                    return task;
+                }
+            }
+
+            active--;
+            return null;
+        }
+
+        synchronized List<Task> setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            List<Task> started = new ArrayList<>();
+            while (active < maxConcurrency && !queue.isEmpty()) {
+                active++;
+                started.add(queue.poll());
+            }
+
+            return started;
+        }
+
+        synchronized int getAvailablePermits() {
+            return Math.max(0, maxConcurrency - active);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.SqlBuildOptions;
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.common.Expression;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.*;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.util.ArrayValue;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class BatchLookupExecutor<K, V> implements AutoCloseable {
+    private final DataSource dataSource;
+    private final Select template;
+    private final Placeholder ids;
+    private final Class<K> idType;
+    private final RowMapper<? extends K> idMapper;
+    private final RowMapper<? extends V> rowMapper;
+    private final Object lock = new Object();
+    private List<Request<K, V>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduled;
+    private SqlBuildOptions buildOptions = SqlBuildOptions.defaults();
+    private StatementBinder binder = StatementBinder.newInstance();
+    private ScheduledExecutorService scheduler;
+    private Executor executor;
+    private ExecutorService ownedExecutor;
+    private boolean ownedScheduler;
+    private int maxBatchSize = 1000;
+    private long maxDelay = TimeUnit.MILLISECONDS.toNanos(2);
+    private volatile SqlStatement statement;
+    private boolean closed;
+
+    private BatchLookupExecutor(DataSource dataSource, Select template, Column idColumn, Class<K> idType,
+                                RowMapper<? extends K> idMapper, RowMapper<? extends V> rowMapper) {
+        this.dataSource = Objects.requireNonNull(dataSource, "The data source must not be null.");
+        this.template = Select.of(Objects.requireNonNull(template, "The template must not be null."));
+        this.idType = Objects.requireNonNull(idType, "The id type must not be null.");
+        this.idMapper = Objects.requireNonNull(idMapper, "The id mapper must not be null.");
+        this.rowMapper = Objects.requireNonNull(rowMapper, "The row mapper must not be null.");
+        ids = Placeholder.empty();
+        rewrite(this.template, Objects.requireNonNull(idColumn, "The id column must not be null."));
+    }
+
+    public static <K, V> BatchLookupExecutor<K, V> of(DataSource dataSource, Select template, Column idColumn,
+                                                      Class<K> idType, RowMapper<? extends K> idMapper,
+                                                      RowMapper<? extends V> rowMapper) {
+        return new BatchLookupExecutor<>(dataSource, template, idColumn, idType, idMapper, rowMapper);
+    }
+
+    public SqlStatement getStatement() {
+        SqlStatement statement = this.statement;
+        if (statement == null) {
+            synchronized (lock) {
+                statement = this.statement;
+                if (statement == null) {
+                    this.statement = statement = template.toStatement(buildOptions);
+                }
+            }
+        }
+
+        return statement;
+    }
+
+    public SqlBuildOptions getBuildOptions() {
+        return buildOptions;
+    }
+
+    public BatchLookupExecutor<K, V> setBuildOptions(SqlBuildOptions buildOptions) {
+        synchronized (lock) {
+            this.buildOptions = Objects.requireNonNull(buildOptions, "The build options must not be null.");
+            statement = null;
+        }
+
+        return this;
+    }
+
+    public StatementBinder getStatementBinder() {
+        return binder;
+    }
+
+    public BatchLookupExecutor<K, V> setStatementBinder(StatementBinder binder) {
+        this.binder = Objects.requireNonNull(binder, "The statement binder must not be null.");
+        return this;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public BatchLookupExecutor<K, V> setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be positive.");
+        }
+
+        synchronized (lock) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        return this;
+    }
+
+    public Duration getMaxDelay() {
+        return Duration.ofNanos(maxDelay);
+    }
+
+    public BatchLookupExecutor<K, V> setMaxDelay(Duration maxDelay) {
+        Objects.requireNonNull(maxDelay, "The maximum delay must not be null.");
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("The maximum delay must not be negative.");
+        }
+
+        synchronized (lock) {
+            this.maxDelay = maxDelay.toNanos();
+        }
+
+        return this;
+    }
+
+    public BatchLookupExecutor<K, V> setScheduler(ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(scheduler, "The scheduler must not be null.");
+        synchronized (lock) {
+            if (ownedScheduler) {
+                this.scheduler.shutdown();
+                ownedScheduler = false;
+            }
+
+            this.scheduler = scheduler;
+        }
+
+        return this;
+    }
+
+    public BatchLookupExecutor<K, V> setExecutor(Executor executor) {
+        Objects.requireNonNull(executor, "The executor must not be null.");
+        synchronized (lock) {
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+                ownedExecutor = null;
+            }
+
+            this.executor = executor;
+        }
+
+        return this;
+    }
+
+    public CompletableFuture<List<V>> lookup(K id) {
+        Objects.requireNonNull(id, "The id must not be null.");
+        CompletableFuture<List<V>> future = new CompletableFuture<>();
+        List<Request<K, V>> batch = null;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The lookup executor has been closed.");
+            }
+
+            pending.add(new Request<>(id, future));
+            if (pending.size() >= maxBatchSize) {
+                batch = drain();
+            } else if (scheduled == null) {
+                scheduled = getScheduler().schedule(this::flush, maxDelay, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (batch != null) {
+            submit(batch);
+        }
+
+        return future;
+    }
+
+    public CompletableFuture<Map<K, List<V>>> lookup(Collection<? extends K> ids) {
+        Objects.requireNonNull(ids, "The ids must not be null.");
+        Map<K, CompletableFuture<List<V>>> futures = new LinkedHashMap<>();
+        ids.forEach(id -> futures.computeIfAbsent(id, this::lookup));
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    Map<K, List<V>> result = new LinkedHashMap<>();
+                    futures.forEach((id, future) -> result.put(id, future.join()));
+                    return result;
+                });
+    }
+
+    public void flush() {
+        List<Request<K, V>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        synchronized (lock) {
+            closed = true;
+            if (ownedScheduler) {
+                scheduler.shutdown();
+            }
+
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+        }
+    }
+
+    private List<Request<K, V>> drain() {
+        List<Request<K, V>> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+
+        return batch;
+    }
+
+    private void submit(List<Request<K, V>> batch) {
+        try {
+            getExecutor().execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(request -> request.future.completeExceptionally(e));
+        }
+    }
+
+    private void execute(List<Request<K, V>> batch) {
+        Map<K, List<CompletableFuture<List<V>>>> requests = new LinkedHashMap<>();
+        batch.forEach(request -> requests.computeIfAbsent(request.id, k -> new ArrayList<>()).add(request.future));
+
+        try {
+            Map<K, List<V>> rows = new HashMap<>();
+            SqlStatement statement = getStatement();
+            List<Object> values = new ArrayList<>();
+            for (Placeholder placeholder : statement.getPlaceholders()) {
+                values.add(placeholder == ids ?
+                        ArrayValue.of(requests.keySet(), idType) :
+                        placeholder.getValueOrNull());
+            }
+
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(statement.getSql())) {
+                StatementBinder.Bindings bindings = binder.bind(preparedStatement, values);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        K id = idMapper.map(resultSet);
+                        if (requests.containsKey(id)) {
+                            rows.computeIfAbsent(id, k -> new ArrayList<>()).add(rowMapper.map(resultSet));
+                        }
+                    }
+                } finally {
+                    bindings.close();
+                }
+            }
+
+            requests.forEach((id, futures) -> {
+                List<V> result = rows.containsKey(id) ? Collections.unmodifiableList(rows.get(id)) : List.of();
+                futures.forEach(future -> future.complete(result));
+            });
+        } catch (Exception e) {
+            requests.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+
+    private ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(this::newThread);
+            ownedScheduler = true;
+        }
+
+        return scheduler;
+    }
+
+    private Executor getExecutor() {
+        synchronized (lock) {
+            if (executor == null) {
+                executor = ownedExecutor = Executors.newCachedThreadPool(this::newThread);
+            }
+
+            return executor;
+        }
+    }
+
+    private Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "batch-lookup");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void rewrite(Select template, Column idColumn) {
+        List<BooleanExpression> where = new ArrayList<>(template.getWhere());
+        if (!replace(where, idColumn)) {
+            throw new IllegalArgumentException("The template does not contain an in or equality predicate " +
+                    "on the id column.");
+        }
+
+        template.removeWhere().where(where.toArray(new BooleanExpression[0]));
+    }
+
+    private boolean replace(List<BooleanExpression> conditions, Column idColumn) {
+        for (int i = 0; i < conditions.size(); i++) {
+            BooleanExpression condition = conditions.get(i);
+            if (isIdPredicate(condition, idColumn)) {
+                conditions.set(i, BinaryComparisonOperation.of(idColumn, Operators.EQUAL_TO, Operators.any(ids)));
+                return true;
+            } else if (condition instanceof BinaryLogicalOperation operation
+                    && Operators.AND.equalsIgnoreCase(operation.getOperator())) {
+                BinaryLogicalOperation copy = BinaryLogicalOperation.of(operation.getOperator(),
+                        operation.getOperands()).as(operation.getAlias().orElse(null));
+                if (replace(copy.getOperands(), idColumn)) {
+                    conditions.set(i, copy);
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isIdPredicate(BooleanExpression condition, Column idColumn) {
+        if (condition instanceof In in) {
+            return !in.isNegate() && isIdColumn(in.getLeftOperand(), idColumn);
+        } else if (condition instanceof BinaryComparisonOperation operation) {
+            return Operators.EQUAL_TO.equals(operation.getOperator())
+                    && isIdColumn(operation.getLeftOperand(), idColumn)
+                    && operation.getRightOperand() instanceof Placeholder;
+        } else {
+            return false;
+        }
+    }
+
+    private boolean isIdColumn(Expression expression, Column idColumn) {
+        return expression == idColumn
+                || (expression instanceof Column column
+                && column.getTable() == idColumn.getTable()
+                && column.getName().equals(idColumn.getName()));
+    }
+
+    private record Request<K, V>(K id, CompletableFuture<List<V>> future) {
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.SqlStatement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PreparedStatementCache {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maxSize;
+
+    private PreparedStatementCache(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    public static PreparedStatementCache newInstance() {
+        return new PreparedStatementCache(64);
+    }
+
+    public static PreparedStatementCache newInstance(int maxSize) {
+        return new PreparedStatementCache(maxSize);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public PreparedStatementCache setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum cache size must be positive.");
+        }
+
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public Session open(Connection connection) {
+        return new Session(Objects.requireNonNull(connection, "The connection must not be null."));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total > 0 ? (double) hits / total : 0;
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", evictions=" + getEvictions();
+    }
+
+    public class Session implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private boolean closed;
+
+        private Session(Connection connection) {
+            this.connection = connection;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        public PreparedStatement prepare(SqlStatement statement) throws SQLException {
+            Objects.requireNonNull(statement, "The SQL statement must not be null.");
+            return prepare(statement.getSql());
+        }
+
+        public synchronized PreparedStatement prepare(String sql) throws SQLException {
+            Objects.requireNonNull(sql, "The SQL string must not be null.");
+            if (closed) {
+                throw new IllegalStateException("The statement cache session has been closed.");
+            }
+
+            Entry entry = entries.get(sql);
+            if (entry != null && !entry.leased && !entry.statement.isClosed()) {
+                hits.increment();
+                entry.reset();
+                return entry.lease();
+            }
+
+            misses.increment();
+            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+            if (entry != null && entry.leased) {
+                // the cached statement is still in use, so hand out a statement that is closed on release
+                return new Entry(preparedStatement, false).lease();
+            }
+
+            entry = new Entry(preparedStatement, true);
+            entries.put(sql, entry);
+            evict();
+            return entry.lease();
+        }
+
+        public synchronized boolean contains(String sql) {
+            return entries.containsKey(sql);
+        }
+
+        public synchronized int size() {
+            return entries.size();
+        }
+
+        public synchronized boolean isClosed() {
+            return closed;
+        }
+
+        public void evict(String sql) throws SQLException {
+            Entry entry;
+            synchronized (this) {
+                entry = entries.remove(sql);
+                if (entry == null) {
+                    return;
+                }
+
+                entry.cached = false;
+                if (entry.leased) {
+                    return;
+                }
+            }
+
+            entry.statement.close();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            List<Entry> released = new ArrayList<>();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+
+                closed = true;
+                for (Entry entry : entries.values()) {
+                    entry.cached = false;
+                    if (!entry.leased) {
+                        released.add(entry);
+                    }
+                }
+
+                entries.clear();
+            }
+
+            SQLException exception = null;
+            for (Entry entry : released) {
+                try {
+                    entry.statement.close();
+                } catch (SQLException e) {
+                    if (exception == null) {
+                        exception = e;
+                    } else {
+                        exception.addSuppressed(e);
+                    }
+                }
+            }
+
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        private void evict() {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                iterator.remove();
+                entry.cached = false;
+                evictions.increment();
+                if (!entry.leased) {
+                    try {
+                        entry.statement.close();
+                    } catch (SQLException e) {
+                        // the statement is dropped from the cache anyway
+                    }
+                }
+            }
+        }
+
+        private void release(Entry entry) throws SQLException {
+            synchronized (this) {
+                entry.leased = false;
+                if (entry.cached) {
+                    return;
+                }
+            }
+
+            entry.statement.close();
+        }
+
+        private class Entry {
+            private final PreparedStatement statement;
+            private final int maxRows;
+            private final int fetchSize;
+            private final int queryTimeout;
+            private final int fetchDirection;
+            private boolean cached;
+            private boolean leased;
+
+            Entry(PreparedStatement statement, boolean cached) throws SQLException {
+                this.statement = statement;
+                this.cached = cached;
+                maxRows = statement.getMaxRows();
+                fetchSize = statement.getFetchSize();
+                queryTimeout = statement.getQueryTimeout();
+                fetchDirection = statement.getFetchDirection();
+            }
+
+            void reset() throws SQLException {
+                // a previous lease may have changed the statement settings
+                statement.clearParameters();
+                statement.setMaxRows(maxRows);
+                statement.setFetchSize(fetchSize);
+                statement.setQueryTimeout(queryTimeout);
+                statement.setFetchDirection(fetchDirection);
+            }
+
+            PreparedStatement lease() {
+                leased = true;
+                return (PreparedStatement) Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class}, new Lease(this));
+            }
+        }
+
+        private class Lease implements InvocationHandler {
+            private final Entry entry;
+            private boolean released;
+
+            Lease(Entry entry) {
+                this.entry = entry;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!released) {
+                            released = true;
+                            release(entry);
+                        }
+
+                        return null;
+                    case "isClosed":
+                        return released || entry.statement.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return entry.statement.toString();
+                }
+
+                if (released) {
+                    throw new SQLException("The prepared statement has been returned to the cache.");
+                }
+
+                try {
+                    return method.invoke(entry.statement, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.function.Cast;
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.function.WindowFunction;
+import org.citydb.sqlbuilder.literal.Literal;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.Selection;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.WildcardColumn;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+
+public class ProjectionIndex {
+    private static final Map<String, Class<?>> CAST_TYPES = Map.ofEntries(
+            Map.entry("smallint", Integer.class),
+            Map.entry("int", Integer.class),
+            Map.entry("integer", Integer.class),
+            Map.entry("bigint", Long.class),
+            Map.entry("real", Float.class),
+            Map.entry("float", Double.class),
+            Map.entry("double precision", Double.class),
+            Map.entry("numeric", BigDecimal.class),
+            Map.entry("decimal", BigDecimal.class),
+            Map.entry("boolean", Boolean.class),
+            Map.entry("text", String.class),
+            Map.entry("varchar", String.class),
+            Map.entry("varchar2", String.class),
+            Map.entry("date", Date.class),
+            Map.entry("timestamp", Timestamp.class));
+
+    private final List<String> labels;
+    private final List<Class<?>> typeHints;
+    private final List<String> typeNames;
+    private final Map<String, Integer> positions;
+    private final boolean partial;
+
+    private ProjectionIndex(List<String> labels, List<Class<?>> typeHints, List<String> typeNames, boolean partial) {
+        this.labels = Collections.unmodifiableList(labels);
+        this.typeHints = typeHints;
+        this.typeNames = typeNames;
+        this.partial = partial;
+        positions = new HashMap<>();
+        for (int i = 0; i < labels.size(); i++) {
+            String label = labels.get(i);
+            if (label != null) {
+                positions.putIfAbsent(label.toLowerCase(Locale.ROOT), i + 1);
+                positions.putIfAbsent(normalize(label), i + 1);
+            }
+        }
+    }
+
+    public static ProjectionIndex of(Select select) {
+        Objects.requireNonNull(select, "The select must not be null.");
+        List<String> labels = new ArrayList<>();
+        List<Class<?>> typeHints = new ArrayList<>();
+        List<String> typeNames = new ArrayList<>();
+        boolean partial = select.getSelect().isEmpty();
+        for (Selection<?> selection : select.getSelect()) {
+            if (selection instanceof WildcardColumn) {
+                // the expanded columns are only known to the database, so later positions cannot be resolved
+                partial = true;
+                break;
+            }
+
+            labels.add(selection.getAlias().orElseGet(() -> getLabel(selection)));
+            String typeName = selection instanceof Cast cast ? cast.getTargetType() : null;
+            typeNames.add(typeName);
+            typeHints.add(getTypeHint(selection, typeName));
+        }
+
+        return new ProjectionIndex(labels, typeHints, typeNames, partial);
+    }
+
+    public int size() {
+        return labels.size();
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public boolean contains(String label) {
+        return find(label).isPresent();
+    }
+
+    public OptionalInt find(String label) {
+        if (label != null) {
+            Integer position = positions.get(label.toLowerCase(Locale.ROOT));
+            if (position == null) {
+                position = positions.get(normalize(label));
+            }
+
+            if (position != null) {
+                return OptionalInt.of(position);
+            }
+        }
+
+        if (partial) {
+            throw new IllegalStateException("The label '" + label + "' cannot be resolved because the " +
+                    "projection contains a wildcard.");
+        }
+
+        return OptionalInt.empty();
+    }
+
+    public int indexOf(String label) {
+        return find(label).orElseThrow(() -> new IllegalArgumentException("The label '" + label +
+                "' is not part of the projection."));
+    }
+
+    public Optional<Class<?>> getTypeHint(int index) {
+        return Optional.ofNullable(typeHints.get(index - 1));
+    }
+
+    public Optional<String> getTypeName(int index) {
+        return Optional.ofNullable(typeNames.get(index - 1));
+    }
+
+    public <T extends Record> RowMapper<T> recordMapper(Class<T> type) {
+        Objects.requireNonNull(type, "The record type must not be null.");
+        RecordComponent[] components = type.getRecordComponents();
+        if (components == null) {
+            throw new IllegalArgumentException(type.getName() + " is not a record type.");
+        }
+
+        Class<?>[] types = new Class<?>[components.length];
+        int[] indexes = new int[components.length];
+        Reader[] readers = new Reader[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            indexes[i] = indexOf(components[i].getName());
+            readers[i] = reader(types[i], typeHints.get(indexes[i] - 1));
+        }
+
+        Constructor<T> constructor;
+        try {
+            constructor = type.getDeclaredConstructor(types);
+            constructor.trySetAccessible();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Failed to find the canonical constructor of " + type.getName() + ".", e);
+        }
+
+        return resultSet -> {
+            Object[] arguments = new Object[readers.length];
+            for (int i = 0; i < readers.length; i++) {
+                arguments[i] = readers[i].read(resultSet, indexes[i]);
+            }
+
+            try {
+                return constructor.newInstance(arguments);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create an instance of " + type.getName() + ".", e);
+            }
+        };
+    }
+
+    private static String getLabel(Selection<?> selection) {
+        if (selection instanceof Column column) {
+            return column.getName();
+        } else if (selection instanceof Function function) {
+            return function.getName();
+        } else if (selection instanceof WindowFunction function) {
+            return function.getFunction().getName();
+        } else {
+            return null;
+        }
+    }
+
+    private static Class<?> getTypeHint(Selection<?> selection, String typeName) {
+        if (selection instanceof Literal<?> literal) {
+            Object value = literal.getValueOrNull();
+            return value != null ? value.getClass() : null;
+        } else if (typeName != null) {
+            String name = typeName.toLowerCase(Locale.ROOT);
+            int index = name.indexOf('(');
+            return CAST_TYPES.get((index != -1 ? name.substring(0, index) : name).trim());
+        } else {
+            return null;
+        }
+    }
+
+    private static String normalize(String label) {
+        StringBuilder builder = new StringBuilder(label.length());
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c != '_') {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static Reader reader(Class<?> type, Class<?> typeHint) {
+        if (type == long.class) {
+            return ResultSet::getLong;
+        } else if (type == int.class) {
+            return ResultSet::getInt;
+        } else if (type == double.class) {
+            return ResultSet::getDouble;
+        } else if (type == float.class) {
+            return ResultSet::getFloat;
+        } else if (type == short.class) {
+            return ResultSet::getShort;
+        } else if (type == byte.class) {
+            return ResultSet::getByte;
+        } else if (type == boolean.class) {
+            return ResultSet::getBoolean;
+        } else if (type == Long.class) {
+            return (resultSet, index) -> nullable(resultSet, resultSet.getLong(index));
+        } else if (type == Integer.class) {
+            return (resultSet, index) -> nullable(resultSet, resultSet.getInt(index));
+        } else if (type == Double.class) {
+            return (resultSet, index) -> nullable(resultSet, resultSet.getDouble(index));
+        } else if (type == Boolean.class) {
+            return (resultSet, index) -> nullable(resultSet, resultSet.getBoolean(index));
+        } else if (type == String.class) {
+            return ResultSet::getString;
+        } else if (type == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        } else if (type == byte[].class) {
+            return ResultSet::getBytes;
+        } else if (type == Object.class) {
+            return typeHint != null ?
+                    (resultSet, index) -> resultSet.getObject(index, typeHint) :
+                    ResultSet::getObject;
+        } else {
+            return (resultSet, index) -> resultSet.getObject(index, type);
+        }
+    }
+
+    private static Object nullable(ResultSet resultSet, Object value) throws SQLException {
+        return resultSet.wasNull() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface Reader {
+        Object read(ResultSet resultSet, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.util.ArrayValue;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+public class StatementBinder {
+    private static final Map<Class<?>, String> STANDARD_TYPE_NAMES = new HashMap<>();
+    private static final Map<Class<?>, String> POSTGRESQL_TYPE_NAMES = new HashMap<>();
+    private final Map<Class<?>, String> arrayTypeNames = new HashMap<>();
+
+    static {
+        STANDARD_TYPE_NAMES.put(Long.class, "BIGINT");
+        STANDARD_TYPE_NAMES.put(Integer.class, "INTEGER");
+        STANDARD_TYPE_NAMES.put(Short.class, "SMALLINT");
+        STANDARD_TYPE_NAMES.put(Double.class, "DOUBLE PRECISION");
+        STANDARD_TYPE_NAMES.put(Float.class, "REAL");
+        STANDARD_TYPE_NAMES.put(BigDecimal.class, "NUMERIC");
+        STANDARD_TYPE_NAMES.put(Boolean.class, "BOOLEAN");
+        STANDARD_TYPE_NAMES.put(String.class, "VARCHAR");
+        STANDARD_TYPE_NAMES.put(UUID.class, "UUID");
+        STANDARD_TYPE_NAMES.put(Date.class, "DATE");
+        STANDARD_TYPE_NAMES.put(LocalDate.class, "DATE");
+        STANDARD_TYPE_NAMES.put(Timestamp.class, "TIMESTAMP");
+        STANDARD_TYPE_NAMES.put(LocalDateTime.class, "TIMESTAMP");
+        STANDARD_TYPE_NAMES.put(OffsetDateTime.class, "TIMESTAMP WITH TIME ZONE");
+
+        POSTGRESQL_TYPE_NAMES.put(Long.class, "bigint");
+        POSTGRESQL_TYPE_NAMES.put(Integer.class, "integer");
+        POSTGRESQL_TYPE_NAMES.put(Short.class, "smallint");
+        POSTGRESQL_TYPE_NAMES.put(Double.class, "float8");
+        POSTGRESQL_TYPE_NAMES.put(Float.class, "float4");
+        POSTGRESQL_TYPE_NAMES.put(BigDecimal.class, "numeric");
+        POSTGRESQL_TYPE_NAMES.put(Boolean.class, "boolean");
+        POSTGRESQL_TYPE_NAMES.put(String.class, "text");
+        POSTGRESQL_TYPE_NAMES.put(UUID.class, "uuid");
+        POSTGRESQL_TYPE_NAMES.put(Date.class, "date");
+        POSTGRESQL_TYPE_NAMES.put(LocalDate.class, "date");
+        POSTGRESQL_TYPE_NAMES.put(Timestamp.class, "timestamp");
+        POSTGRESQL_TYPE_NAMES.put(LocalDateTime.class, "timestamp");
+        POSTGRESQL_TYPE_NAMES.put(OffsetDateTime.class, "timestamptz");
+    }
+
+    private StatementBinder() {
+    }
+
+    public static StatementBinder newInstance() {
+        return new StatementBinder();
+    }
+
+    public Optional<String> getArrayTypeName(Class<?> elementType) {
+        return Optional.ofNullable(arrayTypeNames.get(elementType));
+    }
+
+    public StatementBinder setArrayTypeName(Class<?> elementType, String typeName) {
+        Objects.requireNonNull(elementType, "The element type must not be null.");
+        if (typeName != null) {
+            arrayTypeNames.put(elementType, typeName);
+        } else {
+            arrayTypeNames.remove(elementType);
+        }
+
+        return this;
+    }
+
+    public List<Object> getValues(SqlStatement statement) {
+        List<Placeholder> placeholders = statement.getPlaceholders();
+        List<Object> values = new ArrayList<>(placeholders.size());
+        for (Placeholder placeholder : placeholders) {
+            values.add(placeholder.getValueOrNull());
+        }
+
+        return values;
+    }
+
+    public Bindings bind(SqlStatement statement, PreparedStatement preparedStatement) throws SQLException {
+        return bind(preparedStatement, getValues(statement));
+    }
+
+    public Bindings bind(SqlStatement statement, PreparedStatement preparedStatement, Map<String, ?> values) throws SQLException {
+        List<Placeholder> placeholders = statement.getPlaceholders();
+        List<Object> bound = new ArrayList<>(placeholders.size());
+        for (Placeholder placeholder : placeholders) {
+            String name = placeholder.getName().orElse(null);
+            bound.add(name != null && values.containsKey(name) ?
+                    values.get(name) :
+                    placeholder.getValueOrNull());
+        }
+
+        return bind(preparedStatement, bound);
+    }
+
+    public Bindings bind(PreparedStatement preparedStatement, List<?> values) throws SQLException {
+        Bindings bindings = new Bindings();
+        try {
+            for (int i = 0; i < values.size(); i++) {
+                bind(preparedStatement, i + 1, values.get(i), bindings);
+            }
+        } catch (SQLException | RuntimeException e) {
+            try {
+                bindings.close();
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+
+        return bindings;
+    }
+
+    public Bindings bind(PreparedStatement preparedStatement, int position, Object value) throws SQLException {
+        Bindings bindings = new Bindings();
+        bind(preparedStatement, position, value, bindings);
+        return bindings;
+    }
+
+    public Array createArray(Connection connection, ArrayValue value) throws SQLException {
+        String typeName = arrayTypeNames.get(value.getElementType());
+        if (typeName == null) {
+            typeName = (isPostgreSQL(connection) ? POSTGRESQL_TYPE_NAMES : STANDARD_TYPE_NAMES)
+                    .get(value.getElementType());
+            if (typeName == null) {
+                throw new SQLException("No SQL array type is registered for " +
+                        value.getElementType().getName() + ".");
+            }
+        }
+
+        return connection.createArrayOf(typeName, value.getValues().toArray());
+    }
+
+    private void bind(PreparedStatement preparedStatement, int position, Object value, Bindings bindings) throws SQLException {
+        if (value == null) {
+            preparedStatement.setObject(position, null);
+        } else if (value instanceof ArrayValue arrayValue) {
+            Array array = createArray(preparedStatement.getConnection(), arrayValue);
+            bindings.arrays.add(array);
+            preparedStatement.setArray(position, array);
+        } else {
+            preparedStatement.setObject(position, value);
+        }
+    }
+
+    private boolean isPostgreSQL(Connection connection) throws SQLException {
+        return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    public static class Bindings implements AutoCloseable {
+        private final List<Array> arrays = new ArrayList<>();
+
+        private Bindings() {
+        }
+
+        public List<Array> getArrays() {
+            return List.copyOf(arrays);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            SQLException exception = null;
+            for (Array array : arrays) {
+                try {
+                    array.free();
+                } catch (SQLException e) {
+                    if (exception == null) {
+                        exception = e;
+                    } else {
+                        exception.addSuppressed(e);
+                    }
+                }
+            }
+
+            arrays.clear();
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.SqlBuildOptions;
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.common.SqlObject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class StreamingExecutor {
+    private final DataSource dataSource;
+    private SqlBuildOptions buildOptions = SqlBuildOptions.defaults();
+    private StatementBinder binder = StatementBinder.newInstance();
+    private Executor executor;
+    private int fetchSize = 1000;
+    private int bufferSize = Flow.defaultBufferSize();
+
+    private StreamingExecutor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public static StreamingExecutor of(DataSource dataSource) {
+        return new StreamingExecutor(Objects.requireNonNull(dataSource, "The data source must not be null."));
+    }
+
+    public SqlBuildOptions getBuildOptions() {
+        return buildOptions;
+    }
+
+    public StreamingExecutor setBuildOptions(SqlBuildOptions buildOptions) {
+        this.buildOptions = Objects.requireNonNull(buildOptions, "The build options must not be null.");
+        return this;
+    }
+
+    public StatementBinder getStatementBinder() {
+        return binder;
+    }
+
+    public StreamingExecutor setStatementBinder(StatementBinder binder) {
+        this.binder = Objects.requireNonNull(binder, "The statement binder must not be null.");
+        return this;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public StreamingExecutor setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("The fetch size must be positive.");
+        }
+
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public StreamingExecutor setBufferSize(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("The buffer size must be positive.");
+        }
+
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public StreamingExecutor setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public <T> Stream<T> stream(SqlObject query, RowMapper<? extends T> mapper) throws SQLException {
+        Objects.requireNonNull(query, "The query must not be null.");
+        return stream(query.toStatement(buildOptions), mapper);
+    }
+
+    public <T> Stream<T> stream(SqlStatement statement, RowMapper<? extends T> mapper) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            return open(connection, statement, mapper, true);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.close();
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+    }
+
+    public <T> Stream<T> stream(Connection connection, SqlObject query, RowMapper<? extends T> mapper) throws SQLException {
+        Objects.requireNonNull(query, "The query must not be null.");
+        return stream(connection, query.toStatement(buildOptions), mapper);
+    }
+
+    public <T> Stream<T> stream(Connection connection, SqlStatement statement, RowMapper<? extends T> mapper) throws SQLException {
+        return open(Objects.requireNonNull(connection, "The connection must not be null."), statement, mapper, false);
+    }
+
+    public <T> Flow.Publisher<T> publish(SqlObject query, RowMapper<? extends T> mapper) {
+        Objects.requireNonNull(query, "The query must not be null.");
+        return publish(query.toStatement(buildOptions), mapper);
+    }
+
+    public <T> Flow.Publisher<T> publish(SqlStatement statement, RowMapper<? extends T> mapper) {
+        Objects.requireNonNull(statement, "The SQL statement must not be null.");
+        Objects.requireNonNull(mapper, "The row mapper must not be null.");
+        return subscriber -> {
+            SubmissionPublisher<T> publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), bufferSize);
+            publisher.subscribe(subscriber);
+            Runnable producer = () -> produce(statement, mapper, publisher);
+            if (executor != null) {
+                executor.execute(producer);
+            } else {
+                Thread thread = new Thread(producer, "streaming-select");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        };
+    }
+
+    private <T> void produce(SqlStatement statement, RowMapper<? extends T> mapper, SubmissionPublisher<T> publisher) {
+        try (Stream<T> rows = stream(statement, mapper)) {
+            Iterator<T> iterator = rows.iterator();
+            while (publisher.hasSubscribers() && iterator.hasNext()) {
+                publisher.submit(iterator.next());
+            }
+
+            publisher.close();
+        } catch (Exception e) {
+            publisher.closeExceptionally(e);
+        }
+    }
+
+    private <T> Stream<T> open(Connection connection, SqlStatement statement, RowMapper<? extends T> mapper,
+                               boolean closeConnection) throws SQLException {
+        Objects.requireNonNull(statement, "The SQL statement must not be null.");
+        Objects.requireNonNull(mapper, "The row mapper must not be null.");
+        Cursor cursor = new Cursor(connection, closeConnection);
+        try {
+            if (cursor.autoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            cursor.statement = connection.prepareStatement(statement.getSql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            cursor.statement.setFetchSize(fetchSize);
+            cursor.bindings = binder.bind(statement, cursor.statement);
+            cursor.resultSet = cursor.statement.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                cursor.close();
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+
+        return StreamSupport.stream(new Rows<T>(cursor, mapper), false).onClose(cursor::close);
+    }
+
+    private static class Cursor {
+        private final Connection connection;
+        private final boolean closeConnection;
+        private final boolean autoCommit;
+        private PreparedStatement statement;
+        private StatementBinder.Bindings bindings;
+        private ResultSet resultSet;
+        private boolean closed;
+
+        Cursor(Connection connection, boolean closeConnection) throws SQLException {
+            this.connection = connection;
+            this.closeConnection = closeConnection;
+            autoCommit = connection.getAutoCommit();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            SQLException exception = null;
+            if (resultSet != null) {
+                exception = attempt(resultSet::close, exception);
+            }
+
+            if (bindings != null) {
+                exception = attempt(bindings::close, exception);
+            }
+
+            if (statement != null) {
+                exception = attempt(statement::close, exception);
+            }
+
+            if (autoCommit) {
+                exception = attempt(connection::commit, exception);
+                exception = attempt(() -> connection.setAutoCommit(true), exception);
+            }
+
+            if (closeConnection) {
+                exception = attempt(connection::close, exception);
+            }
+
+            if (exception != null) {
+                throw new SqlExecutionException("Failed to close the streaming cursor.", exception);
+            }
+        }
+
+        private SQLException attempt(Action action, SQLException exception) {
+            try {
+                action.run();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    return e;
+                }
+
+                exception.addSuppressed(e);
+            }
+
+            return exception;
+        }
+
+        private interface Action {
+            void run() throws SQLException;
+        }
+    }
+
+    private static class Rows<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Cursor cursor;
+        private final RowMapper<? extends T> mapper;
+
+        Rows(Cursor cursor, RowMapper<? extends T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.cursor = cursor;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (cursor.closed) {
+                return false;
+            }
+
+            try {
+                if (cursor.resultSet.next()) {
+                    action.accept(mapper.map(cursor.resultSet));
+                    return true;
+                }
+            } catch (SQLException e) {
+                throw new SqlExecutionException("Failed to read the next row.", e);
+            }
+
+            cursor.close();
+            return false;
+        }
+    }
+}
@@ -39,6 +39,7 @@ public class Join implements SqlObject {
     private final Column fromColumn;
     private final Column toColumn;
     private final List<BooleanExpression> conditions = new ArrayList<>();
+    private long modificationCount;
 
     private Join(String type, Table table) {
         this.type = Objects.requireNonNull(type, "The join type must not be null.");
@@ -96,11 +97,17 @@ public class Join implements SqlObject {
     public Join condition(BooleanExpression condition) {
         if (condition != null) {
             conditions.add(condition);
+            modificationCount++;
         }
 
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -108,6 +115,6 @@ public class Join implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
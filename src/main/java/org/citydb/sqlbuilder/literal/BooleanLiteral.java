@@ -47,6 +47,7 @@ public class BooleanLiteral extends Literal<Boolean> implements BooleanExpressio
     @Override
     public BooleanLiteral as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
@@ -67,6 +67,7 @@ public class DateLiteral extends Literal<Date> {
     @Override
     public DateLiteral as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
@@ -49,6 +49,7 @@ public class DoubleLiteral extends Literal<Double> implements NumericExpression
     @Override
     public DoubleLiteral as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
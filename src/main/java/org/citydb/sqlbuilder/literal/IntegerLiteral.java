@@ -49,6 +49,7 @@ public class IntegerLiteral extends Literal<Long> implements NumericExpression {
     @Override
     public IntegerLiteral as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
@@ -31,6 +31,7 @@ import java.util.Optional;
 public abstract class Literal<T> implements ScalarExpression, Selection<Literal<T>> {
     protected T value;
     protected String alias;
+    protected long modificationCount;
 
     protected Literal(T value) {
         this.value = value;
@@ -68,13 +69,27 @@ public abstract class Literal<T> implements ScalarExpression, Selection<Literal<
         return Optional.ofNullable(value);
     }
 
+    public T getValueOrNull() {
+        return value;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public Optional<String> getAlias() {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
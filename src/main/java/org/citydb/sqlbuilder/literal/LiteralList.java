@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 
 public class LiteralList implements QueryExpression {
     private final List<Literal<?>> literals;
+    private long modificationCount;
 
     private LiteralList(List<Literal<?>> literals) {
         this.literals = Objects.requireNonNull(literals, "The list of literals must not be null.");
@@ -57,6 +58,7 @@ public class LiteralList implements QueryExpression {
     public LiteralList add(Literal<?> literal) {
         if (literal != null) {
             literals.add(literal);
+            modificationCount++;
         }
 
         return this;
@@ -66,6 +68,11 @@ public class LiteralList implements QueryExpression {
         return literals.isEmpty();
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -73,6 +80,6 @@ public class LiteralList implements QueryExpression {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
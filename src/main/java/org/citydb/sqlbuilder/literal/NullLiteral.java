@@ -37,6 +37,7 @@ public class NullLiteral extends Literal<Void> {
     @Override
     public NullLiteral as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
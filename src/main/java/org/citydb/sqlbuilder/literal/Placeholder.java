@@ -25,7 +25,10 @@ import org.citydb.sqlbuilder.common.SqlVisitor;
 import org.citydb.sqlbuilder.query.QueryExpression;
 import org.citydb.sqlbuilder.util.UserProperties;
 
+import java.util.Optional;
+
 public class Placeholder extends Literal<Object> implements QueryExpression {
+    private String name;
     private UserProperties userProperties;
 
     private Placeholder(Object value) {
@@ -44,11 +47,29 @@ public class Placeholder extends Literal<Object> implements QueryExpression {
         return of(value != null ? value.getValue().orElse(null) : null);
     }
 
+    public static Placeholder named(String name) {
+        return empty().setName(name);
+    }
+
+    public static Placeholder named(String name, Object value) {
+        return of(value).setName(name);
+    }
+
     public Placeholder setValue(Object value) {
         this.value = value;
         return this;
     }
 
+    public Optional<String> getName() {
+        return Optional.ofNullable(name);
+    }
+
+    public Placeholder setName(String name) {
+        this.name = name;
+        modificationCount++;
+        return this;
+    }
+
     public boolean hasUserProperties() {
         return userProperties != null && !userProperties.isEmpty();
     }
@@ -64,6 +85,7 @@ public class Placeholder extends Literal<Object> implements QueryExpression {
     @Override
     public Placeholder as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
@@ -36,6 +36,7 @@ public class StringLiteral extends Literal<String> {
     @Override
     public StringLiteral as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
@@ -63,6 +63,7 @@ public class TimestampLiteral extends Literal<Timestamp> {
     @Override
     public TimestampLiteral as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
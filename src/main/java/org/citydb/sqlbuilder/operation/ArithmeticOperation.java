@@ -34,6 +34,7 @@ public class ArithmeticOperation implements NumericExpression, Operation, Select
     private ScalarExpression rightOperand;
     private final String operator;
     private String alias;
+    private long modificationCount;
 
     private final Map<String, Integer> precedence = Map.of(
             Operators.MULTIPLY, 1,
@@ -63,6 +64,7 @@ public class ArithmeticOperation implements NumericExpression, Operation, Select
     ArithmeticOperation fluentAppend(String operator, ScalarExpression operand) {
         if (precedence.getOrDefault(operator, Integer.MAX_VALUE) < precedence.getOrDefault(this.operator, Integer.MAX_VALUE)) {
             rightOperand = new ArithmeticOperation(rightOperand, operator, operand);
+            modificationCount++;
             return this;
         } else {
             return new ArithmeticOperation(this, operator, operand);
@@ -79,12 +81,23 @@ public class ArithmeticOperation implements NumericExpression, Operation, Select
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public ArithmeticOperation as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -92,6 +105,6 @@ public class ArithmeticOperation implements NumericExpression, Operation, Select
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -34,6 +34,7 @@ public class Between implements ComparisonOperation {
     private final ScalarExpression upperBound;
     private boolean negate;
     private String alias;
+    private long modificationCount;
 
     private Between(ScalarExpression operand, ScalarExpression lowerBound, ScalarExpression upperBound, boolean negate) {
         this.operand = Objects.requireNonNull(operand, "The operand must not be null.");
@@ -68,6 +69,7 @@ public class Between implements ComparisonOperation {
 
     public void setNegate(boolean negate) {
         this.negate = negate;
+        modificationCount++;
     }
 
     @Override
@@ -80,12 +82,23 @@ public class Between implements ComparisonOperation {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Between as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -93,6 +106,6 @@ public class Between implements ComparisonOperation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -32,6 +32,7 @@ public class BinaryComparisonOperation implements ComparisonOperation {
     private final ScalarExpression rightOperand;
     private final String operator;
     private String alias;
+    private long modificationCount;
 
     protected BinaryComparisonOperation(ScalarExpression leftOperand, String operator, ScalarExpression rightOperand) {
         this.leftOperand = Objects.requireNonNull(leftOperand, "The left operand must not be null.");
@@ -61,12 +62,23 @@ public class BinaryComparisonOperation implements ComparisonOperation {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public BinaryComparisonOperation as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -74,6 +86,6 @@ public class BinaryComparisonOperation implements ComparisonOperation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -29,6 +29,7 @@ public class BinaryLogicalOperation implements LogicalOperation {
     private final List<BooleanExpression> operands;
     private final String operator;
     private String alias;
+    private long modificationCount;
 
     private BinaryLogicalOperation(String operator, List<? extends BooleanExpression> operands) {
         this.operands = new ArrayList<>(Objects.requireNonNull(operands, "The operands list must not be null."));
@@ -79,6 +80,7 @@ public class BinaryLogicalOperation implements LogicalOperation {
             operands.stream()
                     .filter(Objects::nonNull)
                     .forEach(this.operands::add);
+            modificationCount++;
         }
 
         return this;
@@ -92,6 +94,8 @@ public class BinaryLogicalOperation implements LogicalOperation {
             } else {
                 operands.add(operand);
             }
+
+            modificationCount++;
         }
 
         return this;
@@ -103,6 +107,7 @@ public class BinaryLogicalOperation implements LogicalOperation {
                 return Operators.or(this, operand);
             } else {
                 operands.add(operand);
+                modificationCount++;
             }
         }
 
@@ -119,12 +124,23 @@ public class BinaryLogicalOperation implements LogicalOperation {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public BinaryLogicalOperation as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -132,6 +148,6 @@ public class BinaryLogicalOperation implements LogicalOperation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
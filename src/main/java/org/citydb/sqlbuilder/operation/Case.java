@@ -35,6 +35,7 @@ public class Case implements ColumnExpression, Selection<Case> {
     private final Map<BooleanExpression, Expression> conditions;
     private Expression otherwise;
     private String alias;
+    private long modificationCount;
 
     private Case(Map<BooleanExpression, Expression> conditions, Expression otherwise, String alias) {
         this.conditions = Objects.requireNonNull(conditions, "The conditions must not be null.");
@@ -72,6 +73,7 @@ public class Case implements ColumnExpression, Selection<Case> {
 
     public Case orElse(Expression otherwise) {
         this.otherwise = otherwise;
+        modificationCount++;
         return this;
     }
 
@@ -80,12 +82,23 @@ public class Case implements ColumnExpression, Selection<Case> {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Case as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -93,7 +106,7 @@ public class Case implements ColumnExpression, Selection<Case> {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 
     public class ConditionBuilder {
@@ -105,6 +118,7 @@ public class Case implements ColumnExpression, Selection<Case> {
 
         public Case then(Expression expression) {
             conditions.put(condition, expression);
+            modificationCount++;
             return Case.this;
         }
     }
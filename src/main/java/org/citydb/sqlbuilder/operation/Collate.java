@@ -60,6 +60,6 @@ public class Collate implements ScalarExpression, Operation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -31,6 +31,7 @@ public class Exists implements LogicalOperation {
     private final QueryExpression operand;
     private boolean negate;
     private String alias;
+    private long modificationCount;
 
     private Exists(QueryExpression operand, boolean negate) {
         this.operand = Objects.requireNonNull(operand, "The operand must not be null.");
@@ -55,6 +56,7 @@ public class Exists implements LogicalOperation {
 
     public void setNegate(boolean negate) {
         this.negate = negate;
+        modificationCount++;
     }
 
     @Override
@@ -67,12 +69,23 @@ public class Exists implements LogicalOperation {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Exists as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -80,6 +93,6 @@ public class Exists implements LogicalOperation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
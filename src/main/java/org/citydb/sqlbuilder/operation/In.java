@@ -36,6 +36,7 @@ public class In implements ComparisonOperation {
     private final QueryExpression rightOperand;
     private boolean negate;
     private String alias;
+    private long modificationCount;
 
     private In(Expression leftOperand, QueryExpression rightOperand, boolean negate) {
         this.leftOperand = Objects.requireNonNull(leftOperand, "The left operand must not be null.");
@@ -77,6 +78,7 @@ public class In implements ComparisonOperation {
 
     public void setNegate(boolean negate) {
         this.negate = negate;
+        modificationCount++;
     }
 
     @Override
@@ -89,12 +91,23 @@ public class In implements ComparisonOperation {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public In as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -102,6 +115,6 @@ public class In implements ComparisonOperation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -35,6 +35,7 @@ public class Like implements ComparisonOperation {
     private final StringLiteral escapeCharacter;
     private boolean negate;
     private String alias;
+    private long modificationCount;
 
     private Like(Expression operand, ScalarExpression pattern, StringLiteral escapeCharacter, boolean negate) {
         this.operand = Objects.requireNonNull(operand, "The operand must not be null.");
@@ -77,6 +78,7 @@ public class Like implements ComparisonOperation {
 
     public void setNegate(boolean negate) {
         this.negate = negate;
+        modificationCount++;
     }
 
     @Override
@@ -89,12 +91,23 @@ public class Like implements ComparisonOperation {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Like as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -102,6 +115,6 @@ public class Like implements ComparisonOperation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -29,6 +29,7 @@ import java.util.Optional;
 public class Not implements LogicalOperation {
     private final BooleanExpression operand;
     private String alias;
+    private long modificationCount;
 
     private Not(BooleanExpression operand) {
         this.operand = Objects.requireNonNull(operand, "The operand must not be null.");
@@ -52,12 +53,23 @@ public class Not implements LogicalOperation {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Not as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -65,6 +77,6 @@ public class Not implements LogicalOperation {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
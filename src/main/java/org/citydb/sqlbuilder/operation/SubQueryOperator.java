@@ -68,6 +68,6 @@ public class SubQueryOperator implements Operation, ScalarExpression {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.parser;
+
+import java.io.Serial;
+
+public class SqlParseException extends IllegalArgumentException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private final int position;
+
+    public SqlParseException(String message, int position) {
+        super(message);
+        this.position = position;
+    }
+
+    public SqlParseException(String message, int position, Throwable cause) {
+        super(message, cause);
+        this.position = position;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
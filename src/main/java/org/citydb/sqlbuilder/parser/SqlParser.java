@@ -0,0 +1,1497 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.parser;
+
+import org.citydb.sqlbuilder.common.Expression;
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.function.Cast;
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.function.WindowFunction;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.join.Joins;
+import org.citydb.sqlbuilder.literal.*;
+import org.citydb.sqlbuilder.operation.*;
+import org.citydb.sqlbuilder.query.*;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.schema.WildcardColumn;
+import org.citydb.sqlbuilder.update.Update;
+import org.citydb.sqlbuilder.update.UpdateValue;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class SqlParser {
+    private static final Pattern HINT = Pattern.compile("(\\w+)\\s*(?:\\(([^)]*)\\))?");
+    private static final Set<String> RESERVED = Set.of("all", "and", "any", "as", "asc", "between", "by", "case",
+            "cross", "desc", "distinct", "else", "end", "escape", "except", "exists", "fetch", "from", "full",
+            "group", "having", "in", "inner", "intersect", "is", "join", "lateral", "left", "like", "limit", "minus",
+            "not", "null", "nulls", "offset", "on", "or", "order", "outer", "over", "right", "select", "set",
+            "some", "then", "union", "update", "using", "when", "where", "window", "with");
+
+    private boolean preserveTableAliases;
+
+    private SqlParser() {
+    }
+
+    public static SqlParser newInstance() {
+        return new SqlParser();
+    }
+
+    public boolean isPreserveTableAliases() {
+        return preserveTableAliases;
+    }
+
+    public SqlParser setPreserveTableAliases(boolean preserveTableAliases) {
+        this.preserveTableAliases = preserveTableAliases;
+        return this;
+    }
+
+    public SqlObject parse(String sql) {
+        Parser parser = new Parser(sql);
+        SqlObject statement = parser.parseStatement();
+        parser.expectEnd();
+        return statement;
+    }
+
+    public QueryStatement<?> parseQuery(String sql) {
+        Parser parser = new Parser(sql);
+        QueryStatement<?> query = parser.parseQuery(new Scope(null));
+        parser.expectEnd();
+        return query;
+    }
+
+    public Select parseSelect(String sql) {
+        return parse(sql, Select.class);
+    }
+
+    public Update parseUpdate(String sql) {
+        return parse(sql, Update.class);
+    }
+
+    private <T extends SqlObject> T parse(String sql, Class<T> type) {
+        SqlObject statement = parse(sql);
+        if (!type.isInstance(statement)) {
+            throw new SqlParseException("Expected " + type.getSimpleName().toLowerCase(Locale.ROOT) +
+                    " statement but found " + statement.getClass().getSimpleName() + ".", 0);
+        }
+
+        return type.cast(statement);
+    }
+
+    private enum TokenType {
+        IDENTIFIER,
+        QUOTED_IDENTIFIER,
+        STRING,
+        NUMBER,
+        PLACEHOLDER,
+        NAMED_PLACEHOLDER,
+        HINT,
+        SYMBOL,
+        END
+    }
+
+    private record Token(TokenType type, String text, int start, int end) {
+        boolean is(String keyword) {
+            return type == TokenType.IDENTIFIER && text.equalsIgnoreCase(keyword);
+        }
+
+        boolean isSymbol(String symbol) {
+            return type == TokenType.SYMBOL && text.equals(symbol);
+        }
+
+        String describe() {
+            return type == TokenType.END ? "end of input" : "'" + text + "'";
+        }
+    }
+
+    private static class Scope {
+        private final Scope parent;
+        private final List<Table> tables = new ArrayList<>();
+        private final Map<String, Table> names = new HashMap<>();
+        private final Map<String, Selection<?>> selections = new HashMap<>();
+
+        Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        void add(Table table, String name) {
+            tables.add(table);
+            if (name != null) {
+                names.putIfAbsent(key(name), table);
+            }
+        }
+
+        Table lookup(String name) {
+            String key = key(name);
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                Table table = scope.names.get(key);
+                if (table != null) {
+                    return table;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private class Parser {
+        private final String sql;
+        private final List<Token> tokens;
+        private final Map<String, Placeholder> placeholders = new HashMap<>();
+        private Scope lastScope;
+        private int index;
+
+        Parser(String sql) {
+            this.sql = Objects.requireNonNull(sql, "The SQL text must not be null.");
+            tokens = tokenize(sql);
+        }
+
+        SqlObject parseStatement() {
+            Scope scope = new Scope(null);
+            Token start = peek();
+            List<CommonTableExpression> with = null;
+            boolean recursive = false;
+            if (acceptKeyword("with")) {
+                recursive = acceptKeyword("recursive");
+                with = parseCommonTableExpressions(scope);
+            }
+
+            SqlObject statement = peek().is("update") ?
+                    parseUpdate(scope) :
+                    parseQueryExpression(scope);
+            return with != null ? with(statement, with, recursive, start) : statement;
+        }
+
+        QueryStatement<?> parseQuery(Scope outer) {
+            Token start = peek();
+            if (acceptKeyword("with")) {
+                boolean recursive = acceptKeyword("recursive");
+                List<CommonTableExpression> with = parseCommonTableExpressions(outer);
+                return (QueryStatement<?>) with(parseQueryExpression(outer), with, recursive, start);
+            }
+
+            return parseQueryExpression(outer);
+        }
+
+        void expectEnd() {
+            acceptSymbol(";");
+            if (peek().type != TokenType.END) {
+                throw error("end of input");
+            }
+        }
+
+        private SqlObject with(SqlObject statement, List<CommonTableExpression> with, boolean recursive, Token start) {
+            CommonTableExpression[] ctes = with.toArray(new CommonTableExpression[0]);
+            if (statement instanceof Select select) {
+                return recursive ? select.withRecursive(ctes) : select.with(ctes);
+            } else if (statement instanceof Update update) {
+                return recursive ? update.withRecursive(ctes) : update.with(ctes);
+            } else {
+                throw new SqlParseException("A with clause is not supported for set operations.", start.start);
+            }
+        }
+
+        private List<CommonTableExpression> parseCommonTableExpressions(Scope scope) {
+            List<CommonTableExpression> ctes = new ArrayList<>();
+            do {
+                String name = expectIdentifier();
+                List<String> columns = new ArrayList<>();
+                if (acceptSymbol("(")) {
+                    do {
+                        columns.add(expectIdentifier());
+                    } while (acceptSymbol(","));
+                    expectSymbol(")");
+                }
+
+                expectKeyword("as");
+                Boolean materialized = null;
+                if (acceptKeyword("materialized")) {
+                    materialized = true;
+                } else if (acceptKeyword(Operators.NOT)) {
+                    expectKeyword("materialized");
+                    materialized = false;
+                }
+
+                expectSymbol("(");
+                ctes.add(CommonTableExpression.of(name, parseQuery(scope), columns).materialized(materialized));
+                expectSymbol(")");
+            } while (acceptSymbol(","));
+
+            return ctes;
+        }
+
+        private QueryStatement<?> parseQueryExpression(Scope outer) {
+            Select first = parseQueryTerm(outer);
+            Scope scope = lastScope;
+            QueryStatement<?> statement = first;
+
+            String type = parseSetType();
+            if (type != null) {
+                List<Select> operands = new ArrayList<>();
+                operands.add(first);
+                do {
+                    operands.add(parseQueryTerm(outer));
+                    scope = lastScope;
+                    Token token = peek();
+                    String next = parseSetType();
+                    if (next != null && !next.equals(type)) {
+                        throw new SqlParseException("Mixing set operators '" + type + "' and '" + next +
+                                "' is not supported.", token.start);
+                    }
+
+                    type = next != null ? next : type;
+                    if (next == null) {
+                        break;
+                    }
+                } while (true);
+
+                statement = SetOperator.of(type, operands);
+            }
+
+            parseOrderBy(statement, scope);
+            lastScope = scope;
+            return statement;
+        }
+
+        private String parseSetType() {
+            if (acceptKeyword("union")) {
+                return acceptKeyword("all") ? Sets.UNION_ALL : Sets.UNION;
+            } else if (acceptKeyword("intersect")) {
+                return Sets.INTERSECT;
+            } else if (peek().is("except") || peek().is("minus")) {
+                return next().text.toLowerCase(Locale.ROOT);
+            } else {
+                return null;
+            }
+        }
+
+        private Select parseQueryTerm(Scope outer) {
+            if (peek().isSymbol("(") && isQueryAhead(index)) {
+                Token start = next();
+                QueryStatement<?> query = parseQuery(outer);
+                expectSymbol(")");
+                if (query instanceof Select select) {
+                    return select;
+                } else {
+                    throw new SqlParseException("Nested set operations are not supported.", start.start);
+                }
+            }
+
+            return parseSelect(outer);
+        }
+
+        private void parseHints(List<Token> tokens, Scope scope, List<String> hints,
+                                List<OptimizerHint> optimizerHints) {
+            for (Token token : tokens) {
+                List<String> texts = new ArrayList<>();
+                Matcher matcher = HINT.matcher(token.text);
+                while (matcher.find()) {
+                    List<String> arguments = new ArrayList<>();
+                    if (matcher.group(2) != null) {
+                        for (String argument : matcher.group(2).trim().split("[\\s,]+")) {
+                            if (!argument.isEmpty()) {
+                                arguments.add(argument);
+                            }
+                        }
+                    }
+
+                    List<Table> tables = new ArrayList<>();
+                    for (String argument : arguments) {
+                        Table table = scope.lookup(argument);
+                        if (table != null) {
+                            tables.add(table);
+                        }
+                    }
+
+                    if (tables.isEmpty()) {
+                        texts.add(matcher.group());
+                    } else {
+                        optimizerHints.add(optimizerHint(matcher.group(1), arguments, tables, scope, token));
+                    }
+                }
+
+                if (!texts.isEmpty()) {
+                    hints.add(String.join(" ", texts));
+                }
+            }
+        }
+
+        private OptimizerHint optimizerHint(String name, List<String> arguments, List<Table> tables, Scope scope,
+                                            Token token) {
+            // generated aliases differ from the parsed ones, so hints on tables must be bound to the tables
+            try {
+                switch (name.toUpperCase(Locale.ROOT)) {
+                    case "INDEX":
+                        if (tables.size() == 1 && scope.lookup(arguments.get(0)) != null) {
+                            return OptimizerHint.index(tables.get(0),
+                                    arguments.subList(1, arguments.size()).toArray(new String[0]));
+                        }
+                        break;
+                    case "PARALLEL":
+                        if (tables.size() == 1 && arguments.size() == 2 && scope.lookup(arguments.get(0)) != null) {
+                            return OptimizerHint.parallel(tables.get(0), Integer.parseInt(arguments.get(1)));
+                        }
+                        break;
+                    case "LEADING":
+                        if (tables.size() == arguments.size()) {
+                            return OptimizerHint.leading(tables.toArray(new Table[0]));
+                        }
+                        break;
+                    case "NO_MERGE":
+                        if (arguments.size() == 1) {
+                            return OptimizerHint.noMerge(tables.get(0));
+                        }
+                        break;
+                }
+            } catch (IllegalArgumentException e) {
+                throw new SqlParseException("Invalid optimizer hint '" + name + "'.", token.start, e);
+            }
+
+            throw new SqlParseException("The optimizer hint '" + name + "' refers to table aliases " +
+                    "but cannot be bound to the parsed tables.", token.start);
+        }
+
+        private Select parseSelect(Scope outer) {
+            expectKeyword("select");
+            Select select = Select.newInstance();
+            Scope scope = new Scope(outer);
+            List<Token> hints = new ArrayList<>();
+            while (peek().type == TokenType.HINT) {
+                hints.add(next());
+            }
+
+            if (acceptKeyword("distinct")) {
+                select.distinct();
+            } else {
+                acceptKeyword("all");
+            }
+
+            int selectList = index;
+            skipSelectList();
+            int end = -1;
+            if (acceptKeyword("from")) {
+                parseFrom(select, scope);
+                end = index;
+            }
+
+            index = selectList;
+            parseHints(hints, scope, select.getHints(), select.getOptimizerHints());
+            parseSelectList(select, scope);
+            if (end != -1) {
+                expectKeyword("from");
+                index = end;
+            }
+
+            if (acceptKeyword("where")) {
+                select.where(parseCondition(scope));
+            }
+
+            if (acceptKeyword("group")) {
+                expectKeyword("by");
+                do {
+                    Token token = peek();
+                    if (!(parseOr(scope) instanceof Column column)) {
+                        throw new SqlParseException("Only columns are supported in the group by clause.",
+                                token.start);
+                    }
+
+                    select.groupBy(column);
+                } while (acceptSymbol(","));
+            }
+
+            if (acceptKeyword("having")) {
+                Token token = peek();
+                BooleanExpression condition = parseCondition(scope);
+                if (condition instanceof Operation operation) {
+                    select.having(operation);
+                } else if (condition instanceof Function function) {
+                    select.having(function);
+                } else {
+                    throw new SqlParseException("Unsupported having condition.", token.start);
+                }
+            }
+
+            if (acceptKeyword("window")) {
+                do {
+                    String name = expectIdentifier();
+                    expectKeyword("as");
+                    select.window(parseWindow(scope).name(name));
+                } while (acceptSymbol(","));
+            }
+
+            lastScope = scope;
+            return select;
+        }
+
+        private void skipSelectList() {
+            int depth = 0;
+            for (Token token = peek(); token.type != TokenType.END; token = peek()) {
+                if (token.isSymbol("(")) {
+                    depth++;
+                } else if (token.isSymbol(")")) {
+                    if (--depth < 0) {
+                        return;
+                    }
+                } else if (depth == 0 && (token.isSymbol(";") || isClauseKeyword(token))) {
+                    return;
+                }
+
+                index++;
+            }
+        }
+
+        private boolean isClauseKeyword(Token token) {
+            return token.is("from") || token.is("where") || token.is("group") || token.is("having")
+                    || token.is("window") || token.is("order") || token.is("offset") || token.is("fetch")
+                    || token.is("limit") || token.is("union") || token.is("intersect") || token.is("except")
+                    || token.is("minus");
+        }
+
+        private void parseSelectList(Select select, Scope scope) {
+            List<Selection<?>> selections = new ArrayList<>();
+            do {
+                Token token = peek();
+                Expression expression;
+                if (acceptSymbol("*")) {
+                    expression = Column.WILDCARD;
+                } else {
+                    expression = parseOr(scope);
+                }
+
+                if (!(expression instanceof Selection<?> selection)) {
+                    throw new SqlParseException("Unsupported select item " + token.describe() + ".", token.start);
+                }
+
+                String alias = parseAlias();
+                if (alias != null) {
+                    selection.as(alias);
+                    scope.selections.putIfAbsent(key(alias), selection);
+                }
+
+                selections.add(selection);
+            } while (acceptSymbol(","));
+
+            if (selections.size() != 1 || selections.get(0) != Column.WILDCARD) {
+                select.select(selections);
+            }
+        }
+
+        private void parseFrom(Select select, Scope scope) {
+            do {
+                select.from(parseTable(scope));
+                parseJoins(select, scope);
+            } while (acceptSymbol(","));
+        }
+
+        private void parseJoins(Select select, Scope scope) {
+            while (true) {
+                String type;
+                if (acceptKeyword("join")) {
+                    type = Joins.INNER_JOIN;
+                } else if (acceptKeyword("inner")) {
+                    expectKeyword("join");
+                    type = Joins.INNER_JOIN;
+                } else if (acceptKeyword("left")) {
+                    type = parseOuterJoin(Joins.LEFT_JOIN);
+                } else if (acceptKeyword("right")) {
+                    type = parseOuterJoin(Joins.RIGHT_JOIN);
+                } else if (acceptKeyword("full")) {
+                    type = parseOuterJoin(Joins.FULL_JOIN);
+                } else if (acceptKeyword("cross")) {
+                    expectKeyword("join");
+                    type = Joins.CROSS_JOIN;
+                } else {
+                    return;
+                }
+
+                Table table = parseTable(scope);
+                if (!type.equals(Joins.CROSS_JOIN) && acceptKeyword("on")) {
+                    select.join(join(type, table, parseCondition(scope)));
+                } else {
+                    select.join(Join.of(type, table));
+                }
+            }
+        }
+
+        private String parseOuterJoin(String type) {
+            acceptKeyword("outer");
+            expectKeyword("join");
+            return type;
+        }
+
+        private Join join(String type, Table table, BooleanExpression condition) {
+            if (condition instanceof BinaryComparisonOperation operation
+                    && operation.getLeftOperand() instanceof Column left
+                    && operation.getRightOperand() instanceof Column right) {
+                if (left.getTable() == table) {
+                    return Join.of(type, left, operation.getOperator(), right);
+                } else if (right.getTable() == table
+                        && (operation.hasOperator(Operators.EQUAL_TO)
+                        || operation.hasOperator(Operators.NOT_EQUAL_TO))) {
+                    return Join.of(type, right, operation.getOperator(), left);
+                }
+            }
+
+            return Join.of(type, table).condition(condition);
+        }
+
+        private Table parseTable(Scope scope) {
+            Token start = peek();
+            boolean lateral = acceptKeyword("lateral");
+            Table table;
+            String name = null;
+            if (acceptSymbol("(")) {
+                QueryStatement<?> query = parseQuery(scope);
+                expectSymbol(")");
+                if (query instanceof Select select) {
+                    table = lateral ? Table.lateral(select) : Table.of(select);
+                } else if (!lateral) {
+                    table = Table.of((SetOperator) query);
+                } else {
+                    throw new SqlParseException("A lateral set operation is not supported.", start.start);
+                }
+            } else if (lateral) {
+                throw error("a subquery");
+            } else {
+                List<String> parts = parseQualifiedName();
+                if (peek().isSymbol("(")) {
+                    Expression function = parseFunction(parts, scope);
+                    if (!(function instanceof Function tableFunction)) {
+                        throw new SqlParseException("Unsupported table function.", start.start);
+                    }
+
+                    table = Table.of(tableFunction);
+                } else {
+                    name = parts.get(parts.size() - 1);
+                    table = parts.size() == 1 ?
+                            Table.of(name) :
+                            Table.of(name, String.join(".", parts.subList(0, parts.size() - 1)));
+                }
+            }
+
+            String alias = parseAlias();
+            if (alias != null && preserveTableAliases) {
+                table.alias(alias);
+            }
+
+            scope.add(table, alias != null ? alias : name);
+            return table;
+        }
+
+        private String parseAlias() {
+            if (acceptKeyword("as")) {
+                return expectIdentifier();
+            }
+
+            Token token = peek();
+            if (token.type == TokenType.QUOTED_IDENTIFIER
+                    || (token.type == TokenType.IDENTIFIER
+                    && !RESERVED.contains(token.text.toLowerCase(Locale.ROOT)))) {
+                return next().text;
+            }
+
+            return null;
+        }
+
+        private void parseOrderBy(QueryStatement<?> statement, Scope scope) {
+            if (acceptKeyword("order")) {
+                expectKeyword("by");
+                do {
+                    statement.orderBy(parseOrderByItem(scope));
+                } while (acceptSymbol(","));
+            }
+
+            if (acceptKeyword("limit")) {
+                statement.fetch(parseLiteral());
+                if (acceptKeyword("offset")) {
+                    statement.offset(parseLiteral(), statement.getFetch().orElse(null));
+                }
+            } else {
+                if (acceptKeyword("offset")) {
+                    statement.offset(parseLiteral());
+                    if (!acceptKeyword("rows")) {
+                        acceptKeyword("row");
+                    }
+                }
+
+                if (acceptKeyword("fetch")) {
+                    if (!acceptKeyword("first")) {
+                        expectKeyword("next");
+                    }
+
+                    statement.fetch(parseLiteral());
+                    if (!acceptKeyword("rows")) {
+                        expectKeyword("row");
+                    }
+
+                    expectKeyword("only");
+                }
+            }
+        }
+
+        private OrderBy parseOrderByItem(Scope scope) {
+            Token token = peek();
+            Expression expression = null;
+            if (token.type == TokenType.IDENTIFIER || token.type == TokenType.QUOTED_IDENTIFIER) {
+                Token following = peek(1);
+                if (!following.isSymbol(".") && !following.isSymbol("(")) {
+                    expression = scope.selections.get(key(token.text));
+                    if (expression != null) {
+                        index++;
+                    }
+                }
+            }
+
+            if (expression == null) {
+                expression = parseAdditive(scope);
+            }
+
+            if (!(expression instanceof Selection<?> selection)) {
+                throw new SqlParseException("Unsupported sort expression " + token.describe() + ".", token.start);
+            }
+
+            String sortOrder = OrderBy.ASCENDING;
+            if (acceptKeyword("desc")) {
+                sortOrder = OrderBy.DESCENDING;
+            } else {
+                acceptKeyword("asc");
+            }
+
+            String nullOrder = null;
+            if (acceptKeyword("nulls")) {
+                if (acceptKeyword("first")) {
+                    nullOrder = OrderBy.NULLS_FIRST;
+                } else {
+                    expectKeyword("last");
+                    nullOrder = OrderBy.NULLS_LAST;
+                }
+            }
+
+            return OrderBy.of(selection, sortOrder, nullOrder);
+        }
+
+        private Window parseWindow(Scope scope) {
+            expectSymbol("(");
+            Window window = Window.newInstance();
+            Token token = peek();
+            if ((token.type == TokenType.IDENTIFIER || token.type == TokenType.QUOTED_IDENTIFIER)
+                    && !token.is("partition") && !token.is("order") && !isFrameUnits(token)) {
+                window.references(next().text);
+            }
+
+            if (acceptKeyword("partition")) {
+                expectKeyword("by");
+                do {
+                    window.partitionBy(parseAdditive(scope));
+                } while (acceptSymbol(","));
+            }
+
+            if (acceptKeyword("order")) {
+                expectKeyword("by");
+                do {
+                    window.orderBy(parseOrderByItem(scope));
+                } while (acceptSymbol(","));
+            }
+
+            if (isFrameUnits(peek())) {
+                window.frame(parseFrame());
+            }
+
+            expectSymbol(")");
+            return window;
+        }
+
+        private boolean isFrameUnits(Token token) {
+            return token.is(Frame.ROWS) || token.is(Frame.RANGE) || token.is(Frame.GROUPS);
+        }
+
+        private Frame parseFrame() {
+            String units = next().text.toLowerCase(Locale.ROOT);
+            if (acceptKeyword("between")) {
+                Literal<?> startExpression = parseFrameExpression();
+                String start = parseFrameBound(startExpression != null);
+                expectKeyword("and");
+                Literal<?> endExpression = parseFrameExpression();
+                String end = parseFrameBound(endExpression != null);
+                return Frame.of(units, start, startExpression, end, endExpression);
+            } else {
+                Literal<?> startExpression = parseFrameExpression();
+                return Frame.of(units, parseFrameBound(startExpression != null), startExpression);
+            }
+        }
+
+        private Literal<?> parseFrameExpression() {
+            Token token = peek();
+            return token.type == TokenType.NUMBER
+                    || token.type == TokenType.PLACEHOLDER
+                    || token.type == TokenType.NAMED_PLACEHOLDER ?
+                    parseLiteral() :
+                    null;
+        }
+
+        private String parseFrameBound(boolean hasExpression) {
+            if (hasExpression) {
+                if (acceptKeyword("preceding")) {
+                    return Frame.PRECEDING;
+                } else {
+                    expectKeyword("following");
+                    return Frame.FOLLOWING;
+                }
+            } else if (acceptKeyword("current")) {
+                expectKeyword("row");
+                return Frame.CURRENT_ROW;
+            } else {
+                expectKeyword("unbounded");
+                if (acceptKeyword("preceding")) {
+                    return Frame.UNBOUNDED_PRECEDING;
+                } else {
+                    expectKeyword("following");
+                    return Frame.UNBOUNDED_FOLLOWING;
+                }
+            }
+        }
+
+        private Update parseUpdate(Scope outer) {
+            expectKeyword("update");
+            Scope scope = new Scope(outer);
+            List<Token> hints = new ArrayList<>();
+            while (peek().type == TokenType.HINT) {
+                hints.add(next());
+            }
+
+            Table table = parseTable(scope);
+            Update update = Update.newInstance().table(table);
+            parseHints(hints, scope, update.getHints(), update.getOptimizerHints());
+            expectKeyword("set");
+            do {
+                List<String> parts = parseQualifiedName();
+                expectSymbol("=");
+                update.set(UpdateValue.of(table.column(parts.get(parts.size() - 1)), parseOr(scope)));
+            } while (acceptSymbol(","));
+
+            if (acceptKeyword("where")) {
+                update.where(parseCondition(scope));
+            }
+
+            return update;
+        }
+
+        private Expression parseOr(Scope scope) {
+            Token start = peek();
+            Expression expression = parseAnd(scope);
+            if (!peek().is(Operators.OR)) {
+                return expression;
+            }
+
+            List<BooleanExpression> operands = new ArrayList<>();
+            operands.add(bool(expression, start));
+            while (acceptKeyword(Operators.OR)) {
+                start = peek();
+                operands.add(bool(parseAnd(scope), start));
+            }
+
+            return Operators.or(operands);
+        }
+
+        private Expression parseAnd(Scope scope) {
+            Token start = peek();
+            Expression expression = parseNot(scope);
+            if (!peek().is(Operators.AND)) {
+                return expression;
+            }
+
+            List<BooleanExpression> operands = new ArrayList<>();
+            operands.add(bool(expression, start));
+            while (acceptKeyword(Operators.AND)) {
+                start = peek();
+                operands.add(bool(parseNot(scope), start));
+            }
+
+            return Operators.and(operands);
+        }
+
+        private Expression parseNot(Scope scope) {
+            if (acceptKeyword(Operators.NOT)) {
+                if (acceptKeyword("exists")) {
+                    return Exists.of(parseSubQuery(scope), true);
+                }
+
+                Token start = peek();
+                return Not.of(bool(parseNot(scope), start));
+            }
+
+            return parsePredicate(scope);
+        }
+
+        private Expression parsePredicate(Scope scope) {
+            if (acceptKeyword("exists")) {
+                return Exists.of(parseSubQuery(scope));
+            }
+
+            Token start = peek();
+            Expression left = parseAdditive(scope);
+            Token token = peek();
+            String operator = comparisonOperator(token);
+            if (operator != null) {
+                index++;
+                ScalarExpression right;
+                if ((peek().is(Operators.ALL) || peek().is(Operators.ANY) || peek().is(Operators.SOME))
+                        && peek(1).isSymbol("(")) {
+                    String type = next().text.toLowerCase(Locale.ROOT);
+                    right = SubQueryOperator.of(type, parseSubQuery(scope));
+                } else {
+                    Token operand = peek();
+                    right = scalar(parseAdditive(scope), operand);
+                }
+
+                return BinaryComparisonOperation.of(scalar(left, start), operator, right);
+            }
+
+            boolean negate = false;
+            if (token.is(Operators.NOT)
+                    && (peek(1).is("in") || peek(1).is("between") || peek(1).is("like"))) {
+                index++;
+                negate = true;
+            }
+
+            if (acceptKeyword("in")) {
+                return In.of(left, parseInValues(scope), negate);
+            } else if (acceptKeyword("between")) {
+                Token lower = peek();
+                ScalarExpression lowerBound = scalar(parseAdditive(scope), lower);
+                expectKeyword("and");
+                Token upper = peek();
+                ScalarExpression upperBound = scalar(parseAdditive(scope), upper);
+                return Between.of(scalar(left, start), lowerBound, upperBound, negate);
+            } else if (acceptKeyword("like")) {
+                Token pattern = peek();
+                ScalarExpression expression = scalar(parseAdditive(scope), pattern);
+                StringLiteral escape = null;
+                if (acceptKeyword("escape")) {
+                    escape = StringLiteral.of(expect(TokenType.STRING, "a string literal").text);
+                }
+
+                return Like.of(left, expression, escape, negate);
+            } else if (acceptKeyword("is")) {
+                boolean not = acceptKeyword(Operators.NOT);
+                expectKeyword("null");
+                return IsNull.of(left, not);
+            } else if (negate) {
+                throw error("in, between or like");
+            }
+
+            return left;
+        }
+
+        private String comparisonOperator(Token token) {
+            if (token.type == TokenType.SYMBOL) {
+                switch (token.text) {
+                    case "=":
+                    case "<>":
+                    case "<":
+                    case "<=":
+                    case ">":
+                    case ">=":
+                    case "&&":
+                        return token.text;
+                    case "!=":
+                        return Operators.NOT_EQUAL_TO;
+                }
+            }
+
+            return null;
+        }
+
+        private QueryExpression parseInValues(Scope scope) {
+            if (peek().isSymbol("(") && isQueryAhead(index)) {
+                return parseSubQuery(scope);
+            }
+
+            expectSymbol("(");
+            LiteralList values = LiteralList.empty();
+            do {
+                Token token = peek();
+                if (!(parseAdditive(scope) instanceof Literal<?> literal)) {
+                    throw new SqlParseException("Only literals are supported in an in list.", token.start);
+                }
+
+                values.add(literal);
+            } while (acceptSymbol(","));
+
+            expectSymbol(")");
+            return values;
+        }
+
+        private QueryStatement<?> parseSubQuery(Scope scope) {
+            expectSymbol("(");
+            QueryStatement<?> query = parseQuery(scope);
+            expectSymbol(")");
+            return query;
+        }
+
+        private Expression parseAdditive(Scope scope) {
+            Token start = peek();
+            Expression expression = parseMultiplicative(scope);
+            while (peek().isSymbol(Operators.PLUS)
+                    || peek().isSymbol(Operators.MINUS)
+                    || peek().isSymbol(Operators.CONCAT)) {
+                String operator = next().text;
+                Token operand = peek();
+                expression = ArithmeticOperation.of(scalar(expression, start), operator,
+                        scalar(parseMultiplicative(scope), operand));
+            }
+
+            return expression;
+        }
+
+        private Expression parseMultiplicative(Scope scope) {
+            Token start = peek();
+            Expression expression = parseUnary(scope);
+            while (peek().isSymbol(Operators.MULTIPLY)
+                    || peek().isSymbol(Operators.DIVIDE)
+                    || peek().isSymbol(Operators.MODULO)) {
+                String operator = next().text;
+                Token operand = peek();
+                expression = ArithmeticOperation.of(scalar(expression, start), operator,
+                        scalar(parseUnary(scope), operand));
+            }
+
+            return expression;
+        }
+
+        private Expression parseUnary(Scope scope) {
+            Expression expression;
+            if (peek().isSymbol(Operators.MINUS) && peek(1).type == TokenType.NUMBER) {
+                Token sign = next();
+                expression = number("-" + next().text, sign.start);
+            } else if (acceptSymbol(Operators.MINUS)) {
+                Token operand = peek();
+                return ArithmeticOperation.of(IntegerLiteral.of(0), Operators.MINUS,
+                        scalar(parseUnary(scope), operand));
+            } else {
+                acceptSymbol(Operators.PLUS);
+                expression = parsePrimary(scope);
+            }
+
+            while (true) {
+                if (acceptKeyword(Operators.COLLATE)) {
+                    expression = Collate.of(expression, expectName());
+                } else if (acceptSymbol("::")) {
+                    expression = Cast.of(expression, parseTypeName(false));
+                } else {
+                    return expression;
+                }
+            }
+        }
+
+        private Expression parsePrimary(Scope scope) {
+            Token token = peek();
+            switch (token.type) {
+                case NUMBER:
+                case STRING:
+                case PLACEHOLDER:
+                case NAMED_PLACEHOLDER:
+                    return parseLiteral();
+                case SYMBOL:
+                    if (token.isSymbol("(")) {
+                        if (isQueryAhead(index)) {
+                            return parseSubQuery(scope);
+                        }
+
+                        index++;
+                        Expression expression = parseOr(scope);
+                        expectSymbol(")");
+                        return expression;
+                    } else if (token.isSymbol("{")) {
+                        return parseLiteral();
+                    }
+
+                    break;
+                case IDENTIFIER:
+                    if (token.is("true") || token.is("false") || token.is("null")
+                            || ((token.is("date") || token.is("timestamp"))
+                            && peek(1).type == TokenType.STRING)) {
+                        return parseLiteral();
+                    } else if (token.is("case")) {
+                        return parseCase(scope);
+                    } else if (token.is("cast") && peek(1).isSymbol("(")) {
+                        index += 2;
+                        Expression expression = parseOr(scope);
+                        expectKeyword("as");
+                        Cast cast = Cast.of(expression, parseTypeName(true));
+                        expectSymbol(")");
+                        return cast;
+                    } else if (!RESERVED.contains(token.text.toLowerCase(Locale.ROOT))) {
+                        return parseReference(scope);
+                    }
+
+                    break;
+                case QUOTED_IDENTIFIER:
+                    return parseReference(scope);
+            }
+
+            throw error("an expression");
+        }
+
+        private Expression parseReference(Scope scope) {
+            Token start = peek();
+            List<String> parts = new ArrayList<>();
+            parts.add(expectIdentifier());
+            while (acceptSymbol(".")) {
+                if (acceptSymbol("*")) {
+                    return WildcardColumn.of(resolve(parts, scope, start));
+                }
+
+                parts.add(expectName());
+            }
+
+            if (peek().isSymbol("(")) {
+                return parseFunction(parts, scope);
+            }
+
+            String name = parts.remove(parts.size() - 1);
+            if (parts.isEmpty()) {
+                for (Scope current = scope; current != null; current = current.parent) {
+                    if (!current.tables.isEmpty()) {
+                        if (current.tables.size() > 1) {
+                            throw new SqlParseException("The column reference '" + name +
+                                    "' is ambiguous and must be qualified.", start.start);
+                        }
+
+                        return current.tables.get(0).column(name);
+                    }
+                }
+
+                throw new SqlParseException("The column reference '" + name + "' cannot be resolved.",
+                        start.start);
+            }
+
+            return resolve(parts, scope, start).column(name);
+        }
+
+        private Table resolve(List<String> qualifier, Scope scope, Token start) {
+            String name = qualifier.get(qualifier.size() - 1);
+            Table table = scope.lookup(name);
+            if (table == null) {
+                throw new SqlParseException("The table or alias '" + name + "' cannot be resolved.", start.start);
+            }
+
+            return table;
+        }
+
+        private Expression parseFunction(List<String> parts, Scope scope) {
+            expectSymbol("(");
+            Function function = Function.of(parts.get(parts.size() - 1));
+            if (parts.size() > 1) {
+                function.setSchema(String.join(".", parts.subList(0, parts.size() - 1)));
+            }
+
+            while (peek().is("distinct") || peek().is("all")) {
+                function.qualifier(next().text.toLowerCase(Locale.ROOT));
+            }
+
+            if (!peek().isSymbol(")")) {
+                do {
+                    function.add(acceptSymbol("*") ? Column.WILDCARD : parseOr(scope));
+                } while (acceptSymbol(","));
+            }
+
+            expectSymbol(")");
+            if (acceptKeyword("over")) {
+                return WindowFunction.of(function, peek().isSymbol("(") ?
+                        parseWindow(scope) :
+                        Window.newInstance().references(expectIdentifier()));
+            }
+
+            return function;
+        }
+
+        private Case parseCase(Scope scope) {
+            expectKeyword("case");
+            Expression operand = null;
+            Token start = peek();
+            if (!start.is("when")) {
+                operand = parseAdditive(scope);
+            }
+
+            Case expression = Case.newInstance();
+            do {
+                expectKeyword("when");
+                Token token = peek();
+                BooleanExpression condition = operand != null ?
+                        Operators.eq(scalar(operand, start), scalar(parseAdditive(scope), token)) :
+                        bool(parseOr(scope), token);
+                expectKeyword("then");
+                expression.when(condition).then(parseOr(scope));
+            } while (peek().is("when"));
+
+            if (acceptKeyword("else")) {
+                expression.orElse(parseOr(scope));
+            }
+
+            expectKeyword("end");
+            return expression;
+        }
+
+        private String parseTypeName(boolean multipleWords) {
+            Token first = expect(TokenType.IDENTIFIER, "a type name");
+            Token last = first;
+            while (multipleWords && peek().type == TokenType.IDENTIFIER) {
+                last = next();
+            }
+
+            if (peek().isSymbol("(")) {
+                int depth = 0;
+                do {
+                    Token token = next();
+                    if (token.type == TokenType.END) {
+                        throw error("')'");
+                    } else if (token.isSymbol("(")) {
+                        depth++;
+                    } else if (token.isSymbol(")")) {
+                        depth--;
+                    }
+
+                    last = token;
+                } while (depth > 0);
+            }
+
+            return sql.substring(first.start, last.end);
+        }
+
+        private Literal<?> parseLiteral() {
+            Token token = next();
+            switch (token.type) {
+                case NUMBER:
+                    return number(token.text, token.start);
+                case STRING:
+                    return StringLiteral.of(token.text);
+                case PLACEHOLDER:
+                    return Placeholder.empty();
+                case NAMED_PLACEHOLDER:
+                    return placeholders.computeIfAbsent(token.text, Placeholder::named);
+                case SYMBOL:
+                    if (token.isSymbol("{")) {
+                        Token type = expect(TokenType.IDENTIFIER, "a JDBC escape type");
+                        Literal<?> literal = temporal(type.text, expect(TokenType.STRING, "a string literal"));
+                        expectSymbol("}");
+                        return literal;
+                    }
+
+                    break;
+                case IDENTIFIER:
+                    if (token.is("true")) {
+                        return BooleanLiteral.TRUE;
+                    } else if (token.is("false")) {
+                        return BooleanLiteral.FALSE;
+                    } else if (token.is("null")) {
+                        return NullLiteral.getInstance();
+                    } else if (token.is("date") || token.is("timestamp")) {
+                        return temporal(token.text, expect(TokenType.STRING, "a string literal"));
+                    }
+            }
+
+            index--;
+            throw error("a literal");
+        }
+
+        private Literal<?> number(String text, int position) {
+            try {
+                if (text.indexOf('.') != -1 || text.indexOf('e') != -1 || text.indexOf('E') != -1) {
+                    return DoubleLiteral.of(Double.parseDouble(text));
+                } else {
+                    return IntegerLiteral.of(Long.parseLong(text));
+                }
+            } catch (NumberFormatException e) {
+                throw new SqlParseException("The integer literal " + text + " is out of range.", position, e);
+            }
+        }
+
+        private Literal<?> temporal(String type, Token value) {
+            try {
+                if (type.equalsIgnoreCase("d") || type.equalsIgnoreCase("date")) {
+                    return DateLiteral.of(Date.valueOf(value.text));
+                } else if (type.equalsIgnoreCase("ts") || type.equalsIgnoreCase("timestamp")) {
+                    return TimestampLiteral.of(Timestamp.valueOf(value.text));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new SqlParseException("Invalid " + type + " literal '" + value.text + "'.", value.start, e);
+            }
+
+            throw new SqlParseException("Unsupported literal type '" + type + "'.", value.start);
+        }
+
+        private BooleanExpression parseCondition(Scope scope) {
+            Token start = peek();
+            return bool(parseOr(scope), start);
+        }
+
+        private BooleanExpression bool(Expression expression, Token token) {
+            if (expression instanceof BooleanExpression booleanExpression) {
+                return booleanExpression;
+            }
+
+            throw new SqlParseException("Expected a boolean expression at position " + token.start + ".",
+                    token.start);
+        }
+
+        private ScalarExpression scalar(Expression expression, Token token) {
+            if (expression instanceof ScalarExpression scalarExpression) {
+                return scalarExpression;
+            }
+
+            throw new SqlParseException("Expected a scalar expression at position " + token.start + ".",
+                    token.start);
+        }
+
+        private boolean isQueryAhead(int position) {
+            while (position < tokens.size() && tokens.get(position).isSymbol("(")) {
+                position++;
+            }
+
+            return position < tokens.size()
+                    && (tokens.get(position).is("select") || tokens.get(position).is("with"));
+        }
+
+        private List<String> parseQualifiedName() {
+            List<String> parts = new ArrayList<>();
+            parts.add(expectIdentifier());
+            while (acceptSymbol(".")) {
+                parts.add(expectName());
+            }
+
+            return parts;
+        }
+
+        private String expectIdentifier() {
+            Token token = peek();
+            if (token.type == TokenType.QUOTED_IDENTIFIER
+                    || (token.type == TokenType.IDENTIFIER
+                    && !RESERVED.contains(token.text.toLowerCase(Locale.ROOT)))) {
+                return next().text;
+            }
+
+            throw error("an identifier");
+        }
+
+        private String expectName() {
+            Token token = peek();
+            if (token.type == TokenType.IDENTIFIER || token.type == TokenType.QUOTED_IDENTIFIER) {
+                return next().text;
+            }
+
+            throw error("a name");
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            if (peek().is(keyword)) {
+                index++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void expectKeyword(String keyword) {
+            if (!acceptKeyword(keyword)) {
+                throw error("'" + keyword + "'");
+            }
+        }
+
+        private boolean acceptSymbol(String symbol) {
+            if (peek().isSymbol(symbol)) {
+                index++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void expectSymbol(String symbol) {
+            if (!acceptSymbol(symbol)) {
+                throw error("'" + symbol + "'");
+            }
+        }
+
+        private Token expect(TokenType type, String description) {
+            if (peek().type != type) {
+                throw error(description);
+            }
+
+            return next();
+        }
+
+        private Token peek() {
+            return tokens.get(index);
+        }
+
+        private Token peek(int ahead) {
+            return tokens.get(Math.min(index + ahead, tokens.size() - 1));
+        }
+
+        private Token next() {
+            Token token = tokens.get(index);
+            if (token.type != TokenType.END) {
+                index++;
+            }
+
+            return token;
+        }
+
+        private SqlParseException error(String expected) {
+            Token token = peek();
+            return new SqlParseException("Expected " + expected + " but found " + token.describe() +
+                    " at position " + token.start + ".", token.start);
+        }
+    }
+
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                if (end == -1) {
+                    throw new SqlParseException("Unterminated comment at position " + start + ".", start);
+                }
+
+                if (i + 2 < length && sql.charAt(i + 2) == '+') {
+                    tokens.add(new Token(TokenType.HINT, sql.substring(i + 3, end).trim(), start, end + 2));
+                }
+
+                i = end + 2;
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < length && isIdentifierPart(sql.charAt(i))) {
+                    i++;
+                }
+
+                tokens.add(new Token(TokenType.IDENTIFIER, sql.substring(start, i), start, i));
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(sql.charAt(i + 1)))) {
+                while (i < length && Character.isDigit(sql.charAt(i))) {
+                    i++;
+                }
+
+                if (i < length && sql.charAt(i) == '.') {
+                    i++;
+                    while (i < length && Character.isDigit(sql.charAt(i))) {
+                        i++;
+                    }
+                }
+
+                if (i < length && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+                    int exponent = i + 1;
+                    if (exponent < length && (sql.charAt(exponent) == '+' || sql.charAt(exponent) == '-')) {
+                        exponent++;
+                    }
+
+                    if (exponent < length && Character.isDigit(sql.charAt(exponent))) {
+                        i = exponent;
+                        while (i < length && Character.isDigit(sql.charAt(i))) {
+                            i++;
+                        }
+                    }
+                }
+
+                tokens.add(new Token(TokenType.NUMBER, sql.substring(start, i), start, i));
+            } else if (c == '\'' || c == '"') {
+                StringBuilder value = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new SqlParseException("Unterminated " + (c == '\'' ? "string literal" : "identifier") +
+                                " at position " + start + ".", start);
+                    } else if (sql.charAt(i) == c) {
+                        if (i + 1 < length && sql.charAt(i + 1) == c) {
+                            value.append(c);
+                            i += 2;
+                        } else {
+                            i++;
+                            break;
+                        }
+                    } else {
+                        value.append(sql.charAt(i++));
+                    }
+                }
+
+                tokens.add(c == '\'' ?
+                        new Token(TokenType.STRING, value.toString(), start, i) :
+                        new Token(TokenType.QUOTED_IDENTIFIER, sql.substring(start, i), start, i));
+            } else if (c == '?') {
+                tokens.add(new Token(TokenType.PLACEHOLDER, "?", start, ++i));
+            } else if (c == '$' && i + 1 < length && Character.isDigit(sql.charAt(i + 1))) {
+                i++;
+                while (i < length && Character.isDigit(sql.charAt(i))) {
+                    i++;
+                }
+
+                tokens.add(new Token(TokenType.NAMED_PLACEHOLDER, sql.substring(start + 1, i), start, i));
+            } else if (c == ':' && i + 1 < length && (Character.isLetter(sql.charAt(i + 1)) || sql.charAt(i + 1) == '_')) {
+                i++;
+                while (i < length && isIdentifierPart(sql.charAt(i))) {
+                    i++;
+                }
+
+                tokens.add(new Token(TokenType.NAMED_PLACEHOLDER, sql.substring(start + 1, i), start, i));
+            } else {
+                String symbol = i + 1 < length ? sql.substring(i, i + 2) : null;
+                if ("<=".equals(symbol) || ">=".equals(symbol) || "<>".equals(symbol) || "!=".equals(symbol)
+                        || "||".equals(symbol) || "::".equals(symbol) || "&&".equals(symbol)) {
+                    i += 2;
+                } else if ("(),.*+-/%=<>{};".indexOf(c) != -1) {
+                    symbol = String.valueOf(c);
+                    i++;
+                } else {
+                    throw new SqlParseException("Unexpected character '" + c + "' at position " + start + ".", start);
+                }
+
+                tokens.add(new Token(TokenType.SYMBOL, symbol, start, i));
+            }
+        }
+
+        tokens.add(new Token(TokenType.END, "", length, length));
+        return tokens;
+    }
+
+    private static String key(String name) {
+        return name.length() > 1 && name.charAt(0) == '"' ?
+                name.substring(1, name.length() - 1).replace("\"\"", "\"") :
+                name.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
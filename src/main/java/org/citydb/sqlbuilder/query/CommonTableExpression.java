@@ -32,6 +32,8 @@ public class CommonTableExpression implements SqlObject {
     private final QueryExpression expression;
     private final List<String> columns;
     private final Table table;
+    private Boolean materialized;
+    private long modificationCount;
 
     private CommonTableExpression(String name, QueryExpression expression, List<String> columns) {
         this.name = Objects.requireNonNull(name, "The name must not be null.");
@@ -64,6 +66,29 @@ public class CommonTableExpression implements SqlObject {
         return table;
     }
 
+    public Optional<Boolean> getMaterialized() {
+        return Optional.ofNullable(materialized);
+    }
+
+    public CommonTableExpression materialized(Boolean materialized) {
+        this.materialized = materialized;
+        modificationCount++;
+        return this;
+    }
+
+    public CommonTableExpression materialized() {
+        return materialized(true);
+    }
+
+    public CommonTableExpression notMaterialized() {
+        return materialized(false);
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -71,6 +96,6 @@ public class CommonTableExpression implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
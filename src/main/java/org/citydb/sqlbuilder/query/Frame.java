@@ -109,6 +109,6 @@ public class Frame implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
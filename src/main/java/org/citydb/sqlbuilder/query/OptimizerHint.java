@@ -0,0 +1,132 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.query;
+
+import org.citydb.sqlbuilder.schema.Table;
+
+import java.util.*;
+
+public class OptimizerHint {
+    private final Type type;
+    private final List<Table> tables;
+    private final List<String> indexes;
+    private final int degree;
+
+    public enum Type {
+        INDEX,
+        PARALLEL,
+        LEADING,
+        JOIN_ORDER,
+        NO_MERGE
+    }
+
+    private OptimizerHint(Type type, List<Table> tables, List<String> indexes, int degree) {
+        this.type = type;
+        this.tables = tables;
+        this.indexes = indexes;
+        this.degree = degree;
+    }
+
+    public static OptimizerHint of(Type type, List<Table> tables, List<String> indexes, int degree) {
+        Objects.requireNonNull(type, "The hint type must not be null.");
+        tables = tables != null ? new ArrayList<>(tables) : new ArrayList<>();
+        indexes = indexes != null ? new ArrayList<>(indexes) : new ArrayList<>();
+        tables.forEach(table -> Objects.requireNonNull(table, "The table must not be null."));
+        indexes.forEach(index -> Objects.requireNonNull(index, "The index name must not be null."));
+        switch (type) {
+            case INDEX:
+                if (tables.size() != 1) {
+                    throw new IllegalArgumentException("An index hint requires exactly one table.");
+                }
+                break;
+            case PARALLEL:
+                if (tables.size() > 1) {
+                    throw new IllegalArgumentException("A parallel hint accepts at most one table.");
+                } else if (degree < 1) {
+                    throw new IllegalArgumentException("The degree of parallelism must be positive.");
+                }
+                break;
+            case LEADING:
+                if (tables.isEmpty()) {
+                    throw new IllegalArgumentException("A leading hint requires at least one table.");
+                }
+                break;
+            case JOIN_ORDER:
+                if (tables.size() == 1) {
+                    throw new IllegalArgumentException("A join order hint requires no or at least two tables.");
+                }
+                break;
+            case NO_MERGE:
+                if (tables.size() > 1) {
+                    throw new IllegalArgumentException("A no merge hint accepts at most one table.");
+                }
+                break;
+        }
+
+        return new OptimizerHint(type, tables, indexes, degree);
+    }
+
+    public static OptimizerHint index(Table table, String... indexes) {
+        return of(Type.INDEX, List.of(table), indexes != null ? Arrays.asList(indexes) : null, 0);
+    }
+
+    public static OptimizerHint parallel(int degree) {
+        return of(Type.PARALLEL, null, null, degree);
+    }
+
+    public static OptimizerHint parallel(Table table, int degree) {
+        return of(Type.PARALLEL, List.of(table), null, degree);
+    }
+
+    public static OptimizerHint leading(Table... tables) {
+        return of(Type.LEADING, tables != null ? Arrays.asList(tables) : null, null, 0);
+    }
+
+    public static OptimizerHint joinOrder(Table... tables) {
+        return of(Type.JOIN_ORDER, tables != null ? Arrays.asList(tables) : null, null, 0);
+    }
+
+    public static OptimizerHint noMerge() {
+        return of(Type.NO_MERGE, null, null, 0);
+    }
+
+    public static OptimizerHint noMerge(Table table) {
+        return of(Type.NO_MERGE, List.of(table), null, 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    public List<String> getIndexes() {
+        return indexes;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+}
@@ -36,6 +36,7 @@ public class OrderBy implements SqlObject {
     private final Selection<?> sortExpression;
     private final String sortOrder;
     private String nullOrder;
+    private long modificationCount;
 
     private OrderBy(Selection<?> sortExpression, String sortOrder, String nullOrder) {
         this.sortExpression = Objects.requireNonNull(sortExpression, "The sort expression must not be null.");
@@ -69,19 +70,27 @@ public class OrderBy implements SqlObject {
 
     public OrderBy nullsFirst() {
         nullOrder = NULLS_FIRST;
+        modificationCount++;
         return this;
     }
 
     public OrderBy nullsLast() {
         nullOrder = NULLS_LAST;
+        modificationCount++;
         return this;
     }
 
     public OrderBy nullOrder(String nullOrder) {
         this.nullOrder = nullOrder;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -89,6 +98,6 @@ public class OrderBy implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
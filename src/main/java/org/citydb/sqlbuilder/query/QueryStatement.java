@@ -22,16 +22,15 @@
 package org.citydb.sqlbuilder.query;
 
 import org.citydb.sqlbuilder.common.Expression;
+import org.citydb.sqlbuilder.common.PlaceholderCache;
 import org.citydb.sqlbuilder.function.Function;
 import org.citydb.sqlbuilder.literal.IntegerLiteral;
 import org.citydb.sqlbuilder.literal.Literal;
+import org.citydb.sqlbuilder.literal.Placeholder;
 import org.citydb.sqlbuilder.operation.Operation;
 import org.citydb.sqlbuilder.schema.Column;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 public abstract class QueryStatement<T extends QueryStatement<?>> implements QueryExpression {
     protected final List<Column> groupBy;
@@ -40,6 +39,21 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
     protected final List<OrderBy> orderBy;
     protected Literal<?> offset;
     protected Literal<?> fetch;
+    private final long[] modificationCounts = new long[Clause.values().length];
+    private long modificationCount;
+    private final PlaceholderCache placeholders = PlaceholderCache.newInstance();
+
+    public enum Clause {
+        WITH,
+        SELECT,
+        FROM,
+        WHERE,
+        GROUP_BY,
+        HAVING,
+        WINDOW,
+        ORDER_BY,
+        OFFSET_FETCH
+    }
 
     protected abstract T self();
 
@@ -68,11 +82,13 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
             groupBy.addAll(Arrays.asList(columns));
         }
 
+        modified(Clause.GROUP_BY);
         return self();
     }
 
     public T removeGroupBy() {
         groupBy.clear();
+        modified(Clause.GROUP_BY);
         return self();
     }
 
@@ -85,6 +101,7 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
             having.addAll(Arrays.asList(operations));
         }
 
+        modified(Clause.HAVING);
         return self();
     }
 
@@ -93,11 +110,13 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
             having.addAll(Arrays.asList(functions));
         }
 
+        modified(Clause.HAVING);
         return self();
     }
 
     public T removeHaving() {
         having.clear();
+        modified(Clause.HAVING);
         return self();
     }
 
@@ -110,16 +129,19 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
             this.window.addAll(Arrays.asList(windows));
         }
 
+        modified(Clause.WINDOW);
         return self();
     }
 
     public T window(java.util.function.Function<Window, Window> builder) {
         window.add(builder.apply(Window.newInstance()));
+        modified(Clause.WINDOW);
         return self();
     }
 
     public T removeWindow() {
         window.clear();
+        modified(Clause.WINDOW);
         return self();
     }
 
@@ -132,16 +154,19 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
             this.orderBy.addAll(Arrays.asList(orderBy));
         }
 
+        modified(Clause.ORDER_BY);
         return self();
     }
 
     public T orderBy(Column column) {
         orderBy.add(OrderBy.of(column));
+        modified(Clause.ORDER_BY);
         return self();
     }
 
     public T removeOrderBy() {
         orderBy.clear();
+        modified(Clause.ORDER_BY);
         return self();
     }
 
@@ -164,11 +189,13 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
     public T offset(Literal<?> offset, Literal<?> fetch) {
         this.offset = offset;
         this.fetch = fetch;
+        modified(Clause.OFFSET_FETCH);
         return self();
     }
 
     public T removeOffset() {
         offset = null;
+        modified(Clause.OFFSET_FETCH);
         return self();
     }
 
@@ -182,15 +209,51 @@ public abstract class QueryStatement<T extends QueryStatement<?>> implements Que
 
     public T fetch(Literal<?> fetch) {
         this.fetch = fetch;
+        modified(Clause.OFFSET_FETCH);
         return self();
     }
 
     public T removeFetch() {
         fetch = null;
+        modified(Clause.OFFSET_FETCH);
         return self();
     }
 
     public CommonTableExpression cte(String name, String... columns) {
         return CommonTableExpression.of(name, this, columns);
     }
+
+    @Override
+    public List<Placeholder> getPlaceholders() {
+        return placeholders.get(this);
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public long getModificationCount(Clause clause) {
+        return modificationCounts[clause.ordinal()];
+    }
+
+    public T invalidate() {
+        modified();
+        return self();
+    }
+
+    protected void modified(Clause clause) {
+        placeholders.clear();
+        modificationCounts[clause.ordinal()]++;
+        modificationCount++;
+    }
+
+    protected void modified() {
+        placeholders.clear();
+        for (int i = 0; i < modificationCounts.length; i++) {
+            modificationCounts[i]++;
+        }
+
+        modificationCount++;
+    }
 }
@@ -36,6 +36,7 @@ import java.util.Optional;
 
 public class Select extends QueryStatement<Select> implements Selection<Select> {
     private final List<String> hints;
+    private final List<OptimizerHint> optimizerHints;
     private final List<CommonTableExpression> with;
     private final List<Selection<?>> select;
     private final List<Table> from;
@@ -47,6 +48,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
 
     private Select() {
         hints = new ArrayList<>();
+        optimizerHints = new ArrayList<>();
         with = new ArrayList<>();
         select = new ArrayList<>();
         from = new ArrayList<>();
@@ -57,6 +59,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
     private Select(Select other) {
         super(other);
         hints = new ArrayList<>(other.hints);
+        optimizerHints = new ArrayList<>(other.optimizerHints);
         with = new ArrayList<>(other.with);
         select = new ArrayList<>(other.select);
         from = new ArrayList<>(other.from);
@@ -85,6 +88,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
 
     public Select distinct(boolean distinct) {
         this.distinct = distinct;
+        modified(Clause.SELECT);
         return this;
     }
 
@@ -97,11 +101,27 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
             this.hints.addAll(Arrays.asList(hints));
         }
 
+        modified(Clause.SELECT);
+        return this;
+    }
+
+    public List<OptimizerHint> getOptimizerHints() {
+        return optimizerHints;
+    }
+
+    public Select hint(OptimizerHint... hints) {
+        if (hints != null) {
+            optimizerHints.addAll(Arrays.asList(hints));
+        }
+
+        modified(Clause.SELECT);
         return this;
     }
 
     public Select removeHints() {
         hints.clear();
+        optimizerHints.clear();
+        modified(Clause.SELECT);
         return this;
     }
 
@@ -122,6 +142,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
             with.addAll(Arrays.asList(ctes));
         }
 
+        modified(Clause.WITH);
         return this;
     }
 
@@ -135,11 +156,13 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
             withRecursive = true;
         }
 
+        modified(Clause.WITH);
         return this;
     }
 
     public Select removeWith() {
         with.clear();
+        modified(Clause.WITH);
         return this;
     }
 
@@ -156,11 +179,13 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
             select.addAll(selections);
         }
 
+        modified(Clause.SELECT);
         return this;
     }
 
     public Select removeSelect() {
         select.clear();
+        modified(Clause.SELECT);
         return this;
     }
 
@@ -177,11 +202,13 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
             this.from.addAll(Arrays.asList(from));
         }
 
+        modified(Clause.FROM);
         return this;
     }
 
     public Select removeFrom() {
         from.clear();
+        modified(Clause.FROM);
         return this;
     }
 
@@ -194,6 +221,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
             this.joins.addAll(Arrays.asList(joins));
         }
 
+        modified(Clause.FROM);
         return this;
     }
 
@@ -223,6 +251,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
 
     public Select removeJoins() {
         joins.clear();
+        modified(Clause.FROM);
         return this;
     }
 
@@ -235,11 +264,13 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
             where.addAll(Arrays.asList(operators));
         }
 
+        modified(Clause.WHERE);
         return this;
     }
 
     public Select removeWhere() {
         where.clear();
+        modified(Clause.WHERE);
         return this;
     }
 
@@ -260,9 +291,15 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Select as(String alias) {
         this.alias = alias;
+        modified();
         return this;
     }
 
@@ -273,7 +310,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 
     @Override
@@ -300,6 +337,7 @@ public class Select extends QueryStatement<Select> implements Selection<Select>
                 }
             }
 
+            modified(Clause.FROM);
             return Select.this;
         }
     }
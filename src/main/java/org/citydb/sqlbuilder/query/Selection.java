@@ -28,5 +28,7 @@ import java.util.Optional;
 public interface Selection<T extends Selection<?>> extends Expression {
     Optional<String> getAlias();
 
+    String getAliasOrNull();
+
     T as(String alias);
 }
@@ -71,6 +71,7 @@ public class SetOperator extends QueryStatement<SetOperator> {
                     .forEach(this.operands::add);
         }
 
+        modified();
         return this;
     }
 
@@ -81,7 +82,7 @@ public class SetOperator extends QueryStatement<SetOperator> {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 
     @Override
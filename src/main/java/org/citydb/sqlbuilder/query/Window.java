@@ -39,6 +39,7 @@ public class Window implements SqlObject {
     private String name;
     private Frame frame;
     private String reference;
+    private long modificationCount;
 
     private Window(String name, List<? extends Expression> partitionBy, List<OrderBy> orderBy, Frame frame, String reference) {
         this.name = name;
@@ -87,6 +88,7 @@ public class Window implements SqlObject {
     public String getOrCreateName(AliasGenerator aliasGenerator) {
         if (name == null) {
             name = aliasGenerator.next();
+            modificationCount++;
         }
 
         return name;
@@ -98,6 +100,7 @@ public class Window implements SqlObject {
 
     public Window name(String name) {
         this.name = name;
+        modificationCount++;
         return this;
     }
 
@@ -108,6 +111,7 @@ public class Window implements SqlObject {
     public Window partitionBy(List<? extends Expression> expressions) {
         if (expressions != null && !expressions.isEmpty()) {
             partitionBy.addAll(expressions);
+            modificationCount++;
         }
 
         return this;
@@ -124,6 +128,7 @@ public class Window implements SqlObject {
     public Window orderBy(OrderBy... orderBy) {
         if (orderBy != null) {
             this.orderBy.addAll(Arrays.asList(orderBy));
+            modificationCount++;
         }
 
         return this;
@@ -132,6 +137,7 @@ public class Window implements SqlObject {
     public Window orderBy(Column column) {
         if (column != null) {
             orderBy.add(OrderBy.of(column));
+            modificationCount++;
         }
 
         return this;
@@ -143,6 +149,7 @@ public class Window implements SqlObject {
 
     public Window frame(Frame frame) {
         this.frame = frame;
+        modificationCount++;
         return this;
     }
 
@@ -156,6 +163,7 @@ public class Window implements SqlObject {
 
     public Window references(String reference) {
         this.reference = reference;
+        modificationCount++;
         return this;
     }
 
@@ -193,6 +201,11 @@ public class Window implements SqlObject {
         return new FrameBuilder(units);
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -200,7 +213,7 @@ public class Window implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 
     public class FrameBuilder {
@@ -211,28 +224,23 @@ public class Window implements SqlObject {
         }
 
         public Window currentRow() {
-            frame = Frame.of(units, Frame.CURRENT_ROW);
-            return Window.this;
+            return frame(Frame.of(units, Frame.CURRENT_ROW));
         }
 
         public Window following(Literal<?> following) {
-            frame = Frame.of(units, Frame.FOLLOWING, following);
-            return Window.this;
+            return frame(Frame.of(units, Frame.FOLLOWING, following));
         }
 
         public Window preceding(Literal<?> preceding) {
-            frame = Frame.of(units, Frame.PRECEDING, preceding);
-            return Window.this;
+            return frame(Frame.of(units, Frame.PRECEDING, preceding));
         }
 
         public Window unboundedFollowing() {
-            frame = Frame.of(units, Frame.UNBOUNDED_FOLLOWING);
-            return Window.this;
+            return frame(Frame.of(units, Frame.UNBOUNDED_FOLLOWING));
         }
 
         public Window unboundedPreceding() {
-            frame = Frame.of(units, Frame.UNBOUNDED_PRECEDING);
-            return Window.this;
+            return frame(Frame.of(units, Frame.UNBOUNDED_PRECEDING));
         }
 
         public FrameBetweenBuilder betweenCurrentRow() {
@@ -268,28 +276,23 @@ public class Window implements SqlObject {
         }
 
         public Window andCurrentRow() {
-            frame = Frame.of(units, start, startExpression, Frame.CURRENT_ROW);
-            return Window.this;
+            return frame(Frame.of(units, start, startExpression, Frame.CURRENT_ROW));
         }
 
         public Window andFollowing(Literal<?> following) {
-            frame = Frame.of(units, start, startExpression, Frame.FOLLOWING, following);
-            return Window.this;
+            return frame(Frame.of(units, start, startExpression, Frame.FOLLOWING, following));
         }
 
         public Window andPreceding(Literal<?> preceding) {
-            frame = Frame.of(units, start, startExpression, Frame.PRECEDING, preceding);
-            return Window.this;
+            return frame(Frame.of(units, start, startExpression, Frame.PRECEDING, preceding));
         }
 
         public Window andUnboundedFollowing() {
-            frame = Frame.of(units, start, startExpression, Frame.UNBOUNDED_FOLLOWING);
-            return Window.this;
+            return frame(Frame.of(units, start, startExpression, Frame.UNBOUNDED_FOLLOWING));
         }
 
         public Window andUnboundedPreceding() {
-            frame = Frame.of(units, start, startExpression, Frame.UNBOUNDED_PRECEDING);
-            return Window.this;
+            return frame(Frame.of(units, start, startExpression, Frame.UNBOUNDED_PRECEDING));
         }
     }
 }
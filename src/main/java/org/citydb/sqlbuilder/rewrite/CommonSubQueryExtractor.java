@@ -0,0 +1,211 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.codec.SqlObjectWriter;
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.query.CommonTableExpression;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class CommonSubQueryExtractor {
+    private String prefix = "cse";
+    private int minOccurrences = 2;
+    private Boolean materialized;
+
+    private CommonSubQueryExtractor() {
+    }
+
+    public static CommonSubQueryExtractor newInstance() {
+        return new CommonSubQueryExtractor();
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public CommonSubQueryExtractor setPrefix(String prefix) {
+        this.prefix = Objects.requireNonNull(prefix, "The prefix must not be null.");
+        return this;
+    }
+
+    public int getMinOccurrences() {
+        return minOccurrences;
+    }
+
+    public CommonSubQueryExtractor setMinOccurrences(int minOccurrences) {
+        if (minOccurrences < 2) {
+            throw new IllegalArgumentException("The minimum number of occurrences must be at least 2.");
+        }
+
+        this.minOccurrences = minOccurrences;
+        return this;
+    }
+
+    public Optional<Boolean> getMaterialized() {
+        return Optional.ofNullable(materialized);
+    }
+
+    public CommonSubQueryExtractor materialized(Boolean materialized) {
+        this.materialized = materialized;
+        return this;
+    }
+
+    public <T extends SqlObject> T apply(T object) {
+        Objects.requireNonNull(object, "The SQL object must not be null.");
+        if (!(object instanceof Select) && !(object instanceof Update)) {
+            return object;
+        }
+
+        List<CommonTableExpression> extracted = new ArrayList<>();
+        Set<Select> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> names = new HashSet<>();
+        while (true) {
+            Collector collector = new Collector(object, replaced);
+            object.accept(collector);
+            // extract the largest subquery first so that enclosing duplicates are not split up
+            List<Select> occurrences = collector.candidates.entrySet().stream()
+                    .filter(entry -> entry.getValue().size() >= minOccurrences)
+                    .max(Comparator.comparingInt(entry -> entry.getKey().remaining()))
+                    .map(Map.Entry::getValue)
+                    .orElse(null);
+            if (occurrences == null) {
+                break;
+            }
+
+            // extracted expressions are only added to the statement at the end, so their names are tracked here
+            names.addAll(collector.names);
+            String name = name(names);
+            names.add(name.toLowerCase(Locale.ROOT));
+            CommonTableExpression cte = CommonTableExpression.of(name, Select.of(occurrences.get(0)))
+                    .materialized(materialized);
+            for (Select occurrence : occurrences) {
+                if (replaced.add(occurrence)) {
+                    replace(occurrence, Table.of(name));
+                }
+            }
+
+            extracted.add(cte);
+        }
+
+        if (!extracted.isEmpty()) {
+            if (object instanceof Select select) {
+                extracted.addAll(select.getWith());
+                select.removeWith().with(extracted.toArray(CommonTableExpression[]::new));
+            } else if (object instanceof Update update) {
+                extracted.addAll(update.getWith());
+                update.removeWith().with(extracted.toArray(CommonTableExpression[]::new));
+            }
+
+            Invalidator.invalidate(object);
+        }
+
+        return object;
+    }
+
+    private String name(Set<String> names) {
+        for (int i = 1; ; i++) {
+            String name = prefix + i;
+            if (!names.contains(name.toLowerCase(Locale.ROOT))) {
+                return name;
+            }
+        }
+    }
+
+    private void replace(Select select, Table table) {
+        select.removeWith()
+                .removeHints()
+                .distinct(false)
+                .removeSelect()
+                .select(Column.WILDCARD)
+                .removeFrom()
+                .from(table)
+                .removeJoins()
+                .removeWhere()
+                .removeGroupBy()
+                .removeHaving()
+                .removeWindow()
+                .removeOrderBy()
+                .removeOffset()
+                .removeFetch();
+    }
+
+    private class Collector extends SqlWalker {
+        private final SqlObject root;
+        private final Set<Select> replaced;
+        private final Map<ByteBuffer, List<Select>> candidates = new LinkedHashMap<>();
+        private final Set<String> names = new HashSet<>();
+        private final Set<Select> bodies = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<Select> selects = new ArrayList<>();
+        private final SqlObjectWriter writer = SqlObjectWriter.newInstance();
+
+        Collector(SqlObject root, Set<Select> replaced) {
+            this.root = root;
+            this.replaced = replaced;
+            root.accept(new SqlWalker() {
+                @Override
+                public void visit(CommonTableExpression expression) {
+                    names.add(expression.getName().toLowerCase(Locale.ROOT));
+                    if (expression.getQueryExpression() instanceof Select select) {
+                        bodies.add(select);
+                    }
+
+                    super.visit(expression);
+                }
+            });
+        }
+
+        @Override
+        public void visit(Select select) {
+            if (select != root && !bodies.contains(select) && !replaced.contains(select) && isCandidate(select)) {
+                candidates.computeIfAbsent(ByteBuffer.wrap(writer.write(Select.of(select))),
+                        k -> new ArrayList<>()).add(select);
+            }
+
+            super.visit(select);
+        }
+
+        private boolean isCandidate(Select select) {
+            TableScope scope = TableScope.of(select);
+            if (scope.isUnbound()) {
+                return false;
+            }
+
+            for (Table table : scope.getTables()) {
+                if (table.getQueryExpression().isEmpty()
+                        && table.getSchema().isEmpty()
+                        && names.contains(table.getName().toLowerCase(Locale.ROOT))) {
+                    return false;
+                }
+            }
+
+            return !scope.isCorrelated();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.SetOperator;
+import org.citydb.sqlbuilder.update.Update;
+
+import java.util.Objects;
+
+public class Invalidator extends SqlWalker {
+
+    private Invalidator() {
+    }
+
+    public static <T extends SqlObject> T invalidate(T object) {
+        Objects.requireNonNull(object, "The SQL object must not be null.");
+        object.accept(new Invalidator());
+        return object;
+    }
+
+    @Override
+    public void visit(Select select) {
+        select.invalidate();
+        super.visit(select);
+    }
+
+    @Override
+    public void visit(SetOperator operator) {
+        operator.invalidate();
+        super.visit(operator);
+    }
+
+    @Override
+    public void visit(Update update) {
+        update.invalidate();
+        super.visit(update);
+    }
+}
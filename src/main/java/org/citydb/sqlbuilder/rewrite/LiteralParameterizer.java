@@ -0,0 +1,222 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.SqlBuildOptions;
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.common.Expression;
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.literal.*;
+import org.citydb.sqlbuilder.operation.*;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.update.Update;
+
+import java.util.*;
+
+public class LiteralParameterizer {
+    private final Set<Class<?>> literalTypes = new HashSet<>(Set.of(IntegerLiteral.class, StringLiteral.class,
+            DoubleLiteral.class, DateLiteral.class, TimestampLiteral.class));
+
+    private LiteralParameterizer() {
+    }
+
+    public static LiteralParameterizer newInstance() {
+        return new LiteralParameterizer();
+    }
+
+    public boolean isParameterized(Class<? extends Literal<?>> type) {
+        return literalTypes.contains(type);
+    }
+
+    public LiteralParameterizer include(Class<? extends Literal<?>> type) {
+        Objects.requireNonNull(type, "The literal type must not be null.");
+        if (type == Placeholder.class || type == NullLiteral.class) {
+            throw new IllegalArgumentException("The literal type " + type.getSimpleName() + " cannot be parameterized.");
+        }
+
+        literalTypes.add(type);
+        return this;
+    }
+
+    public LiteralParameterizer exclude(Class<? extends Literal<?>> type) {
+        literalTypes.remove(type);
+        return this;
+    }
+
+    public <T extends SqlObject> Result<T> apply(T object) {
+        Objects.requireNonNull(object, "The SQL object must not be null.");
+        Rewriter rewriter = new Rewriter();
+        object.accept(rewriter);
+        if (rewriter.placeholders.isEmpty()) {
+            return new Result<>(object, List.of());
+        }
+
+        Invalidator.invalidate(object);
+
+        // the walker creates placeholders before descending into subqueries, so take the order from the statement
+        List<Placeholder> placeholders = new ArrayList<>(rewriter.placeholders.size());
+        for (Placeholder placeholder : object.toStatement().getPlaceholders()) {
+            if (rewriter.placeholders.contains(placeholder)) {
+                placeholders.add(placeholder);
+            }
+        }
+
+        return new Result<>(object, placeholders);
+    }
+
+    public static class Result<T extends SqlObject> {
+        private final T object;
+        private final List<Placeholder> placeholders;
+
+        private Result(T object, List<Placeholder> placeholders) {
+            this.object = object;
+            this.placeholders = Collections.unmodifiableList(placeholders);
+        }
+
+        public T getObject() {
+            return object;
+        }
+
+        public List<Placeholder> getPlaceholders() {
+            return placeholders;
+        }
+
+        public boolean isModified() {
+            return !placeholders.isEmpty();
+        }
+
+        public SqlStatement toStatement() {
+            return object.toStatement();
+        }
+
+        public SqlStatement toStatement(SqlBuildOptions options) {
+            return object.toStatement(options);
+        }
+    }
+
+    private class Rewriter extends SqlWalker {
+        private final Set<Placeholder> placeholders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @Override
+        public void visit(Select select) {
+            rewrite(select.getWhere());
+            rewrite(select.getHaving());
+            super.visit(select);
+        }
+
+        @Override
+        public void visit(Update update) {
+            rewrite(update.getWhere());
+            super.visit(update);
+        }
+
+        @Override
+        public void visit(Join join) {
+            rewrite(join.getConditions());
+            super.visit(join);
+        }
+
+        @Override
+        public void visit(BinaryLogicalOperation operation) {
+            rewrite(operation.getOperands());
+            super.visit(operation);
+        }
+
+        @Override
+        public void visit(In in) {
+            if (in.getRightOperand() instanceof LiteralList literalList) {
+                List<Literal<?>> literals = literalList.getLiterals();
+                for (int i = 0; i < literals.size(); i++) {
+                    if (isCandidate(literals.get(i))) {
+                        literals.set(i, placeholder(literals.get(i)));
+                    }
+                }
+            }
+
+            super.visit(in);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <E extends Expression> void rewrite(List<E> conditions) {
+            for (int i = 0; i < conditions.size(); i++) {
+                if (conditions.get(i) instanceof BooleanExpression condition) {
+                    conditions.set(i, (E) rewrite(condition));
+                }
+            }
+        }
+
+        private BooleanExpression rewrite(BooleanExpression condition) {
+            if (condition instanceof BinaryComparisonOperation operation) {
+                if (isCandidate(operation.getLeftOperand()) || isCandidate(operation.getRightOperand())) {
+                    return BinaryComparisonOperation.of(parameterize(operation.getLeftOperand()),
+                                    operation.getOperator(),
+                                    parameterize(operation.getRightOperand()))
+                            .as(operation.getAlias().orElse(null));
+                }
+            } else if (condition instanceof Between between) {
+                if (isCandidate(between.getOperand())
+                        || isCandidate(between.getLowerBound())
+                        || isCandidate(between.getUpperBound())) {
+                    return Between.of(parameterize((ScalarExpression) between.getOperand()),
+                                    parameterize((ScalarExpression) between.getLowerBound()),
+                                    parameterize((ScalarExpression) between.getUpperBound()),
+                                    between.isNegate())
+                            .as(between.getAlias().orElse(null));
+                }
+            } else if (condition instanceof Like like) {
+                if (isCandidate(like.getPattern())) {
+                    return Like.of(like.getOperand(),
+                                    parameterize(like.getPattern()),
+                                    like.getEscapeCharacter().orElse(null),
+                                    like.isNegate())
+                            .as(like.getAlias().orElse(null));
+                }
+            } else if (condition instanceof Not not) {
+                BooleanExpression operand = rewrite(not.getOperand());
+                if (operand != not.getOperand()) {
+                    return Not.of(operand).as(not.getAlias().orElse(null));
+                }
+            }
+
+            return condition;
+        }
+
+        private boolean isCandidate(Expression expression) {
+            return expression instanceof Literal<?> literal
+                    && literalTypes.contains(literal.getClass())
+                    && literal.getValueOrNull() != null;
+        }
+
+        private ScalarExpression parameterize(ScalarExpression expression) {
+            return isCandidate(expression) ? placeholder(expression) : expression;
+        }
+
+        private Placeholder placeholder(ScalarExpression expression) {
+            Placeholder placeholder = Placeholder.of((Literal<?>) expression);
+            placeholders.add(placeholder);
+            return placeholder;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.function.WindowFunction;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.join.Joins;
+import org.citydb.sqlbuilder.literal.IntegerLiteral;
+import org.citydb.sqlbuilder.operation.BinaryComparisonOperation;
+import org.citydb.sqlbuilder.operation.BinaryLogicalOperation;
+import org.citydb.sqlbuilder.operation.BooleanExpression;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.OrderBy;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.Selection;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.schema.WildcardColumn;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+public class ProjectionPruner {
+    private final Map<String, List<Set<String>>> uniqueKeys = new HashMap<>();
+    private boolean assumeUniqueJoins;
+
+    private ProjectionPruner() {
+    }
+
+    public static ProjectionPruner newInstance() {
+        return new ProjectionPruner();
+    }
+
+    public ProjectionPruner uniqueKey(String table, String... columns) {
+        Objects.requireNonNull(table, "The table name must not be null.");
+        if (columns == null || columns.length == 0) {
+            throw new IllegalArgumentException("A unique key requires at least one column.");
+        }
+
+        Set<String> key = new HashSet<>();
+        for (String column : columns) {
+            key.add(Objects.requireNonNull(column, "The column name must not be null.").toLowerCase(Locale.ROOT));
+        }
+
+        uniqueKeys.computeIfAbsent(table.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(key);
+        return this;
+    }
+
+    public boolean isAssumeUniqueJoins() {
+        return assumeUniqueJoins;
+    }
+
+    public ProjectionPruner setAssumeUniqueJoins(boolean assumeUniqueJoins) {
+        this.assumeUniqueJoins = assumeUniqueJoins;
+        return this;
+    }
+
+    public Select apply(Select select, String... labels) {
+        return apply(select, labels != null ? Arrays.asList(labels) : Collections.emptyList());
+    }
+
+    public Select apply(Select select, Collection<String> labels) {
+        Objects.requireNonNull(labels, "The labels must not be null.");
+        Set<String> required = new HashSet<>();
+        labels.forEach(label -> required.add(label.toLowerCase(Locale.ROOT)));
+        return apply(select, selection -> {
+            String label = getLabel(selection);
+            return label == null || required.contains(label.toLowerCase(Locale.ROOT));
+        });
+    }
+
+    public Select apply(Select select, Predicate<Selection<?>> required) {
+        Objects.requireNonNull(select, "The select must not be null.");
+        Objects.requireNonNull(required, "The required predicate must not be null.");
+        if (!select.isDistinct()) {
+            pruneSelections(select, required);
+        }
+
+        return eliminateJoins(select);
+    }
+
+    public Select eliminateJoins(Select select) {
+        Objects.requireNonNull(select, "The select must not be null.");
+        List<Join> joins = new ArrayList<>(select.getJoins());
+        boolean modified = false;
+        for (int i = joins.size() - 1; i >= 0; i--) {
+            Join join = joins.get(i);
+            if (isRemovable(select, join, joins)) {
+                joins.remove(i);
+                modified = true;
+                i = joins.size();
+            }
+        }
+
+        if (modified) {
+            select.removeJoins().join(joins.toArray(new Join[0]));
+        }
+
+        return select;
+    }
+
+    private void pruneSelections(Select select, Predicate<Selection<?>> required) {
+        List<Selection<?>> selections = select.getSelect();
+        Set<Integer> references = getPositionalReferences(select);
+        if (!references.isEmpty() && selections.stream().anyMatch(WildcardColumn.class::isInstance)) {
+            // positions behind a wildcard depend on the expanded columns, so they cannot be renumbered
+            return;
+        }
+
+        List<Selection<?>> kept = new ArrayList<>();
+        int[] positions = new int[selections.size()];
+        for (int i = 0; i < selections.size(); i++) {
+            Selection<?> selection = selections.get(i);
+            if (selection instanceof WildcardColumn || references.contains(i + 1) || required.test(selection)) {
+                kept.add(selection);
+                positions[i] = kept.size();
+            }
+        }
+
+        if (kept.isEmpty()) {
+            throw new IllegalArgumentException("The projection must keep at least one selection.");
+        } else if (kept.size() < selections.size()) {
+            select.removeSelect().select(kept);
+            if (!references.isEmpty()) {
+                List<OrderBy> orderBy = new ArrayList<>();
+                for (OrderBy item : select.getOrderBy()) {
+                    int position = getPosition(item, positions.length);
+                    orderBy.add(position > 0 ?
+                            OrderBy.of(IntegerLiteral.of(positions[position - 1]), item.getSortOrder(),
+                                    item.getNullOrder().orElse(null)) :
+                            item);
+                }
+
+                select.removeOrderBy().orderBy(orderBy.toArray(new OrderBy[0]));
+            }
+        }
+    }
+
+    private Set<Integer> getPositionalReferences(Select select) {
+        Set<Integer> references = new HashSet<>();
+        for (OrderBy orderBy : select.getOrderBy()) {
+            int position = getPosition(orderBy, select.getSelect().size());
+            if (position > 0) {
+                references.add(position);
+            }
+        }
+
+        return references;
+    }
+
+    private int getPosition(OrderBy orderBy, int size) {
+        if (orderBy.getSortExpression() instanceof IntegerLiteral literal) {
+            Long position = literal.getValueOrNull();
+            if (position != null && position > 0 && position <= size) {
+                return position.intValue();
+            }
+        }
+
+        return 0;
+    }
+
+    private boolean isRemovable(Select select, Join join, List<Join> joins) {
+        if (!Joins.LEFT_JOIN.equalsIgnoreCase(join.getType())
+                || isReferenced(join.getTable(), select, join, joins)) {
+            return false;
+        }
+
+        return select.isDistinct() || assumeUniqueJoins || isUnique(join);
+    }
+
+    private boolean isReferenced(Table table, Select select, Join candidate, List<Join> joins) {
+        if (select.getSelect().stream()
+                .anyMatch(selection -> selection instanceof WildcardColumn column && column.getTable().isEmpty())) {
+            return true;
+        }
+
+        References references = new References(table);
+        select.getWith().forEach(with -> with.accept(references));
+        select.getSelect().forEach(selection -> selection.accept(references));
+        select.getFrom().forEach(from -> from.accept(references));
+        joins.stream()
+                .filter(join -> join != candidate)
+                .forEach(join -> join.accept(references));
+        select.getWhere().forEach(where -> where.accept(references));
+        select.getGroupBy().forEach(groupBy -> groupBy.accept(references));
+        select.getHaving().forEach(having -> having.accept(references));
+        select.getWindow().forEach(window -> window.accept(references));
+        select.getOrderBy().forEach(orderBy -> orderBy.accept(references));
+        return references.found;
+    }
+
+    private boolean isUnique(Join join) {
+        Table table = join.getTable();
+        List<Set<String>> keys = uniqueKeys.get(table.getName().toLowerCase(Locale.ROOT));
+        if (keys == null || table.getQueryExpression().isPresent()) {
+            return false;
+        }
+
+        Set<String> columns = new HashSet<>();
+        collectKeyColumns(join.getConditions(), table, columns);
+        return keys.stream().anyMatch(columns::containsAll);
+    }
+
+    private void collectKeyColumns(List<? extends BooleanExpression> conditions, Table table, Set<String> columns) {
+        for (BooleanExpression condition : conditions) {
+            if (condition instanceof BinaryLogicalOperation operation
+                    && Operators.AND.equalsIgnoreCase(operation.getOperator())) {
+                collectKeyColumns(operation.getOperands(), table, columns);
+            } else if (condition instanceof BinaryComparisonOperation operation
+                    && Operators.EQUAL_TO.equals(operation.getOperator())) {
+                if (operation.getLeftOperand() instanceof Column column
+                        && column.getTable() == table
+                        && !new References(table).isReferencedBy(operation.getRightOperand())) {
+                    columns.add(column.getName().toLowerCase(Locale.ROOT));
+                } else if (operation.getRightOperand() instanceof Column column
+                        && column.getTable() == table
+                        && !new References(table).isReferencedBy(operation.getLeftOperand())) {
+                    columns.add(column.getName().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+    }
+
+    private String getLabel(Selection<?> selection) {
+        if (selection.getAlias().isPresent()) {
+            return selection.getAlias().get();
+        } else if (selection instanceof Column column) {
+            return column.getName();
+        } else if (selection instanceof Function function) {
+            return function.getName();
+        } else if (selection instanceof WindowFunction function) {
+            return function.getFunction().getName();
+        } else {
+            return null;
+        }
+    }
+
+    private static class References extends SqlWalker {
+        private final Table table;
+        private boolean found;
+
+        References(Table table) {
+            this.table = table;
+        }
+
+        boolean isReferencedBy(SqlObject object) {
+            object.accept(this);
+            return found;
+        }
+
+        @Override
+        public void visit(Column column) {
+            found |= column.getTable() == table;
+        }
+
+        @Override
+        public void visit(WildcardColumn column) {
+            found |= column.getTable().orElse(null) == table;
+        }
+
+        @Override
+        public void visit(Table table) {
+            found |= table == this.table;
+            super.visit(table);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.common.Expression;
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.join.Joins;
+import org.citydb.sqlbuilder.literal.IntegerLiteral;
+import org.citydb.sqlbuilder.literal.ScalarExpression;
+import org.citydb.sqlbuilder.operation.*;
+import org.citydb.sqlbuilder.query.QueryExpression;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.Selection;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+
+import java.util.List;
+import java.util.Objects;
+
+public class SubQueryRewriter {
+    private final Strategy strategy;
+
+    public enum Strategy {
+        EXISTS,
+        JOIN
+    }
+
+    private SubQueryRewriter(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public static SubQueryRewriter of(Strategy strategy) {
+        return new SubQueryRewriter(Objects.requireNonNull(strategy, "The strategy must not be null."));
+    }
+
+    public static SubQueryRewriter exists() {
+        return new SubQueryRewriter(Strategy.EXISTS);
+    }
+
+    public static SubQueryRewriter join() {
+        return new SubQueryRewriter(Strategy.JOIN);
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public <T extends SqlObject> T apply(T object) {
+        Objects.requireNonNull(object, "The SQL object must not be null.");
+        Rewriter rewriter = new Rewriter();
+        object.accept(rewriter);
+        if (rewriter.count > 0) {
+            Invalidator.invalidate(object);
+        }
+
+        return object;
+    }
+
+    private class Rewriter extends SqlWalker {
+        private int count;
+
+        @Override
+        public void visit(Select select) {
+            if (strategy == Strategy.JOIN) {
+                join(select, select.getWhere());
+            }
+
+            rewrite(select.getWhere());
+            rewrite(select.getHaving());
+            super.visit(select);
+        }
+
+        @Override
+        public void visit(Update update) {
+            rewrite(update.getWhere());
+            super.visit(update);
+        }
+
+        @Override
+        public void visit(Join join) {
+            rewrite(join.getConditions());
+            super.visit(join);
+        }
+
+        private void join(Select select, List<BooleanExpression> conditions) {
+            for (int i = 0; i < conditions.size(); i++) {
+                Match match = match(conditions.get(i));
+                // a derived table cannot see the outer query, so correlated subqueries are rewritten to exists
+                if (match != null && !TableScope.of(match.subQuery).isCorrelated()) {
+                    Select subQuery = Select.of(match.subQuery).distinct(true).removeOrderBy();
+                    Table table = Table.of(subQuery);
+                    select.join(Join.of(Joins.INNER_JOIN, table).condition(BinaryComparisonOperation.of(
+                            table.column(match.label), Operators.EQUAL_TO, match.operand)));
+                    conditions.remove(i--);
+                    count++;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <E extends Expression> void rewrite(List<E> conditions) {
+            for (int i = 0; i < conditions.size(); i++) {
+                E condition = conditions.get(i);
+                if (condition instanceof BinaryLogicalOperation operation) {
+                    rewrite(operation.getOperands());
+                } else if (condition instanceof BooleanExpression expression) {
+                    Match match = match(expression);
+                    if (match != null) {
+                        Select subQuery = Select.of(match.subQuery)
+                                .distinct(false)
+                                .removeOrderBy()
+                                .removeSelect()
+                                .select(IntegerLiteral.of(1))
+                                .where(BinaryComparisonOperation.of(match.expression, Operators.EQUAL_TO, match.operand));
+                        conditions.set(i, (E) Exists.of(subQuery));
+                        count++;
+                    }
+                }
+            }
+        }
+
+        private Match match(BooleanExpression condition) {
+            if (condition instanceof In in) {
+                return !in.isNegate() && in.getLeftOperand() instanceof ScalarExpression operand ?
+                        match(operand, in.getRightOperand()) :
+                        null;
+            } else if (condition instanceof BinaryComparisonOperation operation
+                    && Operators.EQUAL_TO.equals(operation.getOperator())
+                    && operation.getRightOperand() instanceof SubQueryOperator operator
+                    && (Operators.ANY.equalsIgnoreCase(operator.getOperator())
+                    || Operators.SOME.equalsIgnoreCase(operator.getOperator()))) {
+                return match(operation.getLeftOperand(), operator.getOperand());
+            } else {
+                return null;
+            }
+        }
+
+        private Match match(ScalarExpression operand, QueryExpression expression) {
+            if (expression instanceof Select subQuery
+                    && subQuery.getSelect().size() == 1
+                    && subQuery.getWith().isEmpty()
+                    && subQuery.getGroupBy().isEmpty()
+                    && subQuery.getHaving().isEmpty()
+                    && subQuery.getWindow().isEmpty()
+                    && subQuery.getOffset().isEmpty()
+                    && subQuery.getFetch().isEmpty()) {
+                Selection<?> selection = subQuery.getSelect().get(0);
+                if (selection instanceof Column column) {
+                    return new Match(operand, subQuery, column, column.getAlias().orElse(column.getName()));
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private record Match(ScalarExpression operand, Select subQuery, Column expression, String label) {
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.schema.WildcardColumn;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+class TableScope extends SqlWalker {
+    private final Set<Table> tables = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Table> references = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean unbound;
+
+    private TableScope() {
+    }
+
+    static TableScope of(SqlObject object) {
+        TableScope scope = new TableScope();
+        object.accept(scope);
+        return scope;
+    }
+
+    Set<Table> getTables() {
+        return tables;
+    }
+
+    boolean isCorrelated() {
+        return !tables.containsAll(references);
+    }
+
+    boolean isUnbound() {
+        return unbound;
+    }
+
+    @Override
+    public void visit(Select select) {
+        tables.addAll(select.getFrom());
+        super.visit(select);
+    }
+
+    @Override
+    public void visit(Join join) {
+        tables.add(join.getTable());
+        super.visit(join);
+    }
+
+    @Override
+    public void visit(Column column) {
+        references.add(column.getTable());
+        super.visit(column);
+    }
+
+    @Override
+    public void visit(WildcardColumn column) {
+        column.getTable().ifPresent(references::add);
+        super.visit(column);
+    }
+
+    @Override
+    public void visit(Placeholder placeholder) {
+        if (placeholder.getName().isEmpty() && placeholder.getValue().isEmpty()) {
+            unbound = true;
+        }
+
+        super.visit(placeholder);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.codec.SqlObjectWriter;
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.function.WindowFunction;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.query.SetOperator;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.Window;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.schema.WildcardColumn;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class WindowDeduplicator {
+    private final SqlObjectWriter writer = SqlObjectWriter.newInstance();
+    private String prefix = "w";
+
+    private WindowDeduplicator() {
+    }
+
+    public static WindowDeduplicator newInstance() {
+        return new WindowDeduplicator();
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public WindowDeduplicator setPrefix(String prefix) {
+        this.prefix = Objects.requireNonNull(prefix, "The prefix must not be null.");
+        return this;
+    }
+
+    public <T extends SqlObject> T apply(T object) {
+        Objects.requireNonNull(object, "The SQL object must not be null.");
+        Rewriter rewriter = new Rewriter();
+        object.accept(rewriter);
+        if (rewriter.count > 0) {
+            Invalidator.invalidate(object);
+        }
+
+        return object;
+    }
+
+    private class Rewriter extends SqlWalker {
+        private int count;
+
+        @Override
+        public void visit(Select select) {
+            deduplicate(select);
+            super.visit(select);
+        }
+
+        private void deduplicate(Select select) {
+            Scope scope = new Scope();
+            select.getSelect().forEach(selection -> selection.accept(scope));
+            select.getOrderBy().forEach(orderBy -> orderBy.accept(scope));
+
+            Map<Key, List<Window>> groups = new LinkedHashMap<>();
+            for (WindowFunction function : scope.functions) {
+                Window window = function.getWindow();
+                if (window.getName().isEmpty() && window.getReference().isEmpty() && !window.isEmpty()) {
+                    Key key = key(window);
+                    if (key != null) {
+                        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(window);
+                    }
+                }
+            }
+
+            if (groups.isEmpty()) {
+                return;
+            }
+
+            Map<Key, Window> definitions = new HashMap<>();
+            Set<String> names = new HashSet<>();
+            for (Window window : select.getWindow()) {
+                window.getName().ifPresent(name -> names.add(name.toLowerCase(Locale.ROOT)));
+                if (window.getName().isPresent() && window.getReference().isEmpty()) {
+                    Key key = key(window);
+                    if (key != null) {
+                        definitions.putIfAbsent(key, window);
+                    }
+                }
+            }
+
+            for (Map.Entry<Key, List<Window>> entry : groups.entrySet()) {
+                List<Window> windows = entry.getValue();
+                Window definition = definitions.get(entry.getKey());
+                if (definition == null && windows.size() > 1) {
+                    Window window = windows.get(0);
+                    definition = Window.of(new ArrayList<>(window.getPartitionBy()),
+                            new ArrayList<>(window.getOrderBy()), window.getFrame().orElse(null))
+                            .name(name(names));
+                    select.window(definition);
+                }
+
+                if (definition != null) {
+                    for (Window window : windows) {
+                        window.getPartitionBy().clear();
+                        window.getOrderBy().clear();
+                        window.frame(null).references(definition);
+                    }
+
+                    count++;
+                }
+            }
+        }
+
+        private Key key(Window window) {
+            Scope scope = new Scope();
+            window.accept(scope);
+            if (scope.unbound) {
+                return null;
+            }
+
+            Window copy = Window.of(window.getPartitionBy(), window.getOrderBy(), window.getFrame().orElse(null));
+            return new Key(ByteBuffer.wrap(writer.write(copy)), scope.tables);
+        }
+
+        private String name(Set<String> names) {
+            for (int i = 1; ; i++) {
+                String name = prefix + i;
+                if (names.add(name.toLowerCase(Locale.ROOT))) {
+                    return name;
+                }
+            }
+        }
+    }
+
+    private static class Scope extends SqlWalker {
+        private final List<WindowFunction> functions = new ArrayList<>();
+        private final List<Table> tables = new ArrayList<>();
+        private boolean unbound;
+
+        @Override
+        public void visit(Select select) {
+            unbound = true;
+        }
+
+        @Override
+        public void visit(SetOperator operator) {
+            unbound = true;
+        }
+
+        @Override
+        public void visit(WindowFunction function) {
+            functions.add(function);
+            super.visit(function);
+        }
+
+        @Override
+        public void visit(Column column) {
+            tables.add(column.getTable());
+            super.visit(column);
+        }
+
+        @Override
+        public void visit(WildcardColumn column) {
+            column.getTable().ifPresent(tables::add);
+            super.visit(column);
+        }
+
+        @Override
+        public void visit(Placeholder placeholder) {
+            if (placeholder.getName().isEmpty() && placeholder.getValue().isEmpty()) {
+                unbound = true;
+            }
+
+            super.visit(placeholder);
+        }
+    }
+
+    private record Key(ByteBuffer encoding, List<Table> tables) {
+    }
+}
@@ -34,6 +34,7 @@ public class Column implements ColumnExpression, Selection<Column> {
     private final Table table;
     private final String name;
     private String alias;
+    private long modificationCount;
 
     private Column(Table table, String name, String alias) {
         this.table = Objects.requireNonNull(table, "The table must not be null.");
@@ -62,9 +63,15 @@ public class Column implements ColumnExpression, Selection<Column> {
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public Column as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
@@ -84,6 +91,11 @@ public class Column implements ColumnExpression, Selection<Column> {
         return OrderBy.of(this, sortOrder);
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -91,6 +103,6 @@ public class Column implements ColumnExpression, Selection<Column> {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -82,10 +82,18 @@ public class Table implements SqlObject {
         return Optional.ofNullable(schema);
     }
 
+    public String getSchemaOrNull() {
+        return schema;
+    }
+
     public Optional<String> getAlias() {
         return Optional.ofNullable(alias);
     }
 
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     public Table alias(String alias) {
         this.alias = alias;
         return this;
@@ -95,6 +103,10 @@ public class Table implements SqlObject {
         return Optional.ofNullable(queryExpression);
     }
 
+    public QueryExpression getQueryExpressionOrNull() {
+        return queryExpression;
+    }
+
     public boolean isLateral() {
         return isLateral;
     }
@@ -138,6 +150,6 @@ public class Table implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
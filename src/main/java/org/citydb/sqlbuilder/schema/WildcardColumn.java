@@ -51,6 +51,11 @@ public class WildcardColumn implements Expression, Selection<WildcardColumn> {
         return Optional.empty();
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return null;
+    }
+
     @Override
     public WildcardColumn as(String alias) {
         return this;
@@ -63,6 +68,6 @@ public class WildcardColumn implements Expression, Selection<WildcardColumn> {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
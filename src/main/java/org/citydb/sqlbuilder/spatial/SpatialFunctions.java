@@ -0,0 +1,321 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.spatial;
+
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.literal.*;
+import org.citydb.sqlbuilder.operation.BinaryComparisonOperation;
+import org.citydb.sqlbuilder.operation.BooleanExpression;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.schema.Column;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+public abstract class SpatialFunctions {
+    public static final String BBOX_INTERSECTS = "&&";
+    public static final String ST_CONTAINS = "st_contains";
+    public static final String ST_COVERED_BY = "st_coveredby";
+    public static final String ST_COVERS = "st_covers";
+    public static final String ST_CROSSES = "st_crosses";
+    public static final String ST_DWITHIN = "st_dwithin";
+    public static final String ST_EQUALS = "st_equals";
+    public static final String ST_INTERSECTS = "st_intersects";
+    public static final String ST_MAKE_ENVELOPE = "st_makeenvelope";
+    public static final String ST_OVERLAPS = "st_overlaps";
+    public static final String ST_TOUCHES = "st_touches";
+    public static final String ST_WITHIN = "st_within";
+    public static final String SDO_ELEM_INFO_ARRAY = "sdo_elem_info_array";
+    public static final String SDO_FILTER = "sdo_filter";
+    public static final String SDO_GEOM = "sdo_geom";
+    public static final String SDO_GEOMETRY = "sdo_geometry";
+    public static final String SDO_ORDINATE_ARRAY = "sdo_ordinate_array";
+    public static final String SDO_RELATE = "sdo_relate";
+    public static final String SDO_WITHIN_DISTANCE = "sdo_within_distance";
+    public static final String RELATE = "relate";
+
+    private final SpatialDialect dialect;
+
+    private SpatialFunctions(SpatialDialect dialect) {
+        this.dialect = dialect;
+    }
+
+    public static SpatialFunctions of(SpatialDialect dialect) {
+        Objects.requireNonNull(dialect, "The spatial dialect must not be null.");
+        return switch (dialect) {
+            case POSTGIS -> new PostGIS();
+            case ORACLE -> new Oracle();
+        };
+    }
+
+    public static SpatialFunctions postgis() {
+        return of(SpatialDialect.POSTGIS);
+    }
+
+    public static SpatialFunctions oracle() {
+        return of(SpatialDialect.ORACLE);
+    }
+
+    public SpatialDialect getDialect() {
+        return dialect;
+    }
+
+    public abstract BooleanExpression bboxIntersects(ScalarExpression geometry, ScalarExpression other);
+
+    public abstract BooleanExpression intersects(ScalarExpression geometry, ScalarExpression other);
+
+    public abstract BooleanExpression indexedIntersects(ScalarExpression geometry, ScalarExpression other);
+
+    public abstract BooleanExpression within(ScalarExpression geometry, ScalarExpression other);
+
+    public abstract BooleanExpression dWithin(ScalarExpression geometry, ScalarExpression other,
+                                              ScalarExpression distance);
+
+    public BooleanExpression dWithin(ScalarExpression geometry, ScalarExpression other, double distance) {
+        return dWithin(geometry, other, DoubleLiteral.of(distance));
+    }
+
+    public abstract Function envelope(ScalarExpression lowerX, ScalarExpression lowerY,
+                                      ScalarExpression upperX, ScalarExpression upperY, ScalarExpression srid);
+
+    abstract BooleanExpression prefilter(BooleanExpression predicate);
+
+    abstract BboxPredicate getBboxPredicate(BooleanExpression predicate);
+
+    public Function envelope(double lowerX, double lowerY, double upperX, double upperY, int srid) {
+        return envelope(Placeholder.of(lowerX), Placeholder.of(lowerY), Placeholder.of(upperX),
+                Placeholder.of(upperY), IntegerLiteral.of(srid));
+    }
+
+    public Function envelope(int srid) {
+        return envelope(Placeholder.empty(), Placeholder.empty(), Placeholder.empty(), Placeholder.empty(),
+                IntegerLiteral.of(srid));
+    }
+
+    public Function envelope(String name, int srid) {
+        Objects.requireNonNull(name, "The placeholder name must not be null.");
+        return envelope(Placeholder.named(name + "_lower_x"), Placeholder.named(name + "_lower_y"),
+                Placeholder.named(name + "_upper_x"), Placeholder.named(name + "_upper_y"),
+                IntegerLiteral.of(srid));
+    }
+
+    private static class PostGIS extends SpatialFunctions {
+        private static final Set<String> EXACT_PREDICATES = Set.of(ST_CONTAINS, ST_COVERED_BY, ST_COVERS,
+                ST_CROSSES, ST_EQUALS, ST_INTERSECTS, ST_OVERLAPS, ST_TOUCHES, ST_WITHIN);
+
+        private PostGIS() {
+            super(SpatialDialect.POSTGIS);
+        }
+
+        @Override
+        public BooleanExpression bboxIntersects(ScalarExpression geometry, ScalarExpression other) {
+            return BinaryComparisonOperation.of(geometry, BBOX_INTERSECTS, other);
+        }
+
+        @Override
+        public BooleanExpression intersects(ScalarExpression geometry, ScalarExpression other) {
+            return Function.of(ST_INTERSECTS, geometry, other);
+        }
+
+        @Override
+        public BooleanExpression indexedIntersects(ScalarExpression geometry, ScalarExpression other) {
+            return Operators.and(bboxIntersects(geometry, other), intersects(geometry, other));
+        }
+
+        @Override
+        public BooleanExpression within(ScalarExpression geometry, ScalarExpression other) {
+            return Function.of(ST_WITHIN, geometry, other);
+        }
+
+        @Override
+        public BooleanExpression dWithin(ScalarExpression geometry, ScalarExpression other,
+                                         ScalarExpression distance) {
+            return Function.of(ST_DWITHIN, geometry, other, distance);
+        }
+
+        @Override
+        public Function envelope(ScalarExpression lowerX, ScalarExpression lowerY, ScalarExpression upperX,
+                                 ScalarExpression upperY, ScalarExpression srid) {
+            return Function.of(ST_MAKE_ENVELOPE, lowerX, lowerY, upperX, upperY, srid);
+        }
+
+        @Override
+        BooleanExpression prefilter(BooleanExpression predicate) {
+            if (predicate instanceof Function function
+                    && function.getSchema().isEmpty()
+                    && function.getArguments().size() == 2
+                    && EXACT_PREDICATES.contains(function.getName().toLowerCase(Locale.ROOT))
+                    && function.getArguments().get(0) instanceof ScalarExpression geometry
+                    && function.getArguments().get(1) instanceof ScalarExpression other) {
+                return bboxIntersects(geometry, other);
+            }
+
+            return null;
+        }
+
+        @Override
+        BboxPredicate getBboxPredicate(BooleanExpression predicate) {
+            if (predicate instanceof BinaryComparisonOperation operation
+                    && operation.hasOperator(BBOX_INTERSECTS)) {
+                return new BboxPredicate(operation.getLeftOperand(), operation.getRightOperand());
+            }
+
+            return null;
+        }
+    }
+
+    private static class Oracle extends SpatialFunctions {
+
+        private Oracle() {
+            super(SpatialDialect.ORACLE);
+        }
+
+        @Override
+        public BooleanExpression bboxIntersects(ScalarExpression geometry, ScalarExpression other) {
+            return isTrue(Function.of(SDO_FILTER, geometry, other));
+        }
+
+        @Override
+        public BooleanExpression intersects(ScalarExpression geometry, ScalarExpression other) {
+            return relate(geometry, other, "anyinteract");
+        }
+
+        @Override
+        public BooleanExpression indexedIntersects(ScalarExpression geometry, ScalarExpression other) {
+            return intersects(geometry, other);
+        }
+
+        @Override
+        public BooleanExpression within(ScalarExpression geometry, ScalarExpression other) {
+            return relate(geometry, other, "inside+coveredby");
+        }
+
+        @Override
+        public BooleanExpression dWithin(ScalarExpression geometry, ScalarExpression other,
+                                         ScalarExpression distance) {
+            ScalarExpression parameter;
+            if (distance instanceof DoubleLiteral literal && literal.getValueOrNull() != null) {
+                parameter = StringLiteral.of("distance=" + literal.getValueOrNull());
+            } else if (distance instanceof IntegerLiteral literal && literal.getValueOrNull() != null) {
+                parameter = StringLiteral.of("distance=" + literal.getValueOrNull());
+            } else {
+                parameter = StringLiteral.of("distance=").concat(distance);
+            }
+
+            return isTrue(Function.of(SDO_WITHIN_DISTANCE, geometry, other, parameter));
+        }
+
+        @Override
+        public Function envelope(ScalarExpression lowerX, ScalarExpression lowerY, ScalarExpression upperX,
+                                 ScalarExpression upperY, ScalarExpression srid) {
+            return Function.of(SDO_GEOMETRY, IntegerLiteral.of(2003), srid, NullLiteral.getInstance(),
+                    Function.of(SDO_ELEM_INFO_ARRAY, IntegerLiteral.of(1), IntegerLiteral.of(1003),
+                            IntegerLiteral.of(3)),
+                    Function.of(SDO_ORDINATE_ARRAY, lowerX, lowerY, upperX, upperY));
+        }
+
+        @Override
+        BooleanExpression prefilter(BooleanExpression predicate) {
+            if (predicate instanceof BinaryComparisonOperation operation
+                    && operation.hasOperator(Operators.EQUAL_TO)
+                    && operation.getRightOperand() instanceof StringLiteral result
+                    && "TRUE".equalsIgnoreCase(result.getValueOrNull())
+                    && operation.getLeftOperand() instanceof Function function
+                    && SDO_GEOM.equalsIgnoreCase(function.getSchema().orElse(null))
+                    && RELATE.equalsIgnoreCase(function.getName())
+                    && function.getArguments().size() == 4
+                    && function.getArguments().get(1) instanceof StringLiteral mask
+                    && impliesInteraction(mask.getValueOrNull())
+                    && function.getArguments().get(0) instanceof ScalarExpression geometry
+                    && function.getArguments().get(2) instanceof ScalarExpression other) {
+                // the first operand of sdo_filter must be the indexed geometry column
+                if (geometry instanceof Column) {
+                    return bboxIntersects(geometry, other);
+                } else if (other instanceof Column) {
+                    return bboxIntersects(other, geometry);
+                }
+            }
+
+            return null;
+        }
+
+        private boolean impliesInteraction(String mask) {
+            if (mask == null) {
+                return false;
+            }
+
+            mask = mask.trim().toLowerCase(Locale.ROOT);
+            if (mask.startsWith("mask=")) {
+                mask = mask.substring(5);
+            }
+
+            for (String relation : mask.split("[+\\s]+")) {
+                if (relation.isEmpty() || relation.equals("disjoint") || relation.equals("determine")) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        BboxPredicate getBboxPredicate(BooleanExpression predicate) {
+            if (predicate instanceof BinaryComparisonOperation operation
+                    && operation.hasOperator(Operators.EQUAL_TO)
+                    && operation.getLeftOperand() instanceof Function function
+                    && function.getSchema().isEmpty()
+                    && SDO_FILTER.equalsIgnoreCase(function.getName())
+                    && function.getArguments().size() == 2
+                    && function.getArguments().get(0) instanceof ScalarExpression geometry
+                    && function.getArguments().get(1) instanceof ScalarExpression other) {
+                return new BboxPredicate(geometry, other);
+            }
+
+            return null;
+        }
+
+        private BooleanExpression relate(ScalarExpression geometry, ScalarExpression other, String mask) {
+            return isTrue(Function.of(SDO_RELATE, geometry, other, StringLiteral.of("mask=" + mask)));
+        }
+
+        private BooleanExpression isTrue(Function function) {
+            return BinaryComparisonOperation.of(function, Operators.EQUAL_TO, StringLiteral.of("TRUE"));
+        }
+    }
+
+    record BboxPredicate(ScalarExpression geometry, ScalarExpression other) {
+        boolean matches(BboxPredicate predicate) {
+            return (isSame(geometry, predicate.geometry) && isSame(other, predicate.other))
+                    || (isSame(geometry, predicate.other) && isSame(other, predicate.geometry));
+        }
+
+        private boolean isSame(ScalarExpression expression, ScalarExpression other) {
+            return expression == other
+                    || (expression instanceof Column column
+                    && other instanceof Column otherColumn
+                    && column.getTable() == otherColumn.getTable()
+                    && column.getName().equals(otherColumn.getName()));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.spatial;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.common.SqlWalker;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.operation.BinaryLogicalOperation;
+import org.citydb.sqlbuilder.operation.BooleanExpression;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.rewrite.Invalidator;
+import org.citydb.sqlbuilder.update.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class SpatialPrefilter {
+    private final SpatialFunctions functions;
+
+    private SpatialPrefilter(SpatialFunctions functions) {
+        this.functions = functions;
+    }
+
+    public static SpatialPrefilter of(SpatialFunctions functions) {
+        return new SpatialPrefilter(Objects.requireNonNull(functions, "The spatial functions must not be null."));
+    }
+
+    public static SpatialPrefilter of(SpatialDialect dialect) {
+        return new SpatialPrefilter(SpatialFunctions.of(dialect));
+    }
+
+    public SpatialFunctions getSpatialFunctions() {
+        return functions;
+    }
+
+    public <T extends SqlObject> T apply(T object) {
+        Objects.requireNonNull(object, "The SQL object must not be null.");
+        Rewriter rewriter = new Rewriter();
+        object.accept(rewriter);
+        if (rewriter.count > 0) {
+            Invalidator.invalidate(object);
+        }
+
+        return object;
+    }
+
+    private class Rewriter extends SqlWalker {
+        private int count;
+
+        @Override
+        public void visit(Select select) {
+            injectInto(select.getWhere());
+            super.visit(select);
+        }
+
+        @Override
+        public void visit(Update update) {
+            injectInto(update.getWhere());
+            super.visit(update);
+        }
+
+        @Override
+        public void visit(Join join) {
+            injectInto(join.getConditions());
+            super.visit(join);
+        }
+
+        @Override
+        public void visit(BinaryLogicalOperation operation) {
+            if (Operators.AND.equalsIgnoreCase(operation.getOperator())) {
+                injectInto(operation.getOperands());
+            } else {
+                List<BooleanExpression> operands = operation.getOperands();
+                for (int i = 0; i < operands.size(); i++) {
+                    BooleanExpression operand = operands.get(i);
+                    BooleanExpression prefilter = functions.prefilter(operand);
+                    if (prefilter != null) {
+                        operands.set(i, Operators.and(prefilter, operand));
+                        count++;
+                    }
+                }
+            }
+
+            super.visit(operation);
+        }
+
+        private void injectInto(List<BooleanExpression> conditions) {
+            List<SpatialFunctions.BboxPredicate> existing = null;
+            for (int i = 0; i < conditions.size(); i++) {
+                BooleanExpression prefilter = functions.prefilter(conditions.get(i));
+                if (prefilter != null) {
+                    if (existing == null) {
+                        existing = getBboxPredicates(conditions);
+                    }
+
+                    SpatialFunctions.BboxPredicate predicate = functions.getBboxPredicate(prefilter);
+                    if (!contains(existing, predicate)) {
+                        conditions.add(i++, prefilter);
+                        existing.add(predicate);
+                        count++;
+                    }
+                }
+            }
+        }
+
+        private List<SpatialFunctions.BboxPredicate> getBboxPredicates(List<BooleanExpression> conditions) {
+            List<SpatialFunctions.BboxPredicate> predicates = new ArrayList<>();
+            for (BooleanExpression condition : conditions) {
+                SpatialFunctions.BboxPredicate predicate = functions.getBboxPredicate(condition);
+                if (predicate != null) {
+                    predicates.add(predicate);
+                }
+            }
+
+            return predicates;
+        }
+
+        private boolean contains(List<SpatialFunctions.BboxPredicate> predicates,
+                                 SpatialFunctions.BboxPredicate predicate) {
+            for (SpatialFunctions.BboxPredicate existing : predicates) {
+                if (existing.matches(predicate)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
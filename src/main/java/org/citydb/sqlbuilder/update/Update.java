@@ -22,33 +22,40 @@
 package org.citydb.sqlbuilder.update;
 
 import org.citydb.sqlbuilder.common.Expressions;
+import org.citydb.sqlbuilder.common.PlaceholderCache;
 import org.citydb.sqlbuilder.common.SqlObject;
 import org.citydb.sqlbuilder.common.SqlVisitor;
+import org.citydb.sqlbuilder.literal.Placeholder;
 import org.citydb.sqlbuilder.operation.BooleanExpression;
 import org.citydb.sqlbuilder.query.CommonTableExpression;
+import org.citydb.sqlbuilder.query.OptimizerHint;
 import org.citydb.sqlbuilder.query.QueryStatement;
 import org.citydb.sqlbuilder.schema.Column;
 import org.citydb.sqlbuilder.schema.Table;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 public class Update implements SqlObject {
+    private final List<String> hints;
+    private final List<OptimizerHint> optimizerHints;
     private final List<CommonTableExpression> with;
     private final List<UpdateValue> set;
     private final List<BooleanExpression> where;
     private boolean withRecursive;
     private Table table;
+    private final PlaceholderCache placeholders = PlaceholderCache.newInstance();
 
     private Update() {
+        hints = new ArrayList<>();
+        optimizerHints = new ArrayList<>();
         with = new ArrayList<>();
         set = new ArrayList<>();
         where = new ArrayList<>();
     }
 
     private Update(Update other) {
+        hints = new ArrayList<>(other.hints);
+        optimizerHints = new ArrayList<>(other.optimizerHints);
         with = new ArrayList<>(other.with);
         set = new ArrayList<>(other.set);
         where = new ArrayList<>(other.where);
@@ -70,6 +77,40 @@ public class Update implements SqlObject {
 
     public Update table(Table table) {
         this.table = table;
+        modified();
+        return this;
+    }
+
+    public List<String> getHints() {
+        return hints;
+    }
+
+    public Update hint(String... hints) {
+        if (hints != null) {
+            this.hints.addAll(Arrays.asList(hints));
+        }
+
+        modified();
+        return this;
+    }
+
+    public List<OptimizerHint> getOptimizerHints() {
+        return optimizerHints;
+    }
+
+    public Update hint(OptimizerHint... hints) {
+        if (hints != null) {
+            optimizerHints.addAll(Arrays.asList(hints));
+        }
+
+        modified();
+        return this;
+    }
+
+    public Update removeHints() {
+        hints.clear();
+        optimizerHints.clear();
+        modified();
         return this;
     }
 
@@ -90,6 +131,7 @@ public class Update implements SqlObject {
             with.addAll(Arrays.asList(ctes));
         }
 
+        modified();
         return this;
     }
 
@@ -103,11 +145,13 @@ public class Update implements SqlObject {
             withRecursive = true;
         }
 
+        modified();
         return this;
     }
 
     public Update removeWith() {
         with.clear();
+        modified();
         return this;
     }
 
@@ -120,6 +164,7 @@ public class Update implements SqlObject {
             set.addAll(Arrays.asList(values));
         }
 
+        modified();
         return this;
     }
 
@@ -129,6 +174,7 @@ public class Update implements SqlObject {
 
     public Update removeSet() {
         set.clear();
+        modified();
         return this;
     }
 
@@ -141,14 +187,30 @@ public class Update implements SqlObject {
             where.addAll(Arrays.asList(operators));
         }
 
+        modified();
         return this;
     }
 
     public Update removeWhere() {
         where.clear();
+        modified();
+        return this;
+    }
+
+    @Override
+    public List<Placeholder> getPlaceholders() {
+        return placeholders.get(this);
+    }
+
+    public Update invalidate() {
+        modified();
         return this;
     }
 
+    private void modified() {
+        placeholders.clear();
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -156,7 +218,7 @@ public class Update implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 
     public class UpdateValueBuilder {
@@ -168,6 +230,7 @@ public class Update implements SqlObject {
 
         public Update value(Object value) {
             set.add(UpdateValue.of(column, Expressions.as(value)));
+            modified();
             return Update.this;
         }
     }
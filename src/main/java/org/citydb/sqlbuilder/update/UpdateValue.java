@@ -56,6 +56,6 @@ public class UpdateValue implements SqlObject {
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -22,6 +22,7 @@
 package org.citydb.sqlbuilder.util;
 
 public class DefaultAliasGenerator implements AliasGenerator {
+    private static final String[] LETTERS = "abcdefghijklmnopqrstuvwxyz".split("");
     private final Object lock = new Object();
     private char character = 'a' - 1;
     private int counter = 0;
@@ -45,7 +46,7 @@ public class DefaultAliasGenerator implements AliasGenerator {
     @Override
     public String current() {
         synchronized (lock) {
-            String alias = String.valueOf(character < 'a' ? 'a' : character);
+            String alias = LETTERS[character < 'a' ? 0 : character - 'a'];
             return counter > 0 ? alias + counter : alias;
         }
     }
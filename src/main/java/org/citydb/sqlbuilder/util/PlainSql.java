@@ -33,6 +33,7 @@ public class PlainSql implements BooleanExpression, ColumnExpression, QueryExpre
     private final String sql;
     private final List<Object> tokens;
     private String alias;
+    private long modificationCount;
 
     private PlainSql(String sql, List<Object> tokens) {
         this.sql = Objects.requireNonNull(sql, "The plain SQL text must not be null.");
@@ -60,12 +61,23 @@ public class PlainSql implements BooleanExpression, ColumnExpression, QueryExpre
         return Optional.ofNullable(alias);
     }
 
+    @Override
+    public String getAliasOrNull() {
+        return alias;
+    }
+
     @Override
     public PlainSql as(String alias) {
         this.alias = alias;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public void accept(SqlVisitor visitor) {
         visitor.visit(this);
@@ -73,6 +85,6 @@ public class PlainSql implements BooleanExpression, ColumnExpression, QueryExpre
 
     @Override
     public String toString() {
-        return toSql();
+        return toSummary();
     }
 }
@@ -22,9 +22,7 @@
 package org.citydb.sqlbuilder.util;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 import java.util.function.Supplier;
 
 public class UserProperties implements Serializable {
@@ -62,6 +60,10 @@ public class UserProperties implements Serializable {
         return value;
     }
 
+    public Set<String> getNames() {
+        return properties != null ? Collections.unmodifiableSet(properties.keySet()) : Collections.emptySet();
+    }
+
     public boolean contains(String name) {
         return properties != null && properties.containsKey(name);
     }
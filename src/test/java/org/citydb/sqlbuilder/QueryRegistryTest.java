@@ -0,0 +1,119 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryRegistryTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void compilesQueriesOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        QueryRegistry registry = QueryRegistry.newInstance()
+                .register("byId", () -> {
+                    calls.incrementAndGet();
+                    return Select.newInstance().from(author).where(author.column("id").eq(Placeholder.named("id")));
+                }, "id")
+                .register("byName", "select id from author where name = :name", "name");
+
+        assertFalse(registry.isCompiled("byId"));
+        assertEquals(Set.of("byId", "byName"), registry.getNames());
+
+        SqlStatement statement = registry.get("byId");
+
+        assertTrue(registry.isCompiled("byId"));
+        assertSame(statement, registry.get("byId"));
+        assertSame(statement, registry.find("byId").orElse(null));
+        assertEquals(1, calls.get());
+        assertEquals(1, registry.get("byName").getPosition("name"));
+        assertFalse(registry.find("unknown").isPresent());
+        assertThrows(IllegalArgumentException.class, () -> registry.get("unknown"));
+    }
+
+    @Test
+    public void rejectsDuplicateNames() {
+        QueryRegistry registry = QueryRegistry.newInstance().register("q", Select.newInstance().from(author));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register("q", Select.newInstance().from(author)));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void validatesDeclaredParameters() {
+        QueryRegistry registry = QueryRegistry.newInstance()
+                .register("missing", "select id from author where id = :id", "id", "name")
+                .register("unnamed", "select id from author where id = ?", "id")
+                .register("valid", "select id from author where id = :id", "id");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, registry::precompile);
+        assertTrue(e.getMessage().startsWith("Failed to precompile 2 queries"), e.getMessage());
+        assertTrue(e.getMessage().contains("missing: [name]"), e.getMessage());
+        assertTrue(registry.isCompiled("valid"));
+        assertFalse(registry.isCompiled("missing"));
+    }
+
+    @Test
+    public void rejectsUnnamedPlaceholders() {
+        QueryRegistry registry = QueryRegistry.newInstance()
+                .register("valued", Select.newInstance().from(author)
+                        .where(author.column("id").eq(Placeholder.named("id"))
+                                .and(author.column("name").eq(Placeholder.of("x")))), "id");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> registry.get("valued"));
+        assertEquals("The placeholder at position 2 has no name.", e.getMessage());
+    }
+
+    @Test
+    public void precompilesInParallel() {
+        QueryRegistry registry = QueryRegistry.newInstance();
+        for (int i = 0; i < 20; i++) {
+            registry.register("q" + i, "select id from author where id = :id", "id");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            registry.precompile(executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (String name : registry.getNames()) {
+            assertTrue(registry.isCompiled(name), name);
+        }
+
+        QueryRegistry failing = QueryRegistry.newInstance().register("bad", "select from");
+        assertThrows(IllegalStateException.class, () -> failing.precompile(Runnable::run));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlBuildCountersTest {
+    private final Table author = Table.of("author");
+    private final Table book = Table.of("book");
+
+    @Test
+    public void reportsStatisticsPerBuild() {
+        Select select = Select.newInstance()
+                .from(author)
+                .join(book).on(book.column("author_id").eq(author.column("id")))
+                .where(author.column("id").eq(Placeholder.empty()), author.column("name").eq(Placeholder.empty()));
+        List<SqlBuildStatistics> statistics = new ArrayList<>();
+
+        String sql = select.toSql(SqlBuildOptions.defaults().setBuildListener(statistics::add));
+
+        assertEquals(1, statistics.size());
+        assertSame(select, statistics.get(0).getObject());
+        assertEquals(sql.length(), statistics.get(0).getLength());
+        assertEquals(2, statistics.get(0).getPlaceholderCount());
+        assertEquals(2, statistics.get(0).getAliasCount());
+        assertTrue(statistics.get(0).getNodeCount() > 0);
+        assertTrue(statistics.get(0).getRenderTimeNanos() >= 0);
+    }
+
+    @Test
+    public void aggregatesTotalsAndMaxima() {
+        SqlBuildCounters counters = SqlBuildCounters.newInstance();
+        SqlBuildOptions options = SqlBuildOptions.defaults().setBuildListener(counters);
+        String small = Select.newInstance().from(author).toSql(options);
+        String large = Select.newInstance().from(author)
+                .where(author.column("id").eq(Placeholder.empty()))
+                .toSql(options);
+
+        assertEquals(2, counters.getBuilds());
+        assertEquals(small.length() + large.length(), counters.getLength());
+        assertEquals(large.length(), counters.getMaxLength());
+        assertEquals(1, counters.getPlaceholders());
+        assertEquals(1, counters.getMaxPlaceholders());
+        assertEquals(2, counters.getAliases());
+
+        counters.reset();
+        assertEquals(0, counters.getBuilds());
+        assertEquals(0, counters.getMaxLength());
+    }
+
+    @Test
+    public void chainsListeners() {
+        SqlBuildCounters first = SqlBuildCounters.newInstance();
+        SqlBuildCounters second = SqlBuildCounters.newInstance();
+
+        Select.newInstance().from(author).toSql(SqlBuildOptions.defaults().setBuildListener(first.andThen(second)));
+
+        assertEquals(1, first.getBuilds());
+        assertEquals(1, second.getBuilds());
+        assertThrows(NullPointerException.class, () -> first.andThen(null));
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.function.Cast;
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.function.Functions;
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.join.Joins;
+import org.citydb.sqlbuilder.literal.*;
+import org.citydb.sqlbuilder.operation.BinaryLogicalOperation;
+import org.citydb.sqlbuilder.operation.Case;
+import org.citydb.sqlbuilder.operation.Not;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.CommonTableExpression;
+import org.citydb.sqlbuilder.query.OptimizerHint;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.Window;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+import org.citydb.sqlbuilder.util.PlainSql;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlBuilderTest {
+    private static final SqlBuildOptions INDENTED = SqlBuildOptions.defaults()
+            .setIndent("  ")
+            .setKeywordCase(SqlBuildOptions.KeywordCase.UPPERCASE)
+            .setIdentifierCase(SqlBuildOptions.IdentifierCase.UPPERCASE);
+
+    private final Table author = Table.of("author");
+    private final Table book = Table.of("book", "lib");
+    private final Select subQuery = Select.newInstance()
+            .select(book.column("author_id"))
+            .from(book)
+            .where(book.column("title").like("%'s%", "\\"));
+
+    @Test
+    public void rendersSelect() {
+        Table x = Table.of("x").alias("xx");
+        Window window = Window.of(author.column("id"))
+                .orderBy(author.column("name").desc().nullsLast())
+                .rows().betweenPreceding(IntegerLiteral.of(2)).andFollowing(IntegerLiteral.of(3));
+        Select select = Select.newInstance().hint("parallel(4)", "ordered")
+                .with("c", Select.newInstance().select(x.column("k")).from(x))
+                .select(author.column("id"), author.column("name").as("n"), Functions.rank().over(window).as("r"),
+                        Case.newInstance().when(author.column("id").gt(3)).then(StringLiteral.of("big"))
+                                .orElse(StringLiteral.of("small")).as("sz"),
+                        Functions.count().as("cnt"), DateLiteral.of(Date.valueOf("2020-01-02")).as("d"),
+                        TimestampLiteral.of(Timestamp.valueOf("2020-01-02 10:00:00")), BooleanLiteral.TRUE,
+                        DoubleLiteral.of(1.5).as("dd"), author.column("id").plus(2).multiply(3).as("ar"),
+                        Cast.of(author.column("id"), "text"), author.wildcard())
+                .distinct()
+                .from(author)
+                .join(book).on(author.column("id").eq(book.column("author_id")))
+                .leftJoin(x).on(x.column("id").eq(author.column("id")))
+                .where(author.column("year_of_birth").gt(1920).and(author.column("first_name").eq("Paulo"))
+                                .or(author.column("id").in(subQuery)),
+                        author.column("id").in(1, 2, 3), author.column("id").between(1, 5),
+                        author.column("x").isNull(), Operators.exists(subQuery),
+                        author.column("id").eq(Placeholder.of(5)), author.column("id").eqAny(subQuery),
+                        Not.of(author.column("q").isNotNull()),
+                        PlainSql.of("foo({}, {}) = {}", author.column("id"), Placeholder.of(1), "plain"),
+                        author.column("name").collate("C").eq("x"))
+                .groupBy(author.column("id"))
+                .having(Functions.count().gt(1))
+                .window(Window.of(author.column("name")))
+                .orderBy(author.column("id").desc())
+                .offset(10, 20);
+
+        assertRenders("with c as (select xx.k from x xx ) select /*+ parallel(4) ordered */ distinct b.id, b.name as n, rank() over (partition by b.id order by b.name desc nulls last rows between 2 preceding and 3 following ) as r, case when b.id > 3 then 'big' else 'small' end as sz, count(*) as cnt, '2020-01-02' as d, '2020-01-02 10:00:00.0', true, 1.5 as dd, (b.id + (2 * 3)) as ar, cast (b.id as text), b.* from author b inner join lib.book c on c.author_id = b.id left join x xx on xx.id = b.id where ((b.year_of_birth > 1920 and b.first_name = 'Paulo' ) or b.id in (select c.author_id from lib.book c where c.title like '%''s%' escape '\\' ) ) and b.id in (1, 2, 3) and b.id between 1 and 5 and b.x is null and exists (select c.author_id from lib.book c where c.title like '%''s%' escape '\\' ) and b.id = ? and b.id = any (select c.author_id from lib.book c where c.title like '%''s%' escape '\\' ) and not b.q is not null and foo(b.id, ?) = plain and b.name collate C = 'x' group by b.id having count(*) > 1 window d as (partition by b.name ) order by b.id desc offset 10 rows fetch next 20 rows only ", select);
+    }
+
+    @Test
+    public void rendersUpdate() {
+        Update update = Update.newInstance()
+                .with("c", subQuery)
+                .table(author)
+                .set(author.column("name")).value("y")
+                .set(author.column("n")).value(Placeholder.of(1))
+                .where(author.column("id").eq(1), author.column("z").eq(2).or(author.column("z").eq(3)));
+
+        assertRenders("with c as (select a.author_id from lib.book a where a.title like '%''s%' escape '\\' ) update author b set name = 'y', n = ? where b.id = 1 and (b.z = 2 or b.z = 3 ) ", update);
+        assertEquals("WITH c AS (\n" +
+                "  SELECT \n" +
+                "    a.AUTHOR_ID \n" +
+                "  FROM \n" +
+                "    lib.BOOK a \n" +
+                "  WHERE \n" +
+                "    a.TITLE LIKE '%''s%' ESCAPE '\\' \n" +
+                ") \n" +
+                "UPDATE \n" +
+                "  AUTHOR b \n" +
+                "SET \n" +
+                "  NAME = 'y', \n" +
+                "  N = ? \n" +
+                "WHERE \n" +
+                "  b.ID = 1 \n" +
+                "  AND (\n" +
+                "    b.Z = 2 \n" +
+                "    OR b.Z = 3 \n" +
+                "  ) ",
+                update.toSql(INDENTED));
+    }
+
+    @Test
+    public void rendersJoinConditions() {
+        Join join = Joins.inner(book, "id", "=", author.column("id")).condition(book.column("a").eq(1));
+        Select select = Select.newInstance()
+                .from(author)
+                .join(join)
+                .where(Operators.and(Operators.or(author.column("a").eq(1), author.column("a").eq(2))));
+
+        assertRenders("select * from author a inner join lib.book b on (b.id = a.id and b.a = 1 ) where a.a = 1 or a.a = 2 ", select);
+        assertEquals("SELECT \n" +
+                "  * \n" +
+                "FROM \n" +
+                "  AUTHOR a \n" +
+                "  INNER JOIN lib.BOOK b ON (\n" +
+                "    b.ID = a.ID \n" +
+                "    AND b.A = 1 \n" +
+                "  ) \n" +
+                "WHERE \n" +
+                "  a.A = 1 \n" +
+                "  OR a.A = 2 ",
+                select.toSql(INDENTED));
+    }
+
+    @Test
+    public void rendersDerivedTables() {
+        Select select = Select.newInstance()
+                .select(Functions.count().qualifier("distinct").setSchema("s"))
+                .from(Table.of(Select.newInstance().from(author)), Table.lateral(subQuery))
+                .fetch(5);
+
+        assertRenders("select s.count(distinct *) from (select * from author a ) b, lateral (select c.author_id from lib.book c where c.title like '%''s%' escape '\\' ) d fetch first 5 rows only ", select);
+    }
+
+    @Test
+    public void rendersWindowReferences() {
+        Select select = Select.newInstance()
+                .select(Functions.rowNumber().over(Window.asReferenceOf(Window.newInstance().name("w"))),
+                        Functions.rowNumber().over())
+                .from(author)
+                .window(Window.newInstance().name("w").partitionBy(author.column("a")));
+
+        assertRenders("select row_number() over w, row_number() over () from author a window w as (partition by a.a ) ", select);
+        assertEquals("SELECT \n" +
+                "  ROW_NUMBER() OVER w, \n" +
+                "  ROW_NUMBER() OVER () \n" +
+                "FROM \n" +
+                "  AUTHOR a \n" +
+                "WINDOW \n" +
+                "  w AS (\n" +
+                "    PARTITION BY a.A \n" +
+                "  ) ",
+                select.toSql(INDENTED));
+    }
+
+    @Test
+    public void reusesBuffersAcrossBuilds() {
+        SqlBuilder builder = SqlBuilder.newReusableInstance(16);
+        Select small = Select.newInstance().from(author);
+        Select large = Select.newInstance().from(author).where(author.column("name").eq("a long value"));
+
+        assertEquals(small.toSql(), builder.build(small));
+        assertEquals(large.toSql(), builder.build(large));
+        assertEquals(small.toSql(), builder.build(small));
+    }
+
+    @Test
+    public void rendersReentrantBuilds() {
+        SqlBuilder builder = SqlBuilder.newReusableInstance();
+        Select inner = Select.newInstance().from(book);
+        Select outer = Select.newInstance().from(author);
+        String[] nested = new String[1];
+        SqlBuildOptions options = SqlBuildOptions.defaults()
+                .setBuildListener(statistics -> {
+                    if (statistics.getObject() == outer) {
+                        nested[0] = builder.build(inner);
+                    }
+                });
+
+        assertEquals(outer.toSql(), builder.build(outer, options));
+        assertEquals(inner.toSql(), nested[0]);
+        assertEquals(outer.toSql(), builder.build(outer));
+    }
+
+    @Test
+    public void assignsStableAliasesInClauseOrder() {
+        SqlBuildOptions options = SqlBuildOptions.defaults().setStableAliases(true);
+        Table review = Table.of("review");
+        Select select = Select.newInstance()
+                .select(book.column("title"), author.column("name"))
+                .from(author)
+                .join(Join.of(Joins.INNER_JOIN, book).condition(book.column("author_id").eq(author.column("id"))))
+                .where(Operators.exists(Select.newInstance().select(review.column("id")).from(review)));
+
+        assertEquals("select a.title, b.name from author b inner join lib.book a on a.author_id = b.id " +
+                "where exists (select c.id from review c ) ", select.toSql());
+        assertEquals("select b.title, a.name from author a inner join lib.book b on b.author_id = a.id " +
+                "where exists (select c.id from review c ) ", select.toSql(options));
+
+        select.removeSelect().select(author.column("name"), book.column("title"));
+        assertEquals("select a.name, b.title from author a inner join lib.book b on b.author_id = a.id " +
+                "where exists (select c.id from review c ) ", select.toSql(options));
+    }
+
+    @Test
+    public void liftsCanonicalLiteralsOnlyIntoStatements() {
+        SqlBuildOptions options = SqlBuildOptions.defaults().setCanonical(true);
+        Select first = Select.newInstance().from(author)
+                .where(Operators.and(author.column("name").eq("x"), author.column("id").in(3, 1, 2)));
+        Select second = Select.newInstance().from(author)
+                .where(Operators.and(author.column("id").in(2, 3, 1), author.column("name").eq("x")));
+
+        for (Select select : List.of(first, second)) {
+            assertEquals("select * from author a where a.id in (1, 2, 3) and a.name = 'x'", select.toSql(options));
+
+            SqlStatement statement = select.toStatement(options);
+            assertEquals("select * from author a where a.id in (?, ?, ?) and a.name = ?", statement.getSql());
+            assertEquals(Arrays.asList(1L, 2L, 3L, "x"), statement.getPlaceholders().stream()
+                    .map(Placeholder::getValueOrNull)
+                    .toList());
+        }
+
+        SqlBuilder builder = SqlBuilder.newCachingInstance();
+        assertEquals(first.toStatement(options).getSql(), builder.buildStatement(first, options).getSql());
+        assertEquals(first.toSql(options), builder.build(first, options));
+        assertEquals(first.toStatement(options).getSql(), builder.buildStatement(first, options).getSql());
+    }
+
+    @Test
+    public void rendersOptimizerHints() {
+        Table book = Table.of("book");
+        Select select = Select.newInstance().from(author)
+                .join(Join.of(Joins.INNER_JOIN, book).condition(book.column("author_id").eq(author.column("id"))))
+                .hint(OptimizerHint.index(author, "author_idx"), OptimizerHint.leading(book, author),
+                        OptimizerHint.parallel(author, 4), OptimizerHint.noMerge());
+        SqlBuildOptions pgHintPlan = SqlBuildOptions.defaults()
+                .setHintDialect(SqlBuildOptions.HintDialect.PG_HINT_PLAN);
+
+        assertRenders("select /*+ INDEX(a author_idx) LEADING(b a) PARALLEL(a 4) NO_MERGE */ * " +
+                "from author a inner join book b on b.author_id = a.id ", select);
+        assertEquals("/*+ IndexScan(a author_idx) Leading(b a) Parallel(a 4 hard) */ select * " +
+                "from author a inner join book b on b.author_id = a.id ", select.toSql(pgHintPlan));
+
+        Update update = Update.newInstance().table(author).set(author.column("name")).value("x").hint("append");
+        assertRenders("update /*+ append */ author a set name = 'x' ", update);
+        assertEquals("/*+ append */ update author a set name = 'x' ", update.toSql(pgHintPlan));
+    }
+
+    @Test
+    public void invalidatesCachedHints() {
+        SqlBuilder builder = SqlBuilder.newCachingInstance();
+        Select select = Select.newInstance().from(author);
+        Update update = Update.newInstance().table(author).set(author.column("name")).value("x");
+        assertEquals("select * from author a ", builder.build(select));
+        assertEquals("update author a set name = 'x' ", builder.build(update));
+
+        select.hint(OptimizerHint.parallel(author, 2));
+        update.hint(OptimizerHint.parallel(author, 2));
+        assertEquals("select /*+ PARALLEL(a 2) */ * from author a ", builder.build(select));
+        assertEquals("update /*+ PARALLEL(a 2) */ author a set name = 'x' ", builder.build(update));
+
+        select.removeHints();
+        update.removeHints();
+        assertEquals("select * from author a ", builder.build(select));
+        assertEquals("update author a set name = 'x' ", builder.build(update));
+    }
+
+    @Test
+    public void rendersBoundedSummaries() {
+        Object[] ids = new Object[100];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (long) i;
+        }
+
+        Select select = Select.newInstance().from(author).where(author.column("id").in(ids));
+        assertEquals("select * from author a where a.id in (0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ... 90 more) ",
+                select.toString());
+        assertEquals("select * from author a where a.id in (0, 1, 2, ... 97 more) ",
+                select.toSql(SqlBuildOptions.defaults().setMaxListSize(3)));
+        assertEquals("select * from author ...", select.toSql(SqlBuildOptions.defaults().setMaxLength(20)));
+
+        Select wide = Select.newInstance().from(author);
+        for (int i = 0; i < 2000; i++) {
+            wide.select(author.column("col" + i));
+        }
+
+        String summary = wide.toString();
+        assertEquals(4100, summary.length());
+        assertTrue(summary.endsWith(" ..."));
+
+        SqlBuilder builder = SqlBuilder.newReusableInstance();
+        assertEquals(summary, builder.build(wide, SqlBuildOptions.summary()));
+        assertEquals("select * from author a ", builder.build(Select.newInstance().from(author)));
+    }
+
+    @Test
+    public void invalidatesCachedClausesOnNestedChanges() {
+        SqlBuilder builder = SqlBuilder.newCachingInstance();
+        Column name = author.column("name");
+        Function count = Functions.count(author.column("id"));
+        Window window = Window.of(author.column("country"));
+        BinaryLogicalOperation having = Operators.and(count.gt(1));
+        CommonTableExpression cte = CommonTableExpression.of("x", Select.newInstance().from(author));
+        Select select = Select.newInstance()
+                .with(cte)
+                .select(name, count, Functions.rank().over(window))
+                .from(author)
+                .groupBy(name)
+                .having(having);
+        assertEquals("with x as (select * from author a ) " +
+                "select a.name, count(a.id), rank() over (partition by a.country ) " +
+                "from author a group by a.name having count(a.id) > 1 ", builder.build(select));
+
+        name.as("n");
+        count.as("c");
+        window.partitionBy(author.column("city"));
+        having.add(count.lt(10));
+        cte.materialized(true);
+
+        String expected = "with x as materialized (select * from author a ) " +
+                "select a.name as n, count(a.id) as c, rank() over (partition by a.country, a.city ) " +
+                "from author a group by a.name having (count(a.id) > 1 and count(a.id) < 10 ) ";
+        assertEquals(expected, builder.build(select));
+        assertEquals(expected, select.toSql());
+    }
+
+    @Test
+    public void keepsGeneratedWindowNamesOutOfTheTree() {
+        Window window = Window.of(author.column("country"));
+        Select select = Select.newInstance()
+                .select(Functions.rank().over(Window.empty()))
+                .from(author)
+                .window(window);
+        String expected = "select rank() over () from author a window b as (partition by a.country ) ";
+
+        SqlBuilder builder = SqlBuilder.newCachingInstance();
+        assertEquals(expected, builder.build(select));
+        assertEquals(expected, builder.build(select));
+        assertRenders(expected, select);
+        assertTrue(window.getName().isEmpty());
+    }
+
+    @Test
+    public void sortsCanonicalSubQueriesBeforeAliasing() {
+        SqlBuildOptions options = SqlBuildOptions.defaults().setCanonical(true);
+        Table book = Table.of("book");
+        Table review = Table.of("review");
+        Select books = Select.newInstance().from(book).select(book.column("author_id"));
+        Select reviews = Select.newInstance().from(review).select(review.column("author_id"));
+        Select first = Select.newInstance().from(author)
+                .where(Operators.and(author.column("id").in(books), author.column("id").in(reviews)));
+        Select second = Select.newInstance().from(author)
+                .where(Operators.and(author.column("id").in(reviews), author.column("id").in(books)));
+
+        String expected = "select * from author a where a.id in (select b.author_id from book b) " +
+                "and a.id in (select c.author_id from review c)";
+        assertEquals(expected, first.toSql(options));
+        assertEquals(expected, second.toSql(options));
+
+        SqlBuilder builder = SqlBuilder.newCachingInstance();
+        assertEquals(expected, builder.build(second, options));
+        assertEquals(expected, builder.build(second, options));
+        assertEquals(expected, builder.build(first, options));
+    }
+
+    @Test
+    public void rendersSelectionAliases() {
+        Select select = Select.newInstance()
+                .select(author.column("id").as("i"),
+                        Functions.count(author.column("id")).as("c"),
+                        IntegerLiteral.of(1).as("one"),
+                        author.column("x").eq(1).as("flag"),
+                        Select.newInstance().select(IntegerLiteral.of(2)).as("sub"),
+                        author.wildcard())
+                .from(author);
+
+        assertRenders("select a.id as i, count(a.id) as c, 1 as one, a.x = 1 as flag, (select 2 ) as sub, a.* " +
+                "from author a ", select);
+        select.getSelect().forEach(selection ->
+                assertEquals(selection.getAlias().orElse(null), selection.getAliasOrNull()));
+    }
+
+    private void assertRenders(String expected, SqlObject object) {
+        assertEquals(expected, object.toSql());
+        assertEquals(expected, SqlBuilder.newInstance().build(object));
+
+        SqlBuilder builder = SqlBuilder.newReusableInstance();
+        assertEquals(expected, builder.build(object));
+        assertEquals(expected, builder.build(object));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void indexesNamedPlaceholders() {
+        Placeholder id = Placeholder.named("id", 1);
+        Select select = Select.newInstance()
+                .from(author)
+                .where(author.column("id").eq(id), author.column("name").eq(Placeholder.of("x")),
+                        author.column("parent_id").eq(id));
+
+        SqlStatement statement = select.toStatement();
+
+        assertEquals(select.toSql(), statement.getSql());
+        assertEquals(3, statement.getPlaceholderCount());
+        assertSame(id, statement.getPlaceholder(1));
+        assertEquals("x", statement.getPlaceholder(2).getValue().orElse(null));
+        assertEquals(Set.of("id"), statement.getNames());
+        assertTrue(statement.hasName("id"));
+        assertFalse(statement.hasName("name"));
+        assertArrayEquals(new int[]{1, 3}, statement.getPositions("id"));
+        assertEquals(1, statement.getPosition("id"));
+        assertEquals(-1, statement.getPosition("name"));
+        assertEquals(0, statement.getPositions("name").length);
+    }
+
+    @Test
+    public void doesNotExposeInternalState() {
+        Select select = Select.newInstance()
+                .from(author)
+                .where(author.column("id").eq(Placeholder.named("id")));
+        SqlStatement statement = select.toStatement();
+
+        statement.getPositions("id")[0] = 42;
+
+        assertArrayEquals(new int[]{1}, statement.getPositions("id"));
+        assertThrows(UnsupportedOperationException.class, () -> statement.getNames().clear());
+        assertThrows(UnsupportedOperationException.class, () -> statement.getPlaceholders().clear());
+    }
+}
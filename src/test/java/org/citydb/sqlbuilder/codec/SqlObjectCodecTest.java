@@ -0,0 +1,201 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.codec;
+
+import org.citydb.sqlbuilder.common.SqlObject;
+import org.citydb.sqlbuilder.function.Functions;
+import org.citydb.sqlbuilder.literal.*;
+import org.citydb.sqlbuilder.operation.Case;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.CommonTableExpression;
+import org.citydb.sqlbuilder.query.OptimizerHint;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.Window;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+import org.citydb.sqlbuilder.util.PlainSql;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlObjectCodecTest {
+    private final SqlObjectWriter writer = SqlObjectWriter.newInstance();
+    private final SqlObjectReader reader = SqlObjectReader.newInstance();
+    private final Table author = Table.of("author");
+    private final Table book = Table.of("book", "lib");
+
+    @Test
+    public void roundTripsSelect() {
+        Select subQuery = Select.newInstance()
+                .select(book.column("author_id"))
+                .from(book)
+                .where(book.column("title").like("%'s%", "\\"));
+        Select select = Select.newInstance()
+                .with(CommonTableExpression.of("c", Select.newInstance().from(book)).materialized())
+                .select(author.column("id"), author.column("name").as("n"),
+                        Functions.rank().over(Window.of(author.column("id"))
+                                .orderBy(author.column("name").desc().nullsLast())
+                                .rows().betweenPreceding(IntegerLiteral.of(2)).andFollowing(IntegerLiteral.of(3))),
+                        Case.newInstance().when(author.column("id").gt(3)).then(StringLiteral.of("big"))
+                                .orElse(StringLiteral.of("small")).as("sz"),
+                        DateLiteral.of(Date.valueOf("2020-01-02")).as("d"),
+                        TimestampLiteral.of(Timestamp.valueOf("2020-01-02 10:00:00.123")),
+                        BooleanLiteral.TRUE, DoubleLiteral.of(1.5), NullLiteral.getInstance().as("x"),
+                        author.column("id").plus(2).multiply(3).as("ar"), author.wildcard())
+                .distinct()
+                .from(author)
+                .join(book).on(author.column("id").eq(book.column("author_id")))
+                .where(author.column("year").gt(1920).and(author.column("name").eq("Paulo"))
+                                .or(author.column("id").in(subQuery)),
+                        author.column("id").notIn(1, 2, 3), author.column("id").between(1, 5),
+                        author.column("x").isNull(), Operators.exists(subQuery, true),
+                        author.column("id").eq(Placeholder.named("id", 5)),
+                        PlainSql.of("foo({}) = {}", author.column("id"), "plain"))
+                .groupBy(author.column("id"))
+                .having(Functions.count().gt(1))
+                .orderBy(author.column("id").desc())
+                .offset(10, 20)
+                .hint(OptimizerHint.parallel(author, 4));
+
+        assertRoundTrip(select);
+    }
+
+    @Test
+    public void roundTripsUpdateAndSetOperators() {
+        Update update = Update.newInstance()
+                .withRecursive("c", Select.newInstance().from(book))
+                .table(author)
+                .set(author.column("name")).value("y")
+                .where(author.column("id").eq(1))
+                .hint("x");
+
+        assertRoundTrip(update);
+        assertRoundTrip(Select.newInstance().from(author)
+                .union(Select.newInstance().from(book))
+                .orderBy(author.column("x"))
+                .fetch(3));
+        assertRoundTrip(Select.newInstance().from(Table.lateral(Select.newInstance().from(book)).alias("l")));
+    }
+
+    @Test
+    public void preservesSharedInstances() {
+        Placeholder id = Placeholder.named("id", 1);
+        Select select = Select.newInstance()
+                .from(author)
+                .where(author.column("id").eq(id), author.column("parent_id").eq(id));
+
+        Select copy = reader.read(writer.write(select), Select.class);
+
+        assertEquals(select.toSql(), copy.toSql());
+        assertEquals(2, copy.getPlaceholders().size());
+        assertSame(copy.getPlaceholders().get(0), copy.getPlaceholders().get(1));
+    }
+
+    @Test
+    public void roundTripsPlaceholderValues() {
+        List<Object> values = List.of("x", true, (byte) 1, (short) 2, 3, 4L, 1.5f, 2.5,
+                new java.math.BigInteger("12345678901234567890"), new java.math.BigDecimal("1.25"),
+                Date.valueOf("2020-01-02"), Timestamp.valueOf("2020-01-02 10:00:00.5"),
+                LocalDate.of(2020, 1, 2), UUID.randomUUID(), List.of(1, 2));
+        for (Object value : values) {
+            Placeholder placeholder = Placeholder.of(value);
+            placeholder.getUserProperties().set("key", value);
+
+            Placeholder copy = reader.read(writer.write(placeholder), Placeholder.class);
+
+            assertEquals(value, copy.getValue().orElse(null));
+            assertEquals(value, copy.getUserProperties().get("key"));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> writer.write(Placeholder.of(new Object())));
+    }
+
+    @Test
+    public void supportsBuffersAndStreams() throws IOException {
+        Select first = Select.newInstance().from(author);
+        Select second = Select.newInstance().from(book).where(book.column("id").eq(1));
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        writer.write(first, buffer);
+        writer.write(second, buffer);
+        buffer.flip();
+        assertEquals(first.toSql(), reader.read(buffer).toSql());
+        assertEquals(second.toSql(), reader.read(buffer).toSql());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(second, new DataOutputStream(bytes));
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(second.toSql(), reader.read(input, Select.class).toSql());
+    }
+
+    @Test
+    public void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> reader.read(new byte[]{1, 2, 3, 4, 5}));
+        assertThrows(IllegalArgumentException.class, () -> reader.read(new byte[]{83, 81, 76}));
+
+        byte[] bytes = writer.write(Select.newInstance().from(author));
+        assertThrows(IllegalArgumentException.class, () -> reader.read(bytes, Update.class));
+        assertThrows(IllegalArgumentException.class, () -> reader.read(Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+
+    @Test
+    public void rejectsOtherFormatVersions() {
+        byte[] bytes = writer.write(Select.newInstance().from(author));
+        assertEquals("select * from author a ", reader.read(bytes).toSql());
+
+        for (byte version : new byte[]{0, 2, 4}) {
+            bytes[4] = version;
+            byte[] input = bytes.clone();
+            assertThrows(IllegalArgumentException.class, () -> reader.read(input));
+        }
+    }
+
+    @Test
+    public void encodesSmallerThanRenderedSql() {
+        Select select = Select.newInstance()
+                .select(author.column("id"), author.column("name"))
+                .from(author)
+                .join(book).on(book.column("author_id").eq(author.column("id")))
+                .where(author.column("name").eq(Placeholder.empty()), book.column("year").gt(2000))
+                .orderBy(author.column("name"));
+
+        assertTrue(writer.write(select).length < select.toSql().length());
+    }
+
+    private void assertRoundTrip(SqlObject object) {
+        byte[] bytes = writer.write(object);
+        SqlObject copy = reader.read(bytes);
+
+        assertEquals(object.toSql(), copy.toSql());
+        assertArrayEquals(bytes, writer.write(copy));
+    }
+}
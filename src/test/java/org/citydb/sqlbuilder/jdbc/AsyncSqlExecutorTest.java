@@ -0,0 +1,206 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncSqlExecutorTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void queuesTasksWithoutHoldingThreads() throws Exception {
+        DataSource dataSource = new FakeJdbc().dataSource();
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        CountDownLatch release = new CountDownLatch(1);
+        Gauge gauge = new Gauge();
+        try (AsyncSqlExecutor executor = AsyncSqlExecutor.of(pool).setMaxConcurrency(dataSource, 2)) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(executor.execute(dataSource, connection -> gauge.run(release)));
+            }
+
+            gauge.await(2);
+            assertEquals(0, executor.getAvailablePermits(dataSource));
+            assertEquals(2, pool.getPoolSize());
+
+            release.countDown();
+            for (CompletableFuture<Integer> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(2, gauge.max.get());
+            assertEquals(2, pool.getLargestPoolSize());
+            assertEquals(2, executor.getAvailablePermits(dataSource));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void startsQueuedTasksWhenRaisingConcurrency() throws Exception {
+        DataSource dataSource = new FakeJdbc().dataSource();
+        ExecutorService pool = Executors.newCachedThreadPool();
+        CountDownLatch release = new CountDownLatch(1);
+        Gauge gauge = new Gauge();
+        try (AsyncSqlExecutor executor = AsyncSqlExecutor.of(pool).setMaxConcurrency(dataSource, 1)) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.execute(dataSource, connection -> gauge.run(release)));
+            }
+
+            gauge.await(1);
+            executor.setMaxConcurrency(dataSource, 3);
+            gauge.await(3);
+            assertEquals(0, executor.getAvailablePermits(dataSource));
+
+            executor.setMaxConcurrency(dataSource, 1);
+            release.countDown();
+            for (CompletableFuture<Integer> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(1, executor.getAvailablePermits(dataSource));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void releasesPermitBeforeCompletingFuture() throws Exception {
+        DataSource dataSource = new FakeJdbc().dataSource();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncSqlExecutor executor = AsyncSqlExecutor.of(pool).setMaxConcurrency(dataSource, 1)) {
+            CompletableFuture<Integer> permits = executor.execute(dataSource, connection -> new Gauge().run(release))
+                    .thenApply(result -> executor.getAvailablePermits(dataSource));
+
+            release.countDown();
+            int available = permits.get(10, TimeUnit.SECONDS);
+            assertEquals(1, available);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void snapshotsPlaceholderValues() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncSqlExecutor executor = AsyncSqlExecutor.of(pool)) {
+            pool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            Placeholder id = Placeholder.of(1L);
+            Update update = Update.newInstance().table(author).set(author.column("name")).value("x")
+                    .where(author.column("id").eq(id));
+            CompletableFuture<Integer> future = executor.update(jdbc.dataSource(), update);
+            id.setValue(2L);
+            release.countDown();
+
+            future.get(10, TimeUnit.SECONDS);
+            assertEquals(List.of(Map.of(1, 1L)), jdbc.parameters);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void releasesPermitsOfRejectedTasks() {
+        DataSource dataSource = new FakeJdbc().dataSource();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.shutdown();
+        try (AsyncSqlExecutor executor = AsyncSqlExecutor.of(pool).setMaxConcurrency(dataSource, 1)) {
+            CompletableFuture<Integer> future = executor.execute(dataSource, connection -> 1);
+
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+            assertEquals(1, executor.getAvailablePermits(dataSource));
+        }
+    }
+
+    @Test
+    public void reportsCallbackFailures() {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (AsyncSqlExecutor executor = AsyncSqlExecutor.newInstance()) {
+            IllegalStateException failure = new IllegalStateException();
+            CompletableFuture<Integer> future = executor.execute(jdbc.dataSource(), connection -> {
+                throw failure;
+            });
+
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertSame(failure, e.getCause());
+            assertEquals(0, jdbc.openConnections.get());
+        }
+    }
+
+    private static class Gauge {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        int run(CountDownLatch release) {
+            max.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+
+            return 1;
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (running.get() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(count, running.get());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchLookupExecutorTest {
+    private final Table book = Table.of("book");
+
+    @Test
+    public void doesNotModifyTemplate() {
+        Select template = Select.newInstance().select(book.column("title")).from(book)
+                .where(Operators.and(book.column("id").in(1L, 2L), book.column("year").eq(2000)));
+        String sql = template.toSql();
+
+        BatchLookupExecutor<Long, String> executor = BatchLookupExecutor.of(new FakeJdbc().dataSource(), template,
+                book.column("id"), Long.class, resultSet -> resultSet.getLong(1), resultSet -> resultSet.getString(2));
+
+        assertEquals(sql, template.toSql());
+        assertTrue(executor.getStatement().getSql().contains("= any (?)"));
+        assertFalse(executor.getStatement().getSql().contains(" in ("));
+    }
+
+    @Test
+    public void matchesIdColumnByTableAndName() {
+        Select template = Select.newInstance().select(book.column("title")).from(book)
+                .where(book.column("id").eq(Placeholder.empty()));
+
+        BatchLookupExecutor<Long, String> executor = BatchLookupExecutor.of(new FakeJdbc().dataSource(), template,
+                book.column("id"), Long.class, resultSet -> resultSet.getLong(1), resultSet -> resultSet.getString(2));
+
+        assertTrue(executor.getStatement().getSql().contains("= any (?)"));
+        assertThrows(IllegalArgumentException.class, () -> BatchLookupExecutor.of(new FakeJdbc().dataSource(),
+                template, Table.of("book").column("id"), Long.class, resultSet -> resultSet.getLong(1),
+                resultSet -> resultSet.getString(2)));
+    }
+
+    @Test
+    public void looksUpBatchesAndFreesArrays() {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.rows = List.of(new Object[]{1L, "a"}, new Object[]{2L, "b"}, new Object[]{1L, "c"});
+        Select template = Select.newInstance().select(book.column("id"), book.column("title")).from(book)
+                .where(book.column("id").eq(Placeholder.empty()));
+
+        try (BatchLookupExecutor<Long, String> executor = BatchLookupExecutor.of(jdbc.dataSource(), template,
+                book.column("id"), Long.class, resultSet -> resultSet.getLong(1), resultSet -> resultSet.getString(2))
+                .setExecutor(Runnable::run)
+                .setMaxBatchSize(3)
+                .setMaxDelay(Duration.ofMinutes(1))) {
+            CompletableFuture<Map<Long, List<String>>> result = executor.lookup(List.of(1L, 2L, 3L));
+
+            assertEquals(Map.of(1L, List.of("a", "c"), 2L, List.of("b"), 3L, List.of()), result.join());
+        }
+
+        assertEquals(1, jdbc.prepared.size());
+        assertEquals(1, jdbc.arrays.size());
+        assertEquals("bigint", jdbc.arrays.get(0).typeName);
+        assertArrayEquals(new Object[]{1L, 2L, 3L}, jdbc.arrays.get(0).elements);
+        assertTrue(jdbc.arrays.get(0).freed);
+        assertEquals(0, jdbc.openStatements.get());
+        assertEquals(0, jdbc.openConnections.get());
+    }
+}
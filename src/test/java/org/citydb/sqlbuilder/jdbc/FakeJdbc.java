@@ -0,0 +1,214 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class FakeJdbc {
+    final List<String> prepared = new CopyOnWriteArrayList<>();
+    final List<Map<Integer, Object>> parameters = new CopyOnWriteArrayList<>();
+    final List<FakeArray> arrays = new CopyOnWriteArrayList<>();
+    final AtomicInteger openConnections = new AtomicInteger();
+    final AtomicInteger openStatements = new AtomicInteger();
+    final AtomicInteger connections = new AtomicInteger();
+    volatile List<Object[]> rows = List.of();
+    volatile String productName = "PostgreSQL";
+    volatile int updateCount;
+    volatile SQLException failure;
+    volatile SQLException closeFailure;
+    volatile SQLException commitFailure;
+
+    DataSource dataSource() {
+        return proxy(DataSource.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getConnection" -> connection();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    Connection connection() {
+        connections.incrementAndGet();
+        openConnections.incrementAndGet();
+        boolean[] state = {false, true};
+        DatabaseMetaData metaData = proxy(DatabaseMetaData.class, (proxy, method, args) -> {
+            if (method.getName().equals("getDatabaseProductName")) {
+                return productName;
+            }
+
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> statement((Connection) proxy, (String) args[0]);
+            case "createArrayOf" -> {
+                FakeArray array = new FakeArray((String) args[0], (Object[]) args[1]);
+                arrays.add(array);
+                yield array.proxy;
+            }
+            case "getMetaData" -> metaData;
+            case "getAutoCommit" -> state[1];
+            case "setAutoCommit" -> {
+                state[1] = (Boolean) args[0];
+                yield null;
+            }
+            case "commit" -> {
+                if (commitFailure != null) {
+                    throw commitFailure;
+                }
+
+                yield null;
+            }
+            case "rollback" -> null;
+            case "isClosed" -> state[0];
+            case "close" -> {
+                if (!state[0]) {
+                    state[0] = true;
+                    openConnections.decrementAndGet();
+                }
+
+                yield null;
+            }
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "FakeConnection";
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private PreparedStatement statement(Connection connection, String sql) throws SQLException {
+        if (failure != null) {
+            throw failure;
+        }
+
+        prepared.add(sql);
+        openStatements.incrementAndGet();
+        Map<Integer, Object> values = new TreeMap<>();
+        Map<String, Object> settings = new HashMap<>(Map.of("MaxRows", 0, "FetchSize", 0, "QueryTimeout", 0,
+                "FetchDirection", ResultSet.FETCH_FORWARD));
+        boolean[] closed = {false};
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            if (closed[0] && !method.getName().equals("close") && !method.getName().equals("isClosed")) {
+                throw new SQLException("The statement is closed.");
+            }
+
+            return switch (method.getName()) {
+                case "setObject", "setArray", "setLong", "setString", "setInt" -> {
+                    values.put((Integer) args[0], args[1]);
+                    yield null;
+                }
+                case "executeQuery" -> {
+                    parameters.add(new TreeMap<>(values));
+                    yield resultSet(rows);
+                }
+                case "executeUpdate" -> {
+                    parameters.add(new TreeMap<>(values));
+                    yield updateCount;
+                }
+                case "clearParameters" -> {
+                    values.clear();
+                    yield null;
+                }
+                case "setFetchSize", "setMaxRows", "setQueryTimeout", "setFetchDirection" -> {
+                    settings.put(method.getName().substring(3), args[0]);
+                    yield null;
+                }
+                case "getFetchSize", "getMaxRows", "getQueryTimeout", "getFetchDirection" ->
+                        settings.get(method.getName().substring(3));
+                case "getConnection" -> connection;
+                case "isClosed" -> closed[0];
+                case "close" -> {
+                    if (!closed[0]) {
+                        closed[0] = true;
+                        openStatements.decrementAndGet();
+                    }
+
+                    yield null;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "FakePreparedStatement[" + sql + "]";
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+    }
+
+    private ResultSet resultSet(List<Object[]> rows) {
+        Iterator<Object[]> iterator = rows.iterator();
+        Object[][] current = {null};
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> {
+                current[0] = iterator.hasNext() ? iterator.next() : null;
+                yield current[0] != null;
+            }
+            case "getObject" -> current[0][(Integer) args[0] - 1];
+            case "getLong" -> ((Number) current[0][(Integer) args[0] - 1]).longValue();
+            case "getInt" -> ((Number) current[0][(Integer) args[0] - 1]).intValue();
+            case "getString" -> String.valueOf(current[0][(Integer) args[0] - 1]);
+            case "close" -> {
+                if (closeFailure != null) {
+                    throw closeFailure;
+                }
+
+                yield null;
+            }
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(FakeJdbc.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    static class FakeArray {
+        final String typeName;
+        final Object[] elements;
+        final Array proxy;
+        volatile boolean freed;
+
+        FakeArray(String typeName, Object[] elements) {
+            this.typeName = typeName;
+            this.elements = elements;
+            proxy = FakeJdbc.proxy(Array.class, (proxy, method, args) -> switch (method.getName()) {
+                case "free" -> {
+                    freed = true;
+                    yield null;
+                }
+                case "getArray" -> elements;
+                case "getBaseTypeName" -> typeName;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        }
+    }
+}
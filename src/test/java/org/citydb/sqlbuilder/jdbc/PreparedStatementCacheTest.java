@@ -0,0 +1,173 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PreparedStatementCacheTest {
+
+    @Test
+    public void reusesStatementsAfterRelease() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        PreparedStatementCache cache = PreparedStatementCache.newInstance();
+        try (Connection connection = jdbc.connection();
+             PreparedStatementCache.Session session = cache.open(connection)) {
+            try (PreparedStatement statement = session.prepare("select 1")) {
+                statement.setObject(1, 1);
+            }
+
+            try (PreparedStatement statement = session.prepare("select 1")) {
+                assertFalse(statement.isClosed());
+            }
+
+            assertEquals(1, jdbc.prepared.size());
+            assertEquals(1, jdbc.openStatements.get());
+            assertTrue(session.contains("select 1"));
+            assertEquals(1, session.size());
+        }
+
+        assertEquals(0, jdbc.openStatements.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    public void resetsStatementSettingsOnReuse() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (Connection connection = jdbc.connection();
+             PreparedStatementCache.Session session = PreparedStatementCache.newInstance().open(connection)) {
+            try (PreparedStatement statement = session.prepare("select 1")) {
+                statement.setMaxRows(1);
+                statement.setFetchSize(500);
+                statement.setQueryTimeout(30);
+                statement.setFetchDirection(ResultSet.FETCH_REVERSE);
+            }
+
+            try (PreparedStatement statement = session.prepare("select 1")) {
+                assertEquals(0, statement.getMaxRows());
+                assertEquals(0, statement.getFetchSize());
+                assertEquals(0, statement.getQueryTimeout());
+                assertEquals(ResultSet.FETCH_FORWARD, statement.getFetchDirection());
+            }
+
+            assertEquals(1, jdbc.prepared.size());
+        }
+    }
+
+    @Test
+    public void closingLeaseKeepsStatementOpen() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (Connection connection = jdbc.connection();
+             PreparedStatementCache.Session session = PreparedStatementCache.newInstance().open(connection)) {
+            PreparedStatement statement = session.prepare("select 1");
+            statement.close();
+            statement.close();
+
+            assertTrue(statement.isClosed());
+            assertThrows(SQLException.class, () -> statement.setObject(1, 1));
+            assertEquals(1, jdbc.openStatements.get());
+        }
+    }
+
+    @Test
+    public void doesNotShareLeasedStatements() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (Connection connection = jdbc.connection();
+             PreparedStatementCache.Session session = PreparedStatementCache.newInstance().open(connection)) {
+            try (PreparedStatement first = session.prepare("select 1");
+                 PreparedStatement second = session.prepare("select 1")) {
+                assertNotSame(first, second);
+                assertEquals(2, jdbc.openStatements.get());
+            }
+
+            assertEquals(1, jdbc.openStatements.get());
+            assertEquals(1, session.size());
+        }
+    }
+
+    @Test
+    public void evictsWithoutClosingLeasedStatements() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        PreparedStatementCache cache = PreparedStatementCache.newInstance(1);
+        try (Connection connection = jdbc.connection();
+             PreparedStatementCache.Session session = cache.open(connection)) {
+            PreparedStatement first = session.prepare("select 1");
+            try (PreparedStatement second = session.prepare("select 2")) {
+                assertFalse(session.contains("select 1"));
+                assertTrue(session.contains("select 2"));
+                first.setObject(1, 1);
+                assertEquals(2, jdbc.openStatements.get());
+            }
+
+            first.close();
+            assertEquals(1, jdbc.openStatements.get());
+            assertEquals(1, cache.getEvictions());
+        }
+    }
+
+    @Test
+    public void closesLeasedStatementsAfterSessionClose() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (Connection connection = jdbc.connection()) {
+            PreparedStatementCache.Session session = PreparedStatementCache.newInstance().open(connection);
+            session.prepare("select 1").close();
+            PreparedStatement leased = session.prepare("select 2");
+
+            session.close();
+            assertTrue(session.isClosed());
+            assertEquals(1, jdbc.openStatements.get());
+            assertThrows(IllegalStateException.class, () -> session.prepare("select 1"));
+
+            leased.close();
+            assertEquals(0, jdbc.openStatements.get());
+        }
+    }
+
+    @Test
+    public void evictsExplicitly() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (Connection connection = jdbc.connection();
+             PreparedStatementCache.Session session = PreparedStatementCache.newInstance().open(connection)) {
+            session.prepare("select 1").close();
+            session.evict("select 1");
+            session.evict("select 2");
+
+            assertFalse(session.contains("select 1"));
+            assertEquals(0, jdbc.openStatements.get());
+        }
+    }
+
+    @Test
+    public void rejectsInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> PreparedStatementCache.newInstance(0));
+        assertThrows(NullPointerException.class, () -> PreparedStatementCache.newInstance().open(null));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.function.Cast;
+import org.citydb.sqlbuilder.function.Functions;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionIndexTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void resolvesLabels() {
+        ProjectionIndex index = ProjectionIndex.of(Select.newInstance()
+                .select(author.column("id"), author.column("last_name").as("name"),
+                        Cast.of(author.column("born"), "numeric(10, 2)"), Functions.count())
+                .from(author));
+
+        assertFalse(index.isPartial());
+        assertEquals(Arrays.asList("id", "name", null, "count"), index.getLabels());
+        assertEquals(OptionalInt.of(2), index.find("NAME"));
+        assertEquals(OptionalInt.of(1), index.find("i_d"));
+        assertEquals(OptionalInt.empty(), index.find("last_name"));
+        assertEquals(Optional.of(BigDecimal.class), index.getTypeHint(3));
+        assertEquals(Optional.of("numeric(10, 2)"), index.getTypeName(3));
+        assertThrows(IllegalArgumentException.class, () -> index.indexOf("missing"));
+    }
+
+    @Test
+    public void failsLoudlyForWildcards() {
+        ProjectionIndex index = ProjectionIndex.of(Select.newInstance()
+                .select(author.column("id"), author.wildcard(), author.column("name"))
+                .from(author));
+
+        assertTrue(index.isPartial());
+        assertEquals(1, index.size());
+        assertEquals(1, index.indexOf("id"));
+        assertThrows(IllegalStateException.class, () -> index.find("name"));
+        assertThrows(IllegalStateException.class, () -> index.recordMapper(Author.class));
+    }
+
+    @Test
+    public void failsLoudlyForEmptySelectLists() {
+        ProjectionIndex index = ProjectionIndex.of(Select.newInstance().from(author));
+
+        assertTrue(index.isPartial());
+        assertEquals(0, index.size());
+        assertThrows(IllegalStateException.class, () -> index.contains("id"));
+    }
+
+    @Test
+    public void mapsRecords() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.rows = List.<Object[]>of(new Object[]{"x", 7L});
+        RowMapper<Author> mapper = ProjectionIndex.of(Select.newInstance()
+                        .select(author.column("name"), author.column("id"))
+                        .from(author))
+                .recordMapper(Author.class);
+
+        try (Connection connection = jdbc.connection();
+             PreparedStatement statement = connection.prepareStatement("select");
+             ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+            assertEquals(new Author(7L, "x"), mapper.map(resultSet));
+        }
+    }
+
+    public record Author(long id, String name) {
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.util.ArrayValue;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementBinderTest {
+
+    @Test
+    public void usesDialectArrayTypeNames() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        StatementBinder binder = StatementBinder.newInstance();
+        ArrayValue value = ArrayValue.of(List.of(1.5, 2.5), Double.class);
+        try (Connection connection = jdbc.connection()) {
+            binder.createArray(connection, value).free();
+            jdbc.productName = "H2";
+            binder.createArray(connection, value).free();
+        }
+
+        assertEquals("float8", jdbc.arrays.get(0).typeName);
+        assertEquals("DOUBLE PRECISION", jdbc.arrays.get(1).typeName);
+    }
+
+    @Test
+    public void prefersRegisteredArrayTypeNames() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        StatementBinder binder = StatementBinder.newInstance().setArrayTypeName(Long.class, "int8");
+        assertEquals(Optional.of("int8"), binder.getArrayTypeName(Long.class));
+        try (Connection connection = jdbc.connection()) {
+            binder.createArray(connection, ArrayValue.of(List.of(1L), Long.class)).free();
+            binder.setArrayTypeName(Long.class, null);
+            binder.createArray(connection, ArrayValue.of(List.of(1L), Long.class)).free();
+        }
+
+        assertEquals("int8", jdbc.arrays.get(0).typeName);
+        assertEquals("bigint", jdbc.arrays.get(1).typeName);
+        assertEquals(Optional.empty(), binder.getArrayTypeName(Long.class));
+    }
+
+    @Test
+    public void rejectsUnknownArrayTypes() throws SQLException {
+        try (Connection connection = new FakeJdbc().connection()) {
+            assertThrows(SQLException.class, () -> StatementBinder.newInstance()
+                    .createArray(connection, ArrayValue.of(List.of(new Object()), Object.class)));
+        }
+    }
+
+    @Test
+    public void freesBoundArraysOnClose() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (Connection connection = jdbc.connection();
+             PreparedStatement statement = connection.prepareStatement("select 1")) {
+            StatementBinder.Bindings bindings = StatementBinder.newInstance().bind(statement, Arrays.asList(
+                    ArrayValue.of(List.of(1, 2), Integer.class), "x", null, ArrayValue.of(List.of("a"), String.class)));
+            assertEquals(2, bindings.getArrays().size());
+            assertFalse(jdbc.arrays.get(0).freed);
+
+            bindings.close();
+            assertTrue(jdbc.arrays.get(0).freed);
+            assertTrue(jdbc.arrays.get(1).freed);
+            assertEquals(List.of(), bindings.getArrays());
+        }
+    }
+
+    @Test
+    public void freesArraysWhenBindingFails() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        try (Connection connection = jdbc.connection();
+             PreparedStatement statement = connection.prepareStatement("select 1")) {
+            assertThrows(SQLException.class, () -> StatementBinder.newInstance().bind(statement, Arrays.asList(
+                    ArrayValue.of(List.of(1), Integer.class), ArrayValue.of(List.of(new Object()), Object.class))));
+            assertTrue(jdbc.arrays.get(0).freed);
+        }
+    }
+}
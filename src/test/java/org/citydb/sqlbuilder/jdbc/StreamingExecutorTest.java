@@ -0,0 +1,169 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.jdbc;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingExecutorTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void streamsRowsAndClosesResources() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.rows = List.of(new Object[]{"a"}, new Object[]{"b"});
+        StreamingExecutor executor = StreamingExecutor.of(jdbc.dataSource());
+        Select select = Select.newInstance().select(author.column("name")).from(author)
+                .where(author.column("id").eq(Placeholder.of(1L)));
+
+        try (Stream<String> rows = executor.stream(select, resultSet -> resultSet.getString(1))) {
+            assertEquals(List.of("a", "b"), rows.toList());
+        }
+
+        assertEquals(List.of(Map.of(1, 1L)), jdbc.parameters);
+        assertEquals(0, jdbc.openStatements.get());
+        assertEquals(0, jdbc.openConnections.get());
+    }
+
+    @Test
+    public void keepsCallerConnectionOpen() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.rows = List.<Object[]>of(new Object[]{"a"});
+        try (Connection connection = jdbc.connection()) {
+            try (Stream<String> rows = StreamingExecutor.of(jdbc.dataSource())
+                    .stream(connection, Select.newInstance().from(author), resultSet -> resultSet.getString(1))) {
+                assertFalse(connection.getAutoCommit());
+                assertEquals(List.of("a"), rows.toList());
+            }
+
+            assertTrue(connection.getAutoCommit());
+            assertFalse(connection.isClosed());
+            assertEquals(0, jdbc.openStatements.get());
+        }
+    }
+
+    @Test
+    public void closesEveryResourceWhenClosingFails() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.rows = List.<Object[]>of(new Object[]{"a"});
+        jdbc.closeFailure = new SQLException("result set");
+        jdbc.commitFailure = new SQLException("commit");
+        try (Connection connection = jdbc.connection()) {
+            Stream<String> rows = StreamingExecutor.of(jdbc.dataSource())
+                    .stream(connection, Select.newInstance().from(author), resultSet -> resultSet.getString(1));
+
+            SqlExecutionException e = assertThrows(SqlExecutionException.class, rows::close);
+            assertSame(jdbc.closeFailure, e.getCause());
+            assertArrayEquals(new Throwable[]{jdbc.commitFailure}, e.getCause().getSuppressed());
+            assertTrue(connection.getAutoCommit());
+            assertEquals(0, jdbc.openStatements.get());
+        }
+    }
+
+    @Test
+    public void closesConnectionWhenPreparingFails() {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.failure = new SQLException("failed");
+        StreamingExecutor executor = StreamingExecutor.of(jdbc.dataSource());
+
+        SQLException e = assertThrows(SQLException.class, () -> executor.stream(Select.newInstance().from(author),
+                resultSet -> resultSet.getString(1)));
+        assertSame(jdbc.failure, e);
+        assertEquals(0, jdbc.openConnections.get());
+    }
+
+    @Test
+    public void wrapsRowFailures() throws SQLException {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.rows = List.<Object[]>of(new Object[]{"a"});
+        SQLException failure = new SQLException("failed");
+        try (Stream<String> rows = StreamingExecutor.of(jdbc.dataSource()).stream(Select.newInstance().from(author),
+                resultSet -> {
+                    throw failure;
+                })) {
+            SqlExecutionException e = assertThrows(SqlExecutionException.class, rows::toList);
+            assertSame(failure, e.getCause());
+        }
+
+        assertEquals(0, jdbc.openConnections.get());
+    }
+
+    @Test
+    public void publishesRows() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc();
+        jdbc.rows = List.of(new Object[]{"a"}, new Object[]{"b"}, new Object[]{"c"});
+        List<String> received = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        StreamingExecutor.of(jdbc.dataSource())
+                .setBufferSize(1)
+                .<String>publish(Select.newInstance().from(author), resultSet -> resultSet.getString(1))
+                .subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(String item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        done.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.complete(null);
+                    }
+                });
+
+        done.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("a", "b", "c"), received);
+        assertEquals(0, jdbc.openConnections.get());
+    }
+
+    @Test
+    public void rejectsInvalidSettings() {
+        StreamingExecutor executor = StreamingExecutor.of(new FakeJdbc().dataSource());
+        assertThrows(IllegalArgumentException.class, () -> executor.setFetchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> executor.setBufferSize(0));
+        assertThrows(NullPointerException.class, () -> StreamingExecutor.of(null));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.parser;
+
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.update.Update;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlParserTest {
+    private final SqlParser parser = SqlParser.newInstance();
+
+    @Test
+    public void parsesSelect() {
+        Select select = parser.parseSelect("SELECT f.id, f.name AS n, count(*) FROM feature f " +
+                "JOIN geometry g ON g.feature_id = f.id " +
+                "WHERE f.id IN (SELECT p.id FROM property p WHERE p.name LIKE 'a%') AND f.x IS NOT NULL " +
+                "GROUP BY f.id, f.name HAVING count(*) > 1 ORDER BY n DESC NULLS LAST OFFSET 5 ROWS");
+
+        assertEquals("select a.id, a.name as n, count(*) from feature a " +
+                "inner join geometry b on b.feature_id = a.id " +
+                "where a.id in (select c.id from property c where c.name like 'a%' ) and a.x is not null " +
+                "group by a.id, a.name having count(*) > 1 order by a.name desc nulls last offset 5 rows ",
+                select.toSql());
+    }
+
+    @Test
+    public void roundTripsRenderedSql() {
+        String[] statements = {
+                "with c as materialized (select a.id from author a ) select b.id from c b ",
+                "select a.id from author a where a.id between 1 and 5 or not a.x is null ",
+                "select a.id, row_number() over (partition by a.id order by a.id ) from author a ",
+                "select a.id from author a left join book b on b.author_id = a.id " +
+                        "where exists (select c.id from x c where c.id = a.id ) ",
+                "(select a.id from author a ) union all (select b.id from book b )",
+                "update author a set name = 'x' where a.id = ? "
+        };
+
+        for (String sql : statements) {
+            String rendered = parser.parse(sql).toSql();
+            assertEquals(rendered, parser.parse(rendered).toSql(), sql);
+        }
+    }
+
+    @Test
+    public void preservesQuotedIdentifiers() {
+        String sql = "select \"Id\", f.\"Name\" as \"Label\" from \"Schema\".\"Feature\" f " +
+                "where f.\"Id\" = 1 order by \"Label\"";
+
+        Select select = parser.parseSelect(sql);
+
+        String expected = "select a.\"Id\", a.\"Name\" as \"Label\" from \"Schema\".\"Feature\" a " +
+                "where a.\"Id\" = 1 order by a.\"Name\" ";
+        assertEquals(expected, select.toSql());
+        assertEquals(expected, parser.parse(expected).toSql());
+        assertEquals("select a.\"a\"\"b\" from x a ", parser.parse("select \"a\"\"b\" from x").toSql());
+    }
+
+    @Test
+    public void resolvesQuotedAliases() {
+        Select select = parser.setPreserveTableAliases(true)
+                .parseSelect("select \"F\".id, f.id from feature \"F\", feature f");
+
+        assertEquals("select \"F\".id, f.id from feature \"F\", feature f ", select.toSql());
+        assertThrows(SqlParseException.class, () -> parser.parse("select \"f\".id from feature \"F\""));
+    }
+
+    @Test
+    public void sharesNamedAndPositionalPlaceholders() {
+        Select select = parser.parseSelect("select a.id from author a " +
+                "where a.id = :id or a.parent_id = :id or a.x = $2 or a.y = $1 or a.z = $2 or a.w = ?");
+
+        SqlStatement statement = select.toStatement();
+
+        assertEquals(6, statement.getPlaceholderCount());
+        assertArrayEquals(new int[]{1, 2}, statement.getPositions("id"));
+        assertArrayEquals(new int[]{3, 5}, statement.getPositions("2"));
+        assertArrayEquals(new int[]{4}, statement.getPositions("1"));
+        assertSame(statement.getPlaceholder(3), statement.getPlaceholder(5));
+        assertFalse(statement.getPlaceholder(6).getName().isPresent());
+    }
+
+    @Test
+    public void parsesUpdate() {
+        Update update = parser.parseUpdate("update author set name = 'x', n = ? where id = 1");
+
+        assertEquals("update author a set name = 'x', n = ? where a.id = 1 ", update.toSql());
+        assertEquals(1, update.getPlaceholders().size());
+        assertTrue(update.getPlaceholders().get(0) instanceof Placeholder);
+    }
+
+    @Test
+    public void bindsHintsToParsedTables() {
+        Select select = parser.parseSelect("select /*+ INDEX(f idx_feature) FIRST_ROWS(10) */ f.x from feature f");
+        assertEquals("select /*+ FIRST_ROWS(10) INDEX(a idx_feature) */ a.x from feature a ", select.toSql());
+
+        Update update = parser.parseUpdate("update /*+ PARALLEL(f 4) */ feature f set x = 1");
+        assertEquals("update /*+ PARALLEL(a 4) */ feature a set x = 1 ", update.toSql());
+
+        assertThrows(SqlParseException.class,
+                () -> parser.parse("select /*+ USE_NL(f g) */ f.x from feature f, geometry g"));
+    }
+
+    @Test
+    public void rejectsIntegerOverflow() {
+        SqlParseException e = assertThrows(SqlParseException.class,
+                () -> parser.parse("select a.id from author a where a.id = 100000000000000000000"));
+        assertEquals(39, e.getPosition());
+        assertEquals("select a.id from author a where a.id = -9223372036854775808 ",
+                parser.parse("select a.id from author a where a.id = -9223372036854775808").toSql());
+    }
+
+    @Test
+    public void parsesUnaryMinusOnExpressions() {
+        assertEquals("select (0 - a.x), (a.y * (0 - (a.x + 1))) from feature a ",
+                parser.parse("select -f.x, f.y * -(f.x + 1) from feature f").toSql());
+    }
+
+    @Test
+    public void reportsErrorPositions() {
+        SqlParseException e = assertThrows(SqlParseException.class,
+                () -> parser.parse("select a.id from author a where"));
+        assertEquals(31, e.getPosition());
+
+        e = assertThrows(SqlParseException.class, () -> parser.parse("select 'abc from x"));
+        assertEquals(7, e.getPosition());
+
+        assertThrows(SqlParseException.class, () -> parser.parse("select x.id from author a"));
+        assertThrows(SqlParseException.class, () -> parser.parseUpdate("select 1 from x"));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.query;
+
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.function.Functions;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.BinaryLogicalOperation;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryStatementTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void returnsModifiablePlaceholderCopies() {
+        Placeholder id = Placeholder.of(1);
+        Select select = Select.newInstance().from(author).where(author.column("id").eq(id));
+
+        List<Placeholder> placeholders = select.getPlaceholders();
+        placeholders.add(Placeholder.of(2));
+
+        assertEquals(List.of(id), select.getPlaceholders());
+        assertNotSame(select.getPlaceholders(), select.getPlaceholders());
+    }
+
+    @Test
+    public void invalidatesPlaceholdersOnMutation() {
+        Placeholder id = Placeholder.of(1);
+        Placeholder name = Placeholder.of("x");
+        Placeholder limit = Placeholder.of(10);
+        Select select = Select.newInstance().from(author).where(author.column("id").eq(id));
+        assertEquals(List.of(id), select.getPlaceholders());
+
+        select.where(author.column("name").eq(name));
+        assertEquals(List.of(id, name), select.getPlaceholders());
+
+        select.fetch(limit);
+        assertEquals(List.of(id, name, limit), select.getPlaceholders());
+
+        select.removeWhere();
+        assertEquals(List.of(limit), select.getPlaceholders());
+    }
+
+    @Test
+    public void invalidatesNestedChanges() {
+        Placeholder id = Placeholder.of(1);
+        Placeholder name = Placeholder.of("x");
+        BinaryLogicalOperation condition = Operators.and(author.column("id").eq(id));
+        Select select = Select.newInstance().from(author).where(condition);
+        assertEquals(List.of(id), select.getPlaceholders());
+
+        long count = select.getModificationCount();
+        long whereCount = select.getModificationCount(QueryStatement.Clause.WHERE);
+        condition.add(author.column("name").eq(name));
+        select.invalidate();
+
+        assertEquals(List.of(id, name), select.getPlaceholders());
+        assertTrue(select.getModificationCount() > count);
+        assertTrue(select.getModificationCount(QueryStatement.Clause.WHERE) > whereCount);
+    }
+
+    @Test
+    public void tracksNestedChangesWithoutInvalidation() {
+        Placeholder id = Placeholder.of(1);
+        Placeholder name = Placeholder.of("x");
+        Placeholder suffix = Placeholder.of("y");
+        Placeholder year = Placeholder.of(2000);
+        BinaryLogicalOperation condition = Operators.and(author.column("id").eq(id));
+        Function concat = Functions.concat(author.column("name"));
+        Table book = Table.of("book");
+        Select subQuery = Select.newInstance().select(book.column("author_id")).from(book);
+        Select select = Select.newInstance()
+                .select(concat)
+                .from(author)
+                .where(condition, author.column("id").in(subQuery));
+        assertEquals(List.of(id), select.getPlaceholders());
+
+        condition.add(author.column("name").eq(name));
+        assertEquals(List.of(id, name), select.getPlaceholders());
+
+        concat.add(suffix);
+        assertEquals(List.of(suffix, id, name), select.getPlaceholders());
+
+        subQuery.where(book.column("year").eq(year));
+        assertEquals(List.of(suffix, id, name, year), select.getPlaceholders());
+    }
+
+    @Test
+    public void countsModificationsPerClause() {
+        Select select = Select.newInstance().from(author);
+        long from = select.getModificationCount(QueryStatement.Clause.FROM);
+        long orderBy = select.getModificationCount(QueryStatement.Clause.ORDER_BY);
+
+        select.orderBy(author.column("id"));
+
+        assertEquals(from, select.getModificationCount(QueryStatement.Clause.FROM));
+        assertEquals(orderBy + 1, select.getModificationCount(QueryStatement.Clause.ORDER_BY));
+    }
+}
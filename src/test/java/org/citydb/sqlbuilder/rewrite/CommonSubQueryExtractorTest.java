@@ -0,0 +1,138 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.codec.SqlObjectReader;
+import org.citydb.sqlbuilder.codec.SqlObjectWriter;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.parser.SqlParser;
+import org.citydb.sqlbuilder.query.CommonTableExpression;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommonSubQueryExtractorTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void extractsRepeatedSubQueries() {
+        Select select = Select.newInstance().from(author)
+                .where(author.column("id").in(subQuery()), author.column("parent_id").in(subQuery()));
+
+        CommonSubQueryExtractor.newInstance().materialized(true).apply(select);
+
+        assertEquals("with cse1 as materialized (select a.author_id from book a where a.year > 2000 ) " +
+                "select * from author b where b.id in (select * from cse1 c ) " +
+                "and b.parent_id in (select * from cse1 d ) ", select.toSql());
+        assertEquals(Optional.of(true), select.getWith().get(0).getMaterialized());
+    }
+
+    @Test
+    public void keepsPlaceholdersInExtractedSubQueries() {
+        Placeholder year = Placeholder.of(2000L);
+        Table book = Table.of("book");
+        Select subQuery = Select.newInstance().select(book.column("author_id")).from(book)
+                .where(book.column("year").eq(year));
+        Select select = Select.newInstance().from(author)
+                .where(author.column("id").in(subQuery), author.column("parent_id").in(Select.of(subQuery)));
+        assertEquals(List.of(year, year), select.getPlaceholders());
+
+        CommonSubQueryExtractor.newInstance().apply(select);
+
+        assertEquals(1, select.getWith().size());
+        assertEquals(List.of(year), select.getPlaceholders());
+    }
+
+    @Test
+    public void skipsSingleAndCorrelatedSubQueries() {
+        Table book = Table.of("book");
+        Select single = Select.newInstance().from(author).where(author.column("id").in(subQuery()));
+        Select correlated = Select.newInstance().from(author).where(
+                Operators.exists(Select.newInstance().from(book).where(book.column("a").eq(author.column("id")))),
+                Operators.exists(Select.newInstance().from(book).where(book.column("a").eq(author.column("id")))));
+        String singleSql = single.toSql();
+        String correlatedSql = correlated.toSql();
+
+        CommonSubQueryExtractor.newInstance().apply(single);
+        CommonSubQueryExtractor.newInstance().apply(correlated);
+
+        assertEquals(singleSql, single.toSql());
+        assertEquals(correlatedSql, correlated.toSql());
+    }
+
+    @Test
+    public void avoidsExistingNames() {
+        Select select = Select.newInstance()
+                .with(CommonTableExpression.of("cse1", Select.newInstance().from(Table.of("x"))))
+                .from(author)
+                .where(author.column("id").in(subQuery()), author.column("parent_id").in(subQuery()));
+
+        CommonSubQueryExtractor.newInstance().setMinOccurrences(2).apply(select);
+
+        assertEquals(List.of("cse2", "cse1"), select.getWith().stream()
+                .map(CommonTableExpression::getName)
+                .toList());
+        assertThrows(IllegalArgumentException.class, () -> CommonSubQueryExtractor.newInstance().setMinOccurrences(1));
+    }
+
+    @Test
+    public void namesEveryExtractedGroup() {
+        Table review = Table.of("review");
+        Select reviews = Select.newInstance().select(review.column("author_id")).from(review);
+        Select select = Select.newInstance().from(author)
+                .where(author.column("id").in(subQuery()), author.column("parent_id").in(subQuery()),
+                        author.column("id").in(Select.of(reviews)), author.column("parent_id").in(Select.of(reviews)));
+
+        CommonSubQueryExtractor.newInstance().apply(select);
+
+        assertEquals(List.of("cse1", "cse2"), select.getWith().stream()
+                .map(CommonTableExpression::getName)
+                .toList());
+    }
+
+    @Test
+    public void parsesAndEncodesMaterialization() {
+        Select select = (Select) SqlParser.newInstance()
+                .parse("with x as not materialized (select 1) select * from x");
+
+        assertEquals(Optional.of(false), select.getWith().get(0).getMaterialized());
+        assertEquals("with x as not materialized (select 1 ) select * from x a ", select.toSql());
+        assertEquals(select.toSql(), SqlObjectReader.newInstance()
+                .read(SqlObjectWriter.newInstance().write(select))
+                .toSql());
+    }
+
+    private Select subQuery() {
+        Table book = Table.of("book");
+        return Select.newInstance()
+                .select(book.column("author_id"))
+                .from(book)
+                .where(book.column("year").gt(2000));
+    }
+}
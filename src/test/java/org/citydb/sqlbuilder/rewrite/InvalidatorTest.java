@@ -0,0 +1,90 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.BinaryLogicalOperation;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.SetOperator;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvalidatorTest {
+    private final Table author = Table.of("author");
+    private final Table book = Table.of("book");
+
+    @Test
+    public void invalidatesNestedStatements() {
+        Placeholder id = Placeholder.of(1);
+        Placeholder title = Placeholder.of("x");
+        BinaryLogicalOperation condition = Operators.and(book.column("id").eq(id));
+        Select subQuery = Select.newInstance().select(book.column("author_id")).from(book).where(condition);
+        Select select = Select.newInstance().from(author).where(Operators.in(author.column("id"), subQuery));
+        assertEquals(List.of(id), select.getPlaceholders());
+        assertEquals(List.of(id), subQuery.getPlaceholders());
+
+        condition.add(book.column("title").eq(title));
+        assertSame(select, Invalidator.invalidate(select));
+        assertEquals(List.of(id, title), select.getPlaceholders());
+        assertEquals(List.of(id, title), subQuery.getPlaceholders());
+    }
+
+    @Test
+    public void invalidatesSetOperators() {
+        Placeholder first = Placeholder.of(1);
+        Placeholder second = Placeholder.of(2);
+        BinaryLogicalOperation condition = Operators.or(author.column("id").eq(first));
+        SetOperator union = SetOperator.of("union",
+                Select.newInstance().from(author).where(condition),
+                Select.newInstance().from(book));
+        assertEquals(List.of(first), union.getPlaceholders());
+
+        condition.add(author.column("id").eq(second));
+        Invalidator.invalidate(union);
+        assertEquals(List.of(first, second), union.getPlaceholders());
+    }
+
+    @Test
+    public void invalidatesUpdates() {
+        Placeholder id = Placeholder.of(1);
+        Placeholder parentId = Placeholder.of(2);
+        BinaryLogicalOperation condition = Operators.or(author.column("id").eq(id));
+        Update update = Update.newInstance().table(author).where(condition);
+        assertEquals(List.of(id), update.getPlaceholders());
+
+        condition.add(author.column("parent_id").eq(parentId));
+        Invalidator.invalidate(update);
+        assertEquals(List.of(id, parentId), update.getPlaceholders());
+    }
+
+    @Test
+    public void rejectsNull() {
+        assertThrows(NullPointerException.class, () -> Invalidator.invalidate(null));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.function.Functions;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.literal.StringLiteral;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiteralParameterizerTest {
+    private final Table author = Table.of("author");
+    private final Table book = Table.of("book");
+
+    @Test
+    public void returnsPlaceholdersInRenderOrder() {
+        Select subQuery = Select.newInstance().select(book.column("author_id")).from(book)
+                .where(book.column("year").eq(2));
+        Select select = Select.newInstance().select(author.column("country")).from(author)
+                .where(author.column("x").eq(1), author.column("id").in(subQuery), author.column("z").eq(3))
+                .groupBy(author.column("country"))
+                .having(Functions.count(author.column("id")).gt(4));
+
+        LiteralParameterizer.Result<Select> result = LiteralParameterizer.newInstance().apply(select);
+        SqlStatement statement = result.toStatement();
+
+        assertTrue(result.isModified());
+        assertEquals("select a.country from author a where a.x = ? and a.id in (select b.author_id from book b " +
+                "where b.year = ? ) and a.z = ? group by a.country having count(a.id) > ? ", statement.getSql());
+        assertEquals(List.of(1L, 2L, 3L, 4L), values(result.getPlaceholders()));
+        assertEquals(statement.getPlaceholders(), result.getPlaceholders());
+    }
+
+    @Test
+    public void keepsExistingPlaceholdersOutOfResult() {
+        Placeholder name = Placeholder.of("x");
+        Select select = Select.newInstance().from(author)
+                .where(author.column("name").eq(name), author.column("id").in(1, 2));
+
+        LiteralParameterizer.Result<Select> result = LiteralParameterizer.newInstance().apply(select);
+
+        assertEquals(List.of(1L, 2L), values(result.getPlaceholders()));
+        assertEquals(3, result.toStatement().getPlaceholders().size());
+        assertSame(name, result.toStatement().getPlaceholders().get(0));
+    }
+
+    @Test
+    public void leavesExcludedLiteralsInline() {
+        Select select = Select.newInstance().from(author).where(author.column("name").eq("x"));
+
+        LiteralParameterizer.Result<Select> result = LiteralParameterizer.newInstance()
+                .exclude(StringLiteral.class)
+                .apply(select);
+
+        assertFalse(result.isModified());
+        assertEquals(List.of(), result.getPlaceholders());
+        assertEquals("select * from author a where a.name = 'x' ", select.toSql());
+    }
+
+    private List<Object> values(List<Placeholder> placeholders) {
+        return placeholders.stream()
+                .map(Placeholder::getValueOrNull)
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.join.Join;
+import org.citydb.sqlbuilder.join.Joins;
+import org.citydb.sqlbuilder.literal.IntegerLiteral;
+import org.citydb.sqlbuilder.query.OrderBy;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionPrunerTest {
+    private final Table author = Table.of("author");
+    private final Table book = Table.of("book");
+
+    @Test
+    public void renumbersPositionalOrderBy() {
+        Select select = Select.newInstance()
+                .select(author.column("id"), author.column("name"), author.column("born"), author.column("x"))
+                .from(author)
+                .orderBy(OrderBy.of(IntegerLiteral.of(3), OrderBy.DESCENDING), OrderBy.of(IntegerLiteral.of(1)));
+
+        ProjectionPruner.newInstance().apply(select, "x");
+
+        assertEquals("select a.id, a.born, a.x from author a order by 2 desc, 1 ", select.toSql());
+    }
+
+    @Test
+    public void skipsPruningBehindWildcardsWithPositionalOrderBy() {
+        Select select = Select.newInstance()
+                .select(author.column("id"), author.wildcard(), author.column("x"))
+                .from(author)
+                .orderBy(OrderBy.of(IntegerLiteral.of(3)));
+
+        ProjectionPruner.newInstance().apply(select, "x");
+
+        assertEquals("select a.id, a.*, a.x from author a order by 3 ", select.toSql());
+    }
+
+    @Test
+    public void prunesSelectionsAndJoins() {
+        Select select = Select.newInstance()
+                .select(author.column("id"), book.column("title"))
+                .from(author)
+                .join(Join.of(Joins.LEFT_JOIN, book).condition(book.column("id").eq(author.column("book_id"))));
+
+        ProjectionPruner.newInstance().uniqueKey("book", "id").apply(select, "id");
+
+        assertEquals("select a.id from author a ", select.toSql());
+    }
+
+    @Test
+    public void keepsJoinsWithoutUniqueKeys() {
+        Select select = Select.newInstance()
+                .select(author.column("id"), book.column("title"))
+                .from(author)
+                .join(Join.of(Joins.LEFT_JOIN, book).condition(book.column("author_id").eq(author.column("id"))));
+
+        ProjectionPruner.newInstance().uniqueKey("book", "id").apply(select, "id");
+
+        assertEquals("select a.id from author a left join book b on b.author_id = a.id ", select.toSql());
+    }
+
+    @Test
+    public void rejectsEmptyProjections() {
+        Select select = Select.newInstance().select(author.column("id")).from(author);
+        assertThrows(IllegalArgumentException.class, () -> ProjectionPruner.newInstance().apply(select, "x"));
+    }
+}
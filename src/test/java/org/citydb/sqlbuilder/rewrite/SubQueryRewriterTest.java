@@ -0,0 +1,140 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubQueryRewriterTest {
+    private final Table author = Table.of("author");
+    private final Table book = Table.of("book");
+    private final Placeholder year = Placeholder.of(2000L);
+    private final Placeholder x = Placeholder.of(1L);
+
+    @Test
+    public void rewritesInToExists() {
+        Select subQuery = subQuery();
+        Select select = query(subQuery);
+        assertEquals(List.of(year, x), select.getPlaceholders());
+
+        SubQueryRewriter.exists().apply(select);
+
+        assertEquals("select a.name from author a where exists (select 1 from book b where b.year = ? " +
+                "and b.author_id = a.id ) and a.x = ? ", select.toSql());
+        assertEquals(List.of(year, x), select.getPlaceholders());
+        assertEquals("select a.author_id from book a where a.year = ? ", subQuery.toSql());
+    }
+
+    @Test
+    public void rewritesInToJoin() {
+        Select select = query(subQuery());
+
+        SubQueryRewriter.join().apply(select);
+
+        assertEquals("select a.name from author a inner join (select distinct b.author_id from book b " +
+                "where b.year = ? ) c on c.author_id = a.id where a.x = ? ", select.toSql());
+        assertEquals(List.of(year, x), select.getPlaceholders());
+    }
+
+    @Test
+    public void rewritesCorrelatedSubQueriesToExistsWhenJoining() {
+        Select select = Select.newInstance().from(author)
+                .where(author.column("id").in(Select.newInstance()
+                        .select(book.column("author_id"))
+                        .from(book)
+                        .where(book.column("year").gt(author.column("x")))));
+
+        SubQueryRewriter.join().apply(select);
+
+        assertEquals("select * from author a where exists (select 1 from book b where b.year > a.x " +
+                "and b.author_id = a.id ) ", select.toSql());
+        assertTrue(select.getJoins().isEmpty());
+    }
+
+    @Test
+    public void rewritesEqualsAny() {
+        Select select = Select.newInstance().from(author)
+                .where(author.column("id").eq(Operators.any(Select.newInstance()
+                        .select(book.column("author_id"))
+                        .from(book))));
+
+        SubQueryRewriter.exists().apply(select);
+
+        assertEquals("select * from author a where exists (select 1 from book b where b.author_id = a.id ) ",
+                select.toSql());
+    }
+
+    @Test
+    public void keepsUnsupportedSubQueries() {
+        Select negated = Select.newInstance().from(author)
+                .where(Operators.in(author.column("id"), subQuery(), true));
+        Select grouped = Select.newInstance().from(author)
+                .where(author.column("id").in(Select.newInstance()
+                        .select(book.column("author_id"))
+                        .from(book)
+                        .groupBy(book.column("author_id"))));
+        String negatedSql = negated.toSql();
+        String groupedSql = grouped.toSql();
+
+        SubQueryRewriter.exists().apply(negated);
+        SubQueryRewriter.exists().apply(grouped);
+
+        assertEquals(negatedSql, negated.toSql());
+        assertEquals(groupedSql, grouped.toSql());
+    }
+
+    @Test
+    public void rewritesUpdates() {
+        Update update = Update.newInstance().table(author).set(author.column("x")).value(1)
+                .where(author.column("id").in(subQuery()));
+        assertEquals(List.of(year), update.getPlaceholders());
+
+        SubQueryRewriter.exists().apply(update);
+
+        assertEquals("update author a set x = 1 where exists (select 1 from book b where b.year = ? " +
+                "and b.author_id = a.id ) ", update.toSql());
+        assertEquals(List.of(year), update.getPlaceholders());
+    }
+
+    private Select subQuery() {
+        return Select.newInstance()
+                .select(book.column("author_id"))
+                .from(book)
+                .where(book.column("year").eq(year));
+    }
+
+    private Select query(Select subQuery) {
+        return Select.newInstance()
+                .select(author.column("name"))
+                .from(author)
+                .where(author.column("id").in(subQuery), author.column("x").eq(x));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.rewrite;
+
+import org.citydb.sqlbuilder.function.Functions;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.query.Window;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WindowDeduplicatorTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void extractsSharedWindows() {
+        Select select = Select.newInstance()
+                .select(Functions.rank().over(Window.of(author.column("country")).orderBy(author.column("id"))).as("r"),
+                        Functions.rowNumber().over(Window.of(author.column("country")).orderBy(author.column("id"))).as("n"),
+                        Functions.rowNumber().over(Window.of(author.column("city"))).as("c"))
+                .from(author);
+
+        WindowDeduplicator.newInstance().apply(select);
+
+        assertEquals("select rank() over w1 as r, row_number() over w1 as n, " +
+                "row_number() over (partition by a.city ) as c from author a " +
+                "window w1 as (partition by a.country order by a.id ) ", select.toSql());
+    }
+
+    @Test
+    public void reusesExistingDefinitions() {
+        Select select = Select.newInstance()
+                .select(Functions.rank().over(Window.of(author.column("country"))).as("r"))
+                .from(author)
+                .window(Window.of(author.column("country")).name("w1"));
+
+        WindowDeduplicator.newInstance().apply(select);
+
+        assertEquals("select rank() over w1 as r from author a window w1 as (partition by a.country ) ",
+                select.toSql());
+    }
+
+    @Test
+    public void avoidsExistingNames() {
+        Select select = Select.newInstance()
+                .select(Functions.rank().over(Window.of(author.column("country"))).as("r"),
+                        Functions.rowNumber().over(Window.of(author.column("country"))).as("n"))
+                .from(author)
+                .window(Window.of(author.column("city")).name("x1"));
+
+        WindowDeduplicator.newInstance().setPrefix("x").apply(select);
+
+        assertEquals("select rank() over x2 as r, row_number() over x2 as n from author a " +
+                "window x1 as (partition by a.city ), x2 as (partition by a.country ) ", select.toSql());
+    }
+
+    @Test
+    public void keepsWindowsOfDifferentTables() {
+        Table other = Table.of("author");
+        Select select = Select.newInstance()
+                .select(Functions.rank().over(Window.of(author.column("country"))).as("r"),
+                        Functions.rank().over(Window.of(other.column("country"))).as("s"))
+                .from(author, other);
+        String sql = select.toSql();
+
+        WindowDeduplicator.newInstance().apply(select);
+
+        assertEquals(sql, select.toSql());
+        assertTrue(select.getWindow().isEmpty());
+    }
+
+    @Test
+    public void keepsSingleWindows() {
+        Select select = Select.newInstance()
+                .select(Functions.rank().over(Window.of(author.column("country"))).as("r"))
+                .from(author);
+        String sql = select.toSql();
+
+        WindowDeduplicator.newInstance().apply(select);
+
+        assertEquals(sql, select.toSql());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.spatial;
+
+import org.citydb.sqlbuilder.SqlStatement;
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.BooleanExpression;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialFunctionsTest {
+    private final Table geometry = Table.of("geometry");
+    private final Column geom = geometry.column("geom");
+
+    @Test
+    public void rendersPostgisPredicates() {
+        SpatialFunctions functions = SpatialFunctions.postgis();
+
+        assertEquals(SpatialDialect.POSTGIS, functions.getDialect());
+        assertEquals("select * from geometry a where st_intersects(a.geom, st_makeenvelope(?, ?, ?, ?, 4326)) ",
+                select(functions.intersects(geom, functions.envelope(1, 2, 3, 4, 4326))));
+        assertEquals("select * from geometry a where a.geom && st_makeenvelope(?, ?, ?, ?, 25832) and " +
+                        "st_intersects(a.geom, st_makeenvelope(?, ?, ?, ?, 25832)) ",
+                select(functions.indexedIntersects(geom, functions.envelope("bbox", 25832))));
+        assertEquals("select * from geometry a where st_dwithin(a.geom, st_makeenvelope(?, ?, ?, ?, 4326), 10.5) ",
+                select(functions.dWithin(geom, functions.envelope(4326), 10.5)));
+    }
+
+    @Test
+    public void rendersOraclePredicates() {
+        SpatialFunctions functions = SpatialFunctions.oracle();
+        String envelope = "sdo_geometry(2003, 4326, null, sdo_elem_info_array(1, 1003, 3), " +
+                "sdo_ordinate_array(?, ?, ?, ?))";
+
+        assertEquals(SpatialDialect.ORACLE, functions.getDialect());
+        assertEquals("select * from geometry a where sdo_relate(a.geom, " + envelope +
+                        ", 'mask=anyinteract') = 'TRUE' ",
+                select(functions.indexedIntersects(geom, functions.envelope(4326))));
+        assertEquals("select * from geometry a where sdo_relate(a.geom, " + envelope +
+                        ", 'mask=inside+coveredby') = 'TRUE' ",
+                select(functions.within(geom, functions.envelope(4326))));
+        assertEquals("select * from geometry a where sdo_within_distance(a.geom, " + envelope +
+                        ", 'distance=10.5') = 'TRUE' ",
+                select(functions.dWithin(geom, functions.envelope(4326), 10.5)));
+        assertEquals("select * from geometry a where sdo_within_distance(a.geom, " + envelope +
+                        ", ('distance=' || ?)) = 'TRUE' ",
+                select(functions.dWithin(geom, functions.envelope(4326), Placeholder.empty())));
+    }
+
+    @Test
+    public void bindsEnvelopeCoordinates() {
+        SpatialFunctions functions = SpatialFunctions.postgis();
+
+        SqlStatement values = Select.newInstance().from(geometry)
+                .where(functions.intersects(geom, functions.envelope(1, 2, 3, 4, 4326)))
+                .toStatement();
+        SqlStatement named = Select.newInstance().from(geometry)
+                .where(functions.intersects(geom, functions.envelope("bbox", 4326)))
+                .toStatement();
+
+        assertEquals(1.0, values.getPlaceholder(1).getValue().orElse(null));
+        assertEquals(4.0, values.getPlaceholder(4).getValue().orElse(null));
+        assertEquals(1, named.getPosition("bbox_lower_x"));
+        assertEquals(4, named.getPosition("bbox_upper_y"));
+        assertThrows(NullPointerException.class, () -> functions.envelope(null, 4326));
+    }
+
+    private String select(BooleanExpression condition) {
+        return Select.newInstance().from(geometry).where(condition).toSql();
+    }
+}
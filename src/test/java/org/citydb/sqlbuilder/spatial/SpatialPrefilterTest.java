@@ -0,0 +1,172 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.spatial;
+
+import org.citydb.sqlbuilder.function.Function;
+import org.citydb.sqlbuilder.literal.DoubleLiteral;
+import org.citydb.sqlbuilder.literal.StringLiteral;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.query.Select;
+import org.citydb.sqlbuilder.schema.Table;
+import org.citydb.sqlbuilder.update.Update;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpatialPrefilterTest {
+    private final SpatialFunctions postgis = SpatialFunctions.postgis();
+    private final SpatialPrefilter prefilter = SpatialPrefilter.of(postgis);
+    private final Table feature = Table.of("feature");
+    private final Table other = Table.of("other");
+
+    @Test
+    public void injectsPrefilters() {
+        Function envelope = postgis.envelope(4326);
+        Select select = Select.newInstance()
+                .from(feature)
+                .where(postgis.intersects(feature.column("geom"), envelope));
+        assertEquals(4, select.getPlaceholders().size());
+
+        prefilter.apply(select);
+
+        assertEquals("select * from feature a where a.geom && st_makeenvelope(?, ?, ?, ?, 4326) and " +
+                "st_intersects(a.geom, st_makeenvelope(?, ?, ?, ?, 4326)) ", select.toSql());
+        assertEquals(8, select.getPlaceholders().size());
+    }
+
+    @Test
+    public void skipsExistingPrefilters() {
+        Function envelope = postgis.envelope(4326);
+        Select select = Select.newInstance()
+                .from(feature)
+                .where(postgis.bboxIntersects(feature.column("geom"), envelope),
+                        postgis.intersects(feature.column("geom"), envelope));
+        String sql = select.toSql();
+
+        prefilter.apply(select);
+        assertEquals(sql, select.toSql());
+
+        Select swapped = Select.newInstance()
+                .from(feature)
+                .where(postgis.bboxIntersects(envelope, feature.column("geom")),
+                        postgis.within(feature.column("geom"), envelope));
+        sql = swapped.toSql();
+
+        prefilter.apply(swapped);
+        assertEquals(sql, swapped.toSql());
+    }
+
+    @Test
+    public void distinguishesTablesAndEnvelopes() {
+        Function envelope = postgis.envelope(4326);
+        Select select = Select.newInstance()
+                .from(feature, other)
+                .where(postgis.bboxIntersects(other.column("geom"), envelope),
+                        postgis.intersects(feature.column("geom"), envelope),
+                        postgis.intersects(other.column("geom"), postgis.envelope(4326)));
+
+        prefilter.apply(select);
+
+        assertEquals(5, select.getWhere().size());
+        prefilter.apply(select);
+        assertEquals(5, select.getWhere().size());
+    }
+
+    @Test
+    public void wrapsDisjunctions() {
+        Function envelope = postgis.envelope(4326);
+        Update update = Update.newInstance()
+                .table(feature)
+                .set(feature.column("x")).value(1)
+                .where(Operators.or(postgis.within(feature.column("geom"), envelope),
+                        feature.column("geom").isNull()));
+
+        prefilter.apply(update);
+
+        assertEquals("update feature a set x = 1 where (a.geom && st_makeenvelope(?, ?, ?, ?, 4326) and " +
+                "st_within(a.geom, st_makeenvelope(?, ?, ?, ?, 4326)) ) or a.geom is null ", update.toSql());
+        assertEquals(8, update.getPlaceholders().size());
+    }
+
+    @Test
+    public void injectsOraclePrefilters() {
+        SpatialFunctions oracle = SpatialFunctions.oracle();
+        Function envelope = oracle.envelope(4326);
+        Select select = Select.newInstance()
+                .from(feature)
+                .where(Function.of(SpatialFunctions.RELATE, feature.column("geom"), StringLiteral.of("mask=anyinteract"),
+                        envelope, DoubleLiteral.of(0.001)).setSchema(SpatialFunctions.SDO_GEOM)
+                        .eq("TRUE"));
+
+        SpatialPrefilter.of(oracle).apply(select);
+        int size = select.getWhere().size();
+        SpatialPrefilter.of(oracle).apply(select);
+
+        assertEquals(2, size);
+        assertEquals(2, select.getWhere().size());
+    }
+
+    @Test
+    public void skipsOracleRelationsWithoutInteraction() {
+        SpatialFunctions oracle = SpatialFunctions.oracle();
+        Function envelope = oracle.envelope(4326);
+        Select disjoint = Select.newInstance()
+                .from(feature)
+                .where(relate(envelope, "disjoint").eq("TRUE"));
+        Select notEqual = Select.newInstance()
+                .from(feature)
+                .where(relate(envelope, "anyinteract").ne("TRUE"));
+        Select mixed = Select.newInstance()
+                .from(feature)
+                .where(relate(envelope, "touch+disjoint").eq("TRUE"));
+
+        SpatialPrefilter.of(oracle).apply(disjoint);
+        SpatialPrefilter.of(oracle).apply(notEqual);
+        SpatialPrefilter.of(oracle).apply(mixed);
+
+        assertEquals(1, disjoint.getWhere().size());
+        assertEquals(1, notEqual.getWhere().size());
+        assertEquals(1, mixed.getWhere().size());
+    }
+
+    @Test
+    public void filtersOnIndexedOracleGeometry() {
+        SpatialFunctions oracle = SpatialFunctions.oracle();
+        Function envelope = oracle.envelope(4326);
+        Select select = Select.newInstance()
+                .from(feature)
+                .where(Function.of(SpatialFunctions.RELATE, envelope, StringLiteral.of("anyinteract"),
+                        feature.column("geom"), DoubleLiteral.of(0.001)).setSchema(SpatialFunctions.SDO_GEOM)
+                        .eq("TRUE"));
+
+        SpatialPrefilter.of(oracle).apply(select);
+
+        assertTrue(select.toSql().contains("sdo_filter(a.geom, sdo_geometry("), select.toSql());
+    }
+
+    private Function relate(Function envelope, String mask) {
+        return Function.of(SpatialFunctions.RELATE, feature.column("geom"), StringLiteral.of("mask=" + mask),
+                envelope, DoubleLiteral.of(0.001)).setSchema(SpatialFunctions.SDO_GEOM);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * sqlbuilder - Dynamic SQL builder for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2026
+ * virtualcitysystems GmbH, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citydb.sqlbuilder.update;
+
+import org.citydb.sqlbuilder.literal.Placeholder;
+import org.citydb.sqlbuilder.operation.BinaryLogicalOperation;
+import org.citydb.sqlbuilder.operation.Operators;
+import org.citydb.sqlbuilder.schema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UpdateTest {
+    private final Table author = Table.of("author");
+
+    @Test
+    public void invalidatesPlaceholdersOnMutation() {
+        Placeholder name = Placeholder.of("x");
+        Placeholder id = Placeholder.of(1);
+        Update update = Update.newInstance().table(author).set(author.column("name")).value(name);
+        assertEquals(List.of(name), update.getPlaceholders());
+
+        update.where(author.column("id").eq(id));
+        assertEquals(List.of(name, id), update.getPlaceholders());
+
+        update.removeSet();
+        assertEquals(List.of(id), update.getPlaceholders());
+    }
+
+    @Test
+    public void invalidatesNestedChanges() {
+        Placeholder id = Placeholder.of(1);
+        Placeholder parentId = Placeholder.of(2);
+        BinaryLogicalOperation condition = Operators.or(author.column("id").eq(id));
+        Update update = Update.newInstance().table(author).where(condition);
+        assertEquals(List.of(id), update.getPlaceholders());
+
+        condition.add(author.column("parent_id").eq(parentId));
+        assertEquals(List.of(id, parentId), update.invalidate().getPlaceholders());
+    }
+
+    @Test
+    public void tracksNestedChangesWithoutInvalidation() {
+        Placeholder id = Placeholder.of(1);
+        Placeholder parentId = Placeholder.of(2);
+        BinaryLogicalOperation condition = Operators.or(author.column("id").eq(id));
+        Update update = Update.newInstance().table(author).where(condition);
+        assertEquals(List.of(id), update.getPlaceholders());
+
+        condition.add(author.column("parent_id").eq(parentId));
+        assertEquals(List.of(id, parentId), update.getPlaceholders());
+    }
+}